@@ -1,44 +1,147 @@
 import java.awt.Color;
+import java.io.BufferedOutputStream;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileOutputStream;
+import java.io.FilterOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.NotSerializableException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
 import java.io.Serializable;
+import java.io.UncheckedIOException;
+import java.lang.ref.WeakReference;
+import java.lang.reflect.Field;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.text.DateFormat;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Calendar;
+import java.util.Collections;
 import java.util.Date;
+import java.util.Deque;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.TimeZone;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.zip.Deflater;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+import java.util.zip.ZipOutputStream;
 
 import javax.faces.context.FacesContext;
 import javax.servlet.ServletOutputStream;
 import javax.servlet.http.HttpServletResponse;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
 
+import org.apache.poi.openxml4j.exceptions.InvalidFormatException;
+import org.apache.poi.openxml4j.exceptions.OpenXML4JException;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
+
+import org.apache.poi.ss.SpreadsheetVersion;
+import org.apache.poi.ss.formula.FormulaParser;
+import org.apache.poi.ss.formula.FormulaRenderer;
+import org.apache.poi.ss.formula.FormulaType;
+import org.apache.poi.ss.formula.SharedFormula;
+import org.apache.poi.ss.formula.ptg.Ptg;
 import org.apache.poi.ss.usermodel.BorderStyle;
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellStyle;
 import org.apache.poi.ss.usermodel.CellType;
 import org.apache.poi.ss.usermodel.ClientAnchor;
 import org.apache.poi.ss.usermodel.ClientAnchor.AnchorType;
-import org.apache.poi.ss.usermodel.CreationHelper;
+import org.apache.poi.ss.usermodel.DateUtil;
+import org.apache.poi.ss.usermodel.Drawing;
 import org.apache.poi.ss.usermodel.FillPatternType;
+import org.apache.poi.ss.usermodel.FormulaEvaluator;
 import org.apache.poi.ss.usermodel.HorizontalAlignment;
 import org.apache.poi.ss.usermodel.IndexedColors;
 import org.apache.poi.ss.usermodel.Picture;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
 import org.apache.poi.ss.usermodel.VerticalAlignment;
 import org.apache.poi.ss.usermodel.Workbook;
 import org.apache.poi.ss.util.CellRangeAddress;
 import org.apache.poi.ss.util.CellReference;
 import org.apache.poi.util.Units;
+import org.apache.poi.xssf.eventusermodel.ReadOnlySharedStringsTable;
+import org.apache.poi.xssf.eventusermodel.XSSFReader;
+import org.apache.poi.xssf.model.StylesTable;
+import org.apache.poi.xssf.streaming.SXSSFFormulaEvaluator;
+import org.apache.poi.xssf.streaming.SXSSFSheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
 import org.apache.poi.xssf.usermodel.XSSFCell;
 import org.apache.poi.xssf.usermodel.XSSFCellStyle;
 import org.apache.poi.xssf.usermodel.XSSFColor;
-import org.apache.poi.xssf.usermodel.XSSFDrawing;
+import org.apache.poi.xssf.usermodel.XSSFDataFormat;
+import org.apache.poi.xssf.usermodel.XSSFEvaluationWorkbook;
 import org.apache.poi.xssf.usermodel.XSSFFont;
 import org.apache.poi.xssf.usermodel.XSSFFormulaEvaluator;
+import org.apache.poi.xssf.usermodel.XSSFPicture;
+import org.apache.poi.xssf.usermodel.XSSFPictureData;
 import org.apache.poi.xssf.usermodel.XSSFRow;
 import org.apache.poi.xssf.usermodel.XSSFSheet;
 import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.apache.poi.xssf.usermodel.extensions.XSSFCellBorder;
+import org.apache.poi.xssf.usermodel.extensions.XSSFCellFill;
+import org.openxmlformats.schemas.drawingml.x2006.main.CTPositiveSize2D;
+import org.openxmlformats.schemas.spreadsheetml.x2006.main.CTBorder;
+import org.openxmlformats.schemas.spreadsheetml.x2006.main.CTBorderPr;
+import org.openxmlformats.schemas.spreadsheetml.x2006.main.CTCell;
+import org.openxmlformats.schemas.spreadsheetml.x2006.main.CTCellFormula;
+import org.openxmlformats.schemas.spreadsheetml.x2006.main.CTColor;
+import org.openxmlformats.schemas.spreadsheetml.x2006.main.CTFill;
+import org.openxmlformats.schemas.spreadsheetml.x2006.main.CTPatternFill;
+import org.openxmlformats.schemas.spreadsheetml.x2006.main.CTXf;
+import org.openxmlformats.schemas.spreadsheetml.x2006.main.STBorderStyle;
+import org.openxmlformats.schemas.spreadsheetml.x2006.main.STCellFormulaType;
+import org.openxmlformats.schemas.spreadsheetml.x2006.main.STCellType;
+import org.openxmlformats.schemas.spreadsheetml.x2006.main.STPatternType;
+import org.xml.sax.SAXException;
 
 /**
  * Data: 02/07/2020
@@ -53,20 +156,93 @@ public class POIUtil implements Serializable {
 	private static final long serialVersionUID = 1191392087071562651L;
 	/**Boolean*/
 	private boolean auditoriaRegiaoAtualizada;
+	private boolean autoSizeEstimado;
+	private boolean avaliarApenasFormulasCriadas;
 	/**String*/
 	@SuppressWarnings("unused")
 	private String _ultimaRegiaoAtualizada;
-	private static final String REGEX_CELULAS = "^[A-Z]+\\d+$";
-	private static final String REGEX_REGIOES = "^[A-Z]+\\d+:[A-Z]+\\d+?$";
-	private static final String REGEX_CELULAS_REGIOES = "^[A-Z]+\\d+(:[A-Z]+\\d+)?$";
 	private static final String REGEX_APENAS_LETRAS = "[^A-Z]";
 	private static final String REGEX_APENAS_NUMEROS = "[^\\d]";
 	private static final String CALIBRI = "Calibri";
+	private static final String CONTENT_TYPE_XLSX = "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet";
+	private static final String FORMATO_DATA = "dd/MM/yyyy";
+	private static final String FORMATO_DATA_HORA = "dd/MM/yyyy HH:mm:ss";
+	/** Ints */
+	private static final int MAX_LINHAS = 1048576;
+	private static final int MAX_COLUNAS = 16384;
+	/** Estimativa de heap retido por linha/célula XSSF (XMLBeans) */
+	private static final int BYTES_LINHA = 450;
+	private static final int BYTES_CELULA = 350;
+	/** Datas excel: serial de 1970-01-01, dia (epochDay) de 1900-03-01 (anterior ao falso 29/02/1900), dia de 1900-01-01 */
+	private static final int SERIAL_EPOCH = 25569;
+	private static final int DIA_1900_03_01 = -25508;
+	private static final int DIA_1900_01_01 = -25567;
+	private static final int DIAS_1904 = 1462;
+	private static final long MILLIS_DIA = 86400000L;
+	private static final double NANOS_DIA = 86400000000000d;
+	/** Streaming automático - 0 desativa o limite */
+	private long autoStreamingHeapBytes;
+	private int autoStreamingRows;
+	private int autoStreamingWindow;
+	private boolean autoStreamingCompress;
+	private transient long _memoriaEstimada;
+	private transient int _linhasCriadas;
+	/** Métricas do modo streaming - linhas e células escritas pelo POIUtil */
+	private long _linhasEscritas;
+	private long _celulasEscritas;
+	/** Compressão do arquivo gerado */
+	private OutputProfile outputProfile = OutputProfile.DEFAULT;
+	/** Strings - política padrão e por coluna (nome da folha -> coluna) */
+	private StringPolicy stringPolicy = StringPolicy.SHARED;
+	private Map<String, StringPolicy[]> _politicasColunas = new HashMap<>();
 	/** XSSF */
 	private transient XSSFWorkbook _workbook;
+	/** SXSSF - preenchido apenas no modo streaming */
+	private transient SXSSFWorkbook _streamingWorkbook;
+	/** Workbook serializado ainda não restaurado (ver xssf()) */
+	private transient EstadoSerializado _estado;
+	/** Spill em disco do workbook ocioso - 0 desativa */
+	private long spillIdleMillis;
+	private String spillDirectory;
+	private transient Derramamento _derramamento;
+	private transient volatile long _ultimoAcesso;
+	/** Operações longas em andamento (export, writeTable, regiões) - enquanto houver, o spill não ocorre. Acesso sincronizado */
+	private transient int _operacoes;
+	private static final ScheduledExecutorService SPILL = Executors.newSingleThreadScheduledExecutor(runnable -> {
+		final Thread thread = new Thread(runnable, "poiutil-spill");
+		thread.setDaemon(true);
+		return thread;
+	});
 	/** Maps */
 	private transient Map<String, XSSFCellStyle> _cellStyles = new HashMap<>();
 	private transient Map<String, XSSFFont> _fonts = new HashMap<>();
+	private transient Map<String, XSSFCellStyle> _estilosFormatados = new HashMap<>();
+	private transient Map<String, XSSFCellStyle> _estilosInternados = new HashMap<>();
+	private transient Map<String, XSSFFont> _fontesInternadas = new HashMap<>();
+	/** Maiores larguras estimadas (em caracteres da fonte padrão) de cada coluna por folha */
+	private Map<String, LargurasFolha> _larguras = new HashMap<>();
+	private transient Map<Short, LarguraFonte> _largurasFontes = new HashMap<>();
+	private transient Map<Short, int[]> _formatosNumeros = new HashMap<>();
+	/** Imagens - SHA-1 do conteúdo -> índice no workbook e desenho de cada folha (criados no primeiro uso) */
+	private transient Map<String, Integer> _imagens;
+	private transient Map<Sheet, Drawing<?>> _desenhos;
+	/** Imagens lidas do disco - LRU por acesso, caminho absoluto -> imagem */
+	private static final Map<Path, ImagemArquivo> IMAGENS = new LinkedHashMap<>(16, 0.75f, true);
+	private static long imageCacheSize = 32L * 1024 * 1024;
+	private static long _bytesImagens;
+	/** Lists */
+	private transient List<Cell> _formulasCriadas = new ArrayList<>();
+	/** Campo privado XSSFSheet.sharedFormulas (si -> fórmula mestre), usado pelo XSSFCell para expandir fórmulas compartilhadas */
+	private static final Field FORMULAS_COMPARTILHADAS = campoFormulasCompartilhadas();
+	private transient List<ExportListener> _exportListeners = new ArrayList<>();
+	private static final List<ExportListener> GLOBAL_EXPORT_LISTENERS = new CopyOnWriteArrayList<>();
+	/** Templates - snapshot do pacote por caminho absoluto. LRU limitado pela soma dos bytes */
+	private static final Map<Path, Template> TEMPLATES = new LinkedHashMap<>(16, 0.75f, true);
+	private static long templateCacheSize = 32L * 1024 * 1024;
+	private static long _bytesTemplates;
+	/** Métricas */
+	private transient long _inicio = System.nanoTime();
+	private transient ExportMetrics _ultimoExport;
 
 	// CONSTRUTORES
 
@@ -82,6 +258,53 @@ public class POIUtil implements Serializable {
 		this._workbook = new XSSFWorkbook(new ByteArrayInputStream(workbook));
 	}
 
+	/**
+	 * Inicializa um novo workbook vazio em modo streaming (SXSSF). Apenas as últimas linhas de cada folha (rowAccessWindowSize)
+	 * ficam em memória, as anteriores são descarregadas em arquivo temporário. Linhas descarregadas não podem mais ser lidas/alteradas.
+	 * @param rowAccessWindowSize (int) - quantidade de linhas mantidas em memória por folha
+	 * @param compressTmpFiles (boolean) - Se True -> arquivos temporários são compactados (gzip). Menos disco, mais CPU
+	 */
+	public POIUtil2(final int rowAccessWindowSize, final boolean compressTmpFiles) {
+		this(rowAccessWindowSize, compressTmpFiles, StringPolicy.INLINE);
+	}
+	
+	/**
+	 * Inicializa um novo workbook vazio em modo streaming (SXSSF) com a política de strings informada
+	 * @param rowAccessWindowSize (int) - quantidade de linhas mantidas em memória por folha
+	 * @param compressTmpFiles (boolean) - Se True -> arquivos temporários são compactados (gzip). Menos disco, mais CPU
+	 * @param stringPolicy (StringPolicy) - SHARED -> shared strings table (dados repetitivos). INLINE -> strings na própria célula (alta cardinalidade)
+	 */
+	public POIUtil2(final int rowAccessWindowSize, final boolean compressTmpFiles, final StringPolicy stringPolicy) {
+		this._streamingWorkbook = new SXSSFWorkbook(null, rowAccessWindowSize, compressTmpFiles, StringPolicy.SHARED == stringPolicy);
+		this._workbook = this._streamingWorkbook.getXSSFWorkbook();
+		this.stringPolicy = stringPolicy;
+	}
+	
+	/**
+	 * Inicializa o workbook em modo streaming (SXSSF) a partir de um template. As linhas novas devem ser criadas após as linhas existentes no template.
+	 * @param workbook (byte[]) - array de byte do arquivo template
+	 * @param rowAccessWindowSize (int) - quantidade de linhas mantidas em memória por folha
+	 * @param compressTmpFiles (boolean) - Se True -> arquivos temporários são compactados (gzip). Menos disco, mais CPU
+	 * @throws IOException
+	 */
+	public POIUtil2(final byte[] workbook, final int rowAccessWindowSize, final boolean compressTmpFiles) throws IOException {
+		this(workbook, rowAccessWindowSize, compressTmpFiles, StringPolicy.INLINE);
+	}
+	
+	/**
+	 * Inicializa o workbook em modo streaming (SXSSF) a partir de um template com a política de strings informada
+	 * @param workbook (byte[]) - array de byte do arquivo template
+	 * @param rowAccessWindowSize (int) - quantidade de linhas mantidas em memória por folha
+	 * @param compressTmpFiles (boolean) - Se True -> arquivos temporários são compactados (gzip). Menos disco, mais CPU
+	 * @param stringPolicy (StringPolicy) - SHARED -> shared strings table (dados repetitivos). INLINE -> strings na própria célula (alta cardinalidade)
+	 * @throws IOException
+	 */
+	public POIUtil2(final byte[] workbook, final int rowAccessWindowSize, final boolean compressTmpFiles, final StringPolicy stringPolicy) throws IOException {
+		this._streamingWorkbook = new SXSSFWorkbook(new XSSFWorkbook(new ByteArrayInputStream(workbook)), rowAccessWindowSize, compressTmpFiles, StringPolicy.SHARED == stringPolicy);
+		this._workbook = this._streamingWorkbook.getXSSFWorkbook();
+		this.stringPolicy = stringPolicy;
+	}
+
 	/**
 	 * Inicializa um workbook através do filePath
 	 * 
@@ -100,6 +323,168 @@ public class POIUtil implements Serializable {
 		}
 	}
 
+	// TEMPLATES
+	
+	/**
+	 * Cria um POIUtil a partir de um template em cache. O template é lido e validado uma única vez e guardado como snapshot do pacote
+	 * (zip sem compressão, em memória). Cada chamada cria um workbook independente a partir do snapshot, sem leitura de disco nem
+	 * descompactação das partes. A análise do XML (XMLBeans) das partes continua sendo feita a cada cópia.
+	 * O snapshot é recarregado quando a data de modificação ou o tamanho do arquivo mudam. Ver setTemplateCacheSize()
+	 * @param filePath (String) - caminho do template
+	 * @return PoiUtil
+	 * @throws IOException
+	 */
+	public static POIUtil2 fromTemplate(final String filePath) throws IOException {
+		return new POIUtil2(template(filePath));
+	}
+	
+	/**
+	 * Cria um POIUtil em modo streaming (SXSSF) a partir de um template em cache. Ver {@link #fromTemplate(String)}
+	 * @param filePath (String) - caminho do template
+	 * @param rowAccessWindowSize (int) - quantidade de linhas mantidas em memória por folha
+	 * @param compressTmpFiles (boolean) - Se True -> arquivos temporários são compactados (gzip)
+	 * @return PoiUtil
+	 * @throws IOException
+	 */
+	public static POIUtil2 fromTemplate(final String filePath, final int rowAccessWindowSize, final boolean compressTmpFiles) throws IOException {
+		return new POIUtil2(template(filePath), rowAccessWindowSize, compressTmpFiles);
+	}
+	
+	/**
+	 * Define o tamanho máximo (soma dos bytes dos snapshots) do cache de templates, compartilhado por todo o processo.
+	 * O snapshot sem compressão ocupa algumas vezes o tamanho do arquivo. Ao exceder o limite os templates usados há mais tempo
+	 * são removidos; template maior que o limite não é guardado. 0 desativa o cache.
+	 * @param maxBytes (long) - tamanho máximo. Padrão 32MB
+	 * @throws IllegalArgumentException - caso tamanho seja negativo
+	 */
+	public static void setTemplateCacheSize(final long maxBytes) {
+		if(maxBytes < 0) {
+			throw new IllegalArgumentException("Tamanho do cache de templates inválido -> "+maxBytes);
+		}
+		synchronized (TEMPLATES) {
+			templateCacheSize = maxBytes;
+			liberarTemplates();
+		}
+	}
+	
+	/**
+	 * @return long - soma dos bytes dos snapshots em cache
+	 */
+	public static long getTemplateCacheBytes() {
+		synchronized (TEMPLATES) {
+			return _bytesTemplates;
+		}
+	}
+	
+	/**
+	 * Remove o template do cache
+	 * @param filePath (String) - caminho do template
+	 */
+	public static void evictTemplate(final String filePath) {
+		synchronized (TEMPLATES) {
+			final Template removido = TEMPLATES.remove(Paths.get(filePath).toAbsolutePath().normalize());
+			if(null != removido) {
+				_bytesTemplates -= removido.snapshot.length;
+			}
+		}
+	}
+	
+	/**
+	 * Remove todos os templates do cache
+	 */
+	public static void clearTemplates() {
+		synchronized (TEMPLATES) {
+			TEMPLATES.clear();
+			_bytesTemplates = 0;
+		}
+	}
+	
+	/**
+	 * Retorna o snapshot do template, recarregando se o arquivo mudou
+	 * @param filePath (String) - caminho do template
+	 * @return byte[]
+	 * @throws IOException
+	 */
+	private static byte[] template(final String filePath) throws IOException {
+		final Path path = Paths.get(filePath).toAbsolutePath().normalize();
+		final BasicFileAttributes atributos = Files.readAttributes(path, BasicFileAttributes.class);
+		final long modificacao = atributos.lastModifiedTime().toMillis();
+		final long tamanho = atributos.size();
+		synchronized (TEMPLATES) {
+			final Template atual = TEMPLATES.get(path);
+			if(null != atual && atual.valido(modificacao, tamanho)) {
+				return atual.snapshot;
+			}
+		}
+		// leitura fora do lock -> threads carregando templates diferentes não se bloqueiam
+		final byte[] snapshot = snapshot(Files.readAllBytes(path));
+		synchronized (TEMPLATES) {
+			if(snapshot.length <= templateCacheSize) {
+				final Template anterior = TEMPLATES.put(path, new Template(modificacao, tamanho, snapshot));
+				if(null != anterior) {
+					_bytesTemplates -= anterior.snapshot.length;
+				}
+				_bytesTemplates += snapshot.length;
+				liberarTemplates();
+			}
+		}
+		return snapshot;
+	}
+	
+	/**
+	 * Remove os templates usados há mais tempo até o cache caber no limite. Chamado com o lock de TEMPLATES
+	 */
+	private static void liberarTemplates() {
+		final Iterator<Template> iterator = TEMPLATES.values().iterator();
+		while(_bytesTemplates > templateCacheSize && iterator.hasNext()) {
+			_bytesTemplates -= iterator.next().snapshot.length;
+			iterator.remove();
+		}
+	}
+	
+	/**
+	 * Valida o template e regrava o pacote sem compressão, para que as cópias não precisem descompactar as partes
+	 * @param arquivo (byte[]) - bytes do template
+	 * @return byte[]
+	 * @throws IOException
+	 */
+	private static byte[] snapshot(final byte[] arquivo) throws IOException {
+		new XSSFWorkbook(new ByteArrayInputStream(arquivo)).close();
+		final ByteArrayOutputStream baos = new ByteArrayOutputStream(arquivo.length * 4);
+		try (ZipInputStream zis = new ZipInputStream(new ByteArrayInputStream(arquivo)); ZipOutputStream zos = new ZipOutputStream(baos)) {
+			zos.setLevel(Deflater.NO_COMPRESSION);
+			final byte[] buffer = new byte[8192];
+			for(ZipEntry entry = zis.getNextEntry(); null != entry; entry = zis.getNextEntry()) {
+				zos.putNextEntry(new ZipEntry(entry.getName()));
+				for(int lidos = zis.read(buffer); lidos > 0; lidos = zis.read(buffer)) {
+					zos.write(buffer, 0, lidos);
+				}
+				zos.closeEntry();
+			}
+		}
+		return baos.toByteArray();
+	}
+	
+	/**
+	 * Snapshot imutável de um template
+	 */
+	private static final class Template {
+		
+		private final long modificacao;
+		private final long tamanho;
+		private final byte[] snapshot;
+		
+		private Template(final long modificacao, final long tamanho, final byte[] snapshot) {
+			this.modificacao = modificacao;
+			this.tamanho = tamanho;
+			this.snapshot = snapshot;
+		}
+		
+		private boolean valido(final long modificacao, final long tamanho) {
+			return this.modificacao == modificacao && this.tamanho == tamanho;
+		}
+	}
+	
 	// WORKBOOK
 
 	/**
@@ -108,11 +493,51 @@ public class POIUtil implements Serializable {
 	 * @return XSSFWorkbook
 	 */
 	public XSSFWorkbook getWorkbook() {
-		return this._workbook;
+		return xssf();
+	}
+	
+	/**
+	 * Retorna se o workbook foi criado em modo streaming (SXSSF)
+	 * @return boolean
+	 */
+	public boolean isStreaming() {
+		return null != this._streamingWorkbook;
+	}
+	
+	/**
+	 * Ativa a troca automática para o modo streaming (SXSSF). O heap retido é estimado conforme linhas e valores são criados pelo POIUtil;
+	 * ao atingir um dos limites, antes de criar a próxima linha, o workbook passa a descarregar as linhas novas em disco.
+	 * As linhas já criadas continuam em memória e editáveis; as linhas novas seguem as regras do modo streaming (ordem crescente).
+	 * As chamadas continuam as mesmas. Após a troca as fórmulas anteriores são recalculadas pelo excel ao abrir o arquivo.
+	 * @param heapBudgetBytes (long) - heap estimado máximo. 0 para não limitar
+	 * @param rowThreshold (int) - quantidade máxima de linhas criadas. 0 para não limitar
+	 * @param rowAccessWindowSize (int) - quantidade de linhas mantidas em memória por folha após a troca
+	 * @param compressTmpFiles (boolean) - Se True -> arquivos temporários são compactados (gzip)
+	 * @throws IllegalStateException - caso o workbook já esteja em modo streaming
+	 * @return PoiUtil
+	 */
+	public POIUtil2 setAutoStreaming(final long heapBudgetBytes, final int rowThreshold, final int rowAccessWindowSize, final boolean compressTmpFiles) {
+		if(isStreaming()) {
+			throw new IllegalStateException("Workbook já está em modo streaming");
+		}
+		this.autoStreamingHeapBytes = Math.max(0, heapBudgetBytes);
+		this.autoStreamingRows = Math.max(0, rowThreshold);
+		this.autoStreamingWindow = rowAccessWindowSize;
+		this.autoStreamingCompress = compressTmpFiles;
+		return this;
+	}
+	
+	/**
+	 * Retorna o heap estimado das linhas e valores criados pelo POIUtil antes do modo streaming
+	 * @return long - bytes
+	 */
+	public long getEstimatedRetainedBytes() {
+		return this._memoriaEstimada;
 	}
 	
 	/**
-	 * Escreve e fecha workbook no filePath.
+	 * Escreve e fecha workbook no filePath. O arquivo é escrito em um temporário no mesmo diretório e movido atomicamente para o filePath,
+	 * nunca ficando um .xlsx incompleto no destino.
 	 * 
 	 * @param filePath (String) - caminho destino para escrever excel
 	 * @param autoSizeColumns (boolean) - Se True -> tamanho de todas as c células criadas será ajeitado de acordo com o tamanho de seus conteúdos. Afeta performance dependendo do tamanho das folhas do excel
@@ -120,23 +545,69 @@ public class POIUtil implements Serializable {
 	 * @throws IOException
 	 */
 	public void write(final String filePath, final boolean autoSizeColumns, final boolean evaluateAllFormulas) throws IOException {
-		FileOutputStream fos = null;
+		write(filePath, autoSizeColumns, evaluateAllFormulas, 0, false);
+	}
+	
+	/**
+	 * Escreve e fecha workbook no filePath através de um FileChannel com buffer. O arquivo é escrito em um temporário no mesmo diretório
+	 * e movido atomicamente para o filePath (substituindo o existente). Em caso de erro o temporário é removido e o destino não é alterado.
+	 * 
+	 * @param filePath (String) - caminho destino para escrever excel
+	 * @param autoSizeColumns (boolean) - Se True -> tamanho de todas as c células criadas será ajeitado de acordo com o tamanho de seus conteúdos
+	 * @param evaluateAllFormulas (boolean) - Se True -> atualiza os valores de todas as fórmulas das folhas
+	 * @param preallocateBytes (long) - tamanho esperado do arquivo, definido antes da escrita. É apenas uma dica: na maioria dos sistemas de arquivos
+	 * gera um arquivo esparso, sem reservar espaço em disco. O excedente é truncado ao final. 0 para não definir
+	 * @param fsync (boolean) - Se True -> força a gravação em disco do arquivo e do diretório antes de retornar. Mais lento, garante o arquivo após queda do servidor
+	 * @throws IOException
+	 */
+	public void write(final String filePath, final boolean autoSizeColumns, final boolean evaluateAllFormulas, final long preallocateBytes, final boolean fsync) throws IOException {
+		final Path destino = Paths.get(filePath).toAbsolutePath();
+		// criado pelo FileChannel e não pelo Files.createTempFile (0600): as permissões seguem o umask, como um arquivo escrito diretamente
+		final Path temporario = destino.resolveSibling("." + destino.getFileName() + "." + Long.toHexString(ThreadLocalRandom.current().nextLong()) + ".tmp");
+		boolean criado = false;
 		try {
-			fos = new FileOutputStream(new File(filePath));
-			if(autoSizeColumns) {
-				autoSizeColumns();
+			final ExportMetrics metrics;
+			try (FileChannel channel = FileChannel.open(temporario, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)) {
+				criado = true;
+				if(preallocateBytes > 0) {
+					channel.write(ByteBuffer.allocate(1), preallocateBytes - 1);
+				}
+				final OutputStream out = new BufferedOutputStream(Channels.newOutputStream(channel), 1 << 16);
+				metrics = exportar(out, autoSizeColumns, evaluateAllFormulas);
+				out.flush();
+				channel.truncate(channel.position());
+				if(fsync) {
+					channel.force(true);
+				}
+			}
+			try {
+				Files.move(temporario, destino, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+			} catch (final AtomicMoveNotSupportedException e) {
+				Files.move(temporario, destino, StandardCopyOption.REPLACE_EXISTING);
 			}
-			if(evaluateAllFormulas) {
-				evaluateAllFormulas();
+			if(fsync) {
+				sincronizarDiretorio(destino.getParent());
 			}
-			this._workbook.write(fos);
+			notificar(metrics);
 		} finally {
-			if (null != fos) {
-				fos.close();
+			if(criado) {
+				Files.deleteIfExists(temporario);
 			}
 			close();
 		}
 	}
+	
+	/**
+	 * Força a gravação da entrada do diretório (rename). Ignorado nos sistemas que não permitem abrir diretórios (Windows)
+	 * @param diretorio (Path) - diretório
+	 */
+	private static void sincronizarDiretorio(final Path diretorio) {
+		try (FileChannel channel = FileChannel.open(diretorio, StandardOpenOption.READ)) {
+			channel.force(true);
+		} catch (final IOException e) {
+			// sem suporte a fsync de diretório
+		}
+	}
 
 	/**
 	 * Escreve workbook no buffer
@@ -148,13 +619,7 @@ public class POIUtil implements Serializable {
 	 */
 	public void write(final ByteArrayOutputStream baos, final boolean autoSizeColumns, final boolean evaluateAllFormulas) throws IOException {
 		try {
-			if(autoSizeColumns) {
-				autoSizeColumns();
-			}
-			if(evaluateAllFormulas) {
-				evaluateAllFormulas();
-			}
-			this._workbook.write(baos);
+			notificar(exportar(baos, autoSizeColumns, evaluateAllFormulas));
 		} finally {
 			close();
 		}
@@ -169,8 +634,7 @@ public class POIUtil implements Serializable {
 	public byte[] write() throws IOException {
 		ByteArrayOutputStream baos = new ByteArrayOutputStream();
 		try {
-			autoSizeColumns().evaluateAllFormulas();
-			this._workbook.write(baos);
+			notificar(exportar(baos, true, true));
 		} finally {
 			baos.close();
 			close();
@@ -188,13 +652,7 @@ public class POIUtil implements Serializable {
 	public byte[] write(final boolean autoSizeColumns, final boolean evaluateFormulas) throws IOException {
 		ByteArrayOutputStream baos = new ByteArrayOutputStream();
 		try {
-			if(autoSizeColumns) {
-				autoSizeColumns();
-			}
-			if(evaluateFormulas) {
-				evaluateAllFormulas();
-			}
-			this._workbook.write(baos);
+			notificar(exportar(baos, autoSizeColumns, evaluateFormulas));
 		} finally {
 			baos.close();
 			close();
@@ -210,22 +668,27 @@ public class POIUtil implements Serializable {
 	 * @throws IOException 
 	 */
 	public void download(String fileName, final boolean autoSizeColumns, final boolean evaluateFormulas) throws IOException {
-		final String xlsx = ".xlsx";
-		if(!fileName.contains(xlsx)) {
-			fileName = fileName + xlsx;
-		}
+		fileName = nomeArquivoXlsx(fileName);
 		final ByteArrayOutputStream baos = new ByteArrayOutputStream();
 		ServletOutputStream sos = null;
 		try {
-			this.write(baos,autoSizeColumns,evaluateFormulas);
+			final ExportMetrics metrics;
+			try {
+				metrics = exportar(baos, autoSizeColumns, evaluateFormulas);
+			} finally {
+				close();
+			}
 			final byte[] bytes = baos.toByteArray();
 			final HttpServletResponse response = (HttpServletResponse) FacesContext.getCurrentInstance().getExternalContext().getResponse();
 			response.setHeader("Content-disposition", "attachment;filename="+fileName);
-			response.setContentType("application/vnd.openxmlformats-officedocument.spreadsheetml.sheet");
+			response.setContentType(CONTENT_TYPE_XLSX);
 			response.setContentLength(bytes.length);
 			sos = response.getOutputStream();
+			final long inicio = iniciarFase(ExportPhase.SERVLET_WRITE);
 			sos.write(bytes,0,bytes.length);
 			sos.flush();
+			metrics.servletWriteNanos = finalizarFase(ExportPhase.SERVLET_WRITE, inicio);
+			notificar(metrics);
 		}finally {
 			FacesContext.getCurrentInstance().responseComplete();
 			close(baos, sos);
@@ -233,1524 +696,5239 @@ public class POIUtil implements Serializable {
 	}
 
 	/**
-	 * Fecha o workbook. É fechado automaticamente nós metodos write()
-	 * 
+	 * Download do workbook como .xlsx escrevendo direto no ServletOutputStream, sem buffer intermediário (sem Content-Length -> transferência chunked).
+	 * Caso ocorra erro antes do início do envio os headers são descartados e é retornado erro 500. Caso ocorra após o início, a conexão é encerrada
+	 * e o arquivo chega incompleto para o cliente.
+	 * @param fileName (String) - nome do arquivo. Caso não possua o .xlsx será inserido.
+	 * @param autoSizeColumns (boolean) - Define se irá ajustar o tamanho de todas as colunas usadas em todas as folhas. Afeta performance gravemente dependendo do tamanho do arquivo
+	 * @param evaluateFormulas (boolean) - Define se irá atualizar todas as fórmulas criadas e fará os cálculos
 	 * @throws IOException
 	 */
-	public void close() throws IOException {
-		this._workbook.close();
+	public void downloadStream(String fileName, final boolean autoSizeColumns, final boolean evaluateFormulas) throws IOException {
+		fileName = nomeArquivoXlsx(fileName);
+		final FacesContext facesContext = FacesContext.getCurrentInstance();
+		final HttpServletResponse response = (HttpServletResponse) facesContext.getExternalContext().getResponse();
+		ServletOutputStream sos = null;
+		iniciarOperacao();
+		try {
+			final ExportMetrics metrics = prepararExport(autoSizeColumns, evaluateFormulas);
+			response.setHeader("Content-disposition", "attachment;filename="+fileName);
+			response.setContentType(CONTENT_TYPE_XLSX);
+			sos = response.getOutputStream();
+			serializar(metrics, sos);
+			final long inicio = iniciarFase(ExportPhase.SERVLET_WRITE);
+			sos.flush();
+			metrics.servletWriteNanos = finalizarFase(ExportPhase.SERVLET_WRITE, inicio);
+			notificar(metrics);
+		} catch (IOException | RuntimeException e) {
+			if(!response.isCommitted()) {
+				response.reset();
+				response.sendError(HttpServletResponse.SC_INTERNAL_SERVER_ERROR);
+			}
+			throw e;
+		} finally {
+			finalizarOperacao();
+			facesContext.responseComplete();
+			close(null, sos);
+			close();
+		}
 	}
 
-	// SHEET
-
 	/**
-	 * Cria uma nova folha (XSSFSheet).
-	 * 
-	 * @param name (String) - nome da folha
+	 * Nível de compressão (deflate) do .xlsx gerado, por tipo de parte do pacote, e compressão dos temporários do modo streaming.
+	 * As folhas (xl/worksheets/) concentram quase todo o tamanho e o tempo de compactação.
 	 */
-	public POIUtil2 createSheet(final String name) {
-		this._workbook.createSheet(name);
-		return this;
+	public static final class OutputProfile implements Serializable {
+		
+		private static final long serialVersionUID = 1L;
+		/** Compressão padrão do POI */
+		public static final OutputProfile DEFAULT = new OutputProfile(Deflater.DEFAULT_COMPRESSION, Deflater.DEFAULT_COMPRESSION, false);
+		/** Exports internos/batch: folhas sem compressão e demais partes no nível 1. Arquivo maior, serialização mais rápida */
+		public static final OutputProfile FAST = new OutputProfile(Deflater.NO_COMPRESSION, Deflater.BEST_SPEED, false);
+		/** Arquivos enviados por e-mail: compressão máxima em todas as partes e nos temporários do streaming */
+		public static final OutputProfile SMALLEST = new OutputProfile(Deflater.BEST_COMPRESSION, Deflater.BEST_COMPRESSION, true);
+		
+		private final int sheetLevel;
+		private final int otherLevel;
+		private final boolean compressTmpFiles;
+		
+		/**
+		 * @param sheetLevel (int) - nível das folhas (xl/worksheets/). 0 (sem compressão) a 9, -1 padrão
+		 * @param otherLevel (int) - nível das demais partes (estilos, shared strings, imagens...). 0 a 9, -1 padrão
+		 * @param compressTmpFiles (boolean) - compacta (gzip) os temporários das folhas criadas no modo streaming
+		 * @throws IllegalArgumentException - caso algum nível seja inválido
+		 */
+		public OutputProfile(final int sheetLevel, final int otherLevel, final boolean compressTmpFiles) {
+			if(sheetLevel < -1 || sheetLevel > 9 || otherLevel < -1 || otherLevel > 9) {
+				throw new IllegalArgumentException("Nível de compressão inválido -> "+sheetLevel+", "+otherLevel);
+			}
+			this.sheetLevel = sheetLevel;
+			this.otherLevel = otherLevel;
+			this.compressTmpFiles = compressTmpFiles;
+		}
+		
+		public int getSheetLevel() {
+			return this.sheetLevel;
+		}
+		
+		public int getOtherLevel() {
+			return this.otherLevel;
+		}
+		
+		public boolean isCompressTmpFiles() {
+			return this.compressTmpFiles;
+		}
+		
+		@Override
+		public String toString() {
+			return "OutputProfile [sheetLevel=" + this.sheetLevel + ", otherLevel=" + this.otherLevel + ", compressTmpFiles=" + this.compressTmpFiles + "]";
+		}
 	}
 	
 	/**
-	 * Reordena folha
-	 * @param sheet (XSSFSheet) - folha a ser reordenada
-	 * @param pos (int) - posição (base 0) da folha
-	 * @return POIUtil2
+	 * Configura a compressão usada pelos métodos write()/download(). No modo streaming o SXSSF compacta o pacote com o nível padrão
+	 * e apenas a compressão dos temporários é aplicada (às folhas criadas após a chamada).
+	 * @param outputProfile (OutputProfile) - ex: OutputProfile.FAST, OutputProfile.SMALLEST
+	 * @return PoiUtil
 	 */
-	public POIUtil2 moveSheet(final XSSFSheet sheet, final int pos) {
-		this._workbook.setSheetOrder(sheet.getSheetName(), pos);
+	public POIUtil2 setOutputProfile(final OutputProfile outputProfile) {
+		this.outputProfile = null == outputProfile ? OutputProfile.DEFAULT : outputProfile;
+		if(isStreaming()) {
+			this._streamingWorkbook.setCompressTempFiles(this.outputProfile.compressTmpFiles);
+		}
 		return this;
 	}
 	
 	/**
-	 * Seta folha como a principal
-	 * @param index (int) - posição (base 0) da folha
-	 * @return POIUtil2
+	 * Retorna a compressão usada pelos métodos write()/download()
+	 * @return OutputProfile
 	 */
-	public POIUtil2 activeSheet(final int index) {
-		this._workbook.setActiveSheet(index);
-		return this;
+	public OutputProfile getOutputProfile() {
+		return this.outputProfile;
 	}
-
+	
 	/**
-	 * Retorna folha da posição informada.
-	 * 
-	 * @param index (int) - Posição da folha. Base 0
-	 * @return XSSFSheet
+	 * Escreve e fecha o workbook retornando o array de bytes, com a compressão informada
+	 * @param autoSizeColumns (boolean) - Define se irá ajustar o tamanho de todas as colunas usadas em todas as folhas
+	 * @param evaluateFormulas (boolean) - Define se irá atualizar todas as fórmulas criadas e fará os cálculos
+	 * @param outputProfile (OutputProfile) - compressão
+	 * @return byte[]
+	 * @throws IOException
 	 */
-	public XSSFSheet getSheetAt(final int index) {
-		return this._workbook.getSheetAt(index);
+	public byte[] write(final boolean autoSizeColumns, final boolean evaluateFormulas, final OutputProfile outputProfile) throws IOException {
+		return setOutputProfile(outputProfile).write(autoSizeColumns, evaluateFormulas);
 	}
 	
 	/**
-	 * Configura folha para padrão
-	 * @param index (int) - Índice (base 0) da folha
-	 * @return PoiUtil
+	 * Escreve e fecha workbook no filePath (temporário + move atômico), com a compressão informada
+	 * @param filePath (String) - caminho destino para escrever excel
+	 * @param autoSizeColumns (boolean) - Se True -> tamanho de todas as células criadas será ajeitado de acordo com o tamanho de seus conteúdos
+	 * @param evaluateAllFormulas (boolean) - Se True -> atualiza os valores de todas as fórmulas das folhas
+	 * @param outputProfile (OutputProfile) - compressão
+	 * @throws IOException
 	 */
-	public POIUtil2 setActiveSheet(final int index) {
-		this._workbook.setActiveSheet(index);
-		return this;
+	public void write(final String filePath, final boolean autoSizeColumns, final boolean evaluateAllFormulas, final OutputProfile outputProfile) throws IOException {
+		setOutputProfile(outputProfile).write(filePath, autoSizeColumns, evaluateAllFormulas);
 	}
-
+	
 	/**
-	 * Retorna folha pelo nome informado
-	 * 
-	 * @param name (String) - nome da folha
-	 * @return XSSFSheet
+	 * Download do workbook como .xlsx, com a compressão informada
+	 * @param fileName (String) - nome do arquivo. Caso não possua o .xlsx será inserido.
+	 * @param autoSizeColumns (boolean) - Define se irá ajustar o tamanho de todas as colunas usadas em todas as folhas
+	 * @param evaluateFormulas (boolean) - Define se irá atualizar todas as fórmulas criadas e fará os cálculos
+	 * @param outputProfile (OutputProfile) - compressão
+	 * @throws IOException
 	 */
-	public XSSFSheet getSheet(final String name) {
-		return this._workbook.getSheet(name);
+	public void download(final String fileName, final boolean autoSizeColumns, final boolean evaluateFormulas, final OutputProfile outputProfile) throws IOException {
+		setOutputProfile(outputProfile).download(fileName, autoSizeColumns, evaluateFormulas);
 	}
 	
 	/**
-	 * Remove folha no index informado. Base 0
-	 * @param index (int) index base 0
-	 * @return POIUtil
+	 * Compacta as partes do pacote com o nível do OutputProfile. O ZipPackage do POI usa diretamente o ZipOutputStream recebido
 	 */
-	public POIUtil2 removeSheetAt(final int index) {
-		this._workbook.removeSheetAt(index);
-		return this;
+	private static final class PerfilZipOutputStream extends ZipOutputStream {
+		
+		private final OutputProfile perfil;
+		private boolean fechado;
+		
+		private PerfilZipOutputStream(final OutputStream out, final OutputProfile perfil) {
+			super(out);
+			this.perfil = perfil;
+		}
+		
+		@Override
+		public void putNextEntry(final ZipEntry entry) throws IOException {
+			final String nome = entry.getName();
+			final boolean folha = nome.startsWith("xl/worksheets/") || nome.startsWith("/xl/worksheets/");
+			setLevel(folha ? this.perfil.sheetLevel : this.perfil.otherLevel);
+			super.putNextEntry(entry);
+		}
+		
+		@Override
+		public void close() throws IOException {
+			this.fechado = true;
+			super.close();
+		}
 	}
 
 	/**
-	 * Cria uma nova área mesclada
-	 * 
-	 * @param sheet    (XSSFSheet) - folha a ser alterada
-	 * @param regioes (String...) - regiões a serem mescladas (separadas por vírgula). Ex: "A1:F10","B5:G30"...
-	 * @throws Exception - regiões inválidas 
-	 * @return PoiUtil
+	 * Fase de um export
 	 */
-	public POIUtil2 createMergedRegions(final XSSFSheet sheet, final String... regioes) throws Exception {
-		validarRegioes(regioes);
-		for(int index = 0; index < regioes.length; index++) {
-			final String regiao = regioes[index];
-			final int[][] linhasColunas = getRowsCols(regiao);
-			sheet.addMergedRegion(new CellRangeAddress(linhasColunas[0][0], linhasColunas[1][0], linhasColunas[0][1], linhasColunas[1][1]));
-		}
-		setUltimaRegiaoAutalizada(sheet,regioes);
-		return this;
+	public enum ExportPhase {
+		/** Da criação do POIUtil até o início do export (montagem do workbook) */
+		BUILD,
+		AUTO_SIZE,
+		EVALUATE,
+		/** Compactação/escrita do .xlsx no OutputStream */
+		SERIALIZE,
+		/** Escrita dos bytes no ServletOutputStream (download) */
+		SERVLET_WRITE
 	}
 	
-
 	/**
-	 * Cria uma nova área mesclada
-	 * 
-	 * @param sheet    (XSSFSheet) - folha a ser alterada
-	 * @param firstRow (int) - primeira linha para mesclar. Base 0
-	 * @param lastRow  (int) - última linha para mesclar. Base 0
-	 * @param firstCol (int) - primeira coluna para mesclar. Base 0
-	 * @param lastCol  (int) - última coluna para mesclar. Base 0
-	 * @return PoiUtil
+	 * Recebe as métricas dos exports (write/download). Implementações devem ser rápidas e thread-safe quando registradas globalmente.
 	 */
-	public POIUtil2 createMergedRegion(final XSSFSheet sheet, final int firstRow, final int lastRow, final int firstCol,
-			final int lastCol) {
-
-		sheet.addMergedRegion(new CellRangeAddress(firstRow, lastRow, firstCol, lastCol));
-		return this;
+	public interface ExportListener {
+		
+		/**
+		 * Chamado no início de cada fase (exceto BUILD)
+		 * @param phase (ExportPhase) - fase
+		 */
+		default void phaseStarted(final ExportPhase phase) {
+		}
+		
+		/**
+		 * Chamado no fim de cada fase (exceto BUILD)
+		 * @param phase (ExportPhase) - fase
+		 * @param nanos (long) - duração em nanossegundos
+		 */
+		default void phaseFinished(final ExportPhase phase, final long nanos) {
+		}
+		
+		/**
+		 * Chamado ao final de cada export com sucesso
+		 * @param metrics (ExportMetrics) - métricas do export
+		 */
+		void exportFinished(ExportMetrics metrics);
 	}
-
+	
 	/**
-	 * Cria várias áreas mescladas de vários pares de linhas Ex: firstLastRows =
-	 * [[2,3],[4,5]] columns = [[2,3,8,6],[10,11,20,60]] Nas linhas 2 e 3 serão
-	 * criadas as áreas mescladas (2 a 3) e (8 a 6) Nas linhas 4 e 5 as áreas
-	 * mescladas (10,11) e (20,60)
-	 * 
-	 * @param sheet         (XSSFSheet) - folha a ser alterada
-	 * @param firstLastRows (int[][]) - Matriz de linhas a serem alteradas. Cada
-	 *                      array deve ser um par de ints indicando a linha inicio e
-	 *                      fim: [[1,2],[3,4]]. Base 0
-	 * @param columns       (int[][]) - Matriz de colunas a serem mescladas. A
-	 *                      quantidade de colunas deve ser um número par. Base 0
-	 * @throws IndexOutOfBoundsException - caso firstLastRows e columns sejam de
-	 *                                   tamanhos diferentes
-	 * @return PoiUtil
+	 * Métricas de um export. Tempos em nanossegundos (0 quando a fase não foi executada, -1 quando não disponível).
 	 */
-	public POIUtil2 createMergedRegions(final XSSFSheet sheet, final int[][] firstLastRows, final int[][] columns) {
-		for (int index = 0; index < firstLastRows.length; index++) {
-			final int[] rows = firstLastRows[index];
-			final int[] cols = columns[index];
-			for (int j = 0; j < cols.length; j++) {
-				sheet.addMergedRegion(new CellRangeAddress(rows[0], rows[1], cols[j], cols[++j]));
+	public static final class ExportMetrics {
+		
+		private final boolean streaming;
+		private long buildNanos;
+		private long autoSizeNanos;
+		private long evaluateNanos;
+		private long serializeNanos;
+		private long servletWriteNanos;
+		private int sheets;
+		private long rows;
+		private long cells;
+		private int styles;
+		private int fonts;
+		private int sharedStrings;
+		private long outputBytes;
+		private OutputProfile outputProfile;
+		
+		private ExportMetrics(final boolean streaming) {
+			this.streaming = streaming;
+		}
+		
+		public boolean isStreaming() {
+			return this.streaming;
+		}
+		
+		public long getPhaseNanos(final ExportPhase phase) {
+			switch(phase) {
+			case BUILD:
+				return this.buildNanos;
+			case AUTO_SIZE:
+				return this.autoSizeNanos;
+			case EVALUATE:
+				return this.evaluateNanos;
+			case SERIALIZE:
+				return this.serializeNanos;
+			default:
+				return this.servletWriteNanos;
 			}
-
 		}
-		return this;
+		
+		public long getBuildNanos() {
+			return this.buildNanos;
+		}
+		
+		public long getAutoSizeNanos() {
+			return this.autoSizeNanos;
+		}
+		
+		public long getEvaluateNanos() {
+			return this.evaluateNanos;
+		}
+		
+		public long getSerializeNanos() {
+			return this.serializeNanos;
+		}
+		
+		public long getServletWriteNanos() {
+			return this.servletWriteNanos;
+		}
+		
+		public int getSheets() {
+			return this.sheets;
+		}
+		
+		/**
+		 * @return quantidade de linhas do workbook. No modo streaming, linhas escritas pelo POIUtil (as descarregadas não podem ser contadas)
+		 */
+		public long getRows() {
+			return this.rows;
+		}
+		
+		/**
+		 * @return quantidade de células do workbook. No modo streaming, valores e fórmulas escritos pelo POIUtil (uma célula escrita duas vezes conta duas)
+		 */
+		public long getCells() {
+			return this.cells;
+		}
+		
+		public int getStyles() {
+			return this.styles;
+		}
+		
+		public int getFonts() {
+			return this.fonts;
+		}
+		
+		/**
+		 * @return quantidade de strings únicas na shared strings table
+		 */
+		public int getSharedStrings() {
+			return this.sharedStrings;
+		}
+		
+		public long getOutputBytes() {
+			return this.outputBytes;
+		}
+		
+		/**
+		 * @return compressão usada na serialização
+		 */
+		public OutputProfile getOutputProfile() {
+			return this.outputProfile;
+		}
+		
+		@Override
+		public String toString() {
+			return "ExportMetrics [streaming=" + this.streaming + ", buildMs=" + this.buildNanos / 1000000 + ", autoSizeMs=" + this.autoSizeNanos / 1000000
+					+ ", evaluateMs=" + this.evaluateNanos / 1000000 + ", serializeMs=" + this.serializeNanos / 1000000 + ", servletWriteMs=" + this.servletWriteNanos / 1000000
+					+ ", sheets=" + this.sheets + ", rows=" + this.rows + ", cells=" + this.cells + ", styles=" + this.styles + ", fonts=" + this.fonts
+					+ ", sharedStrings=" + this.sharedStrings + ", outputBytes=" + this.outputBytes + ", outputProfile=" + this.outputProfile + "]";
+		}
 	}
 	
 	/**
-	 * Cria painel estático
-	 * @param sheet (XSSFSheet) - folha a ser alterada
-	 * @param row (int) - linha final (base 1) a ser congelada
-	 * @param column (int) - coluna inicial a ser congelada
-	 * @return
-	 */
-	public POIUtil2 createFreezPanel(final XSSFSheet sheet, final int row, final int column) {
-		sheet.createFreezePane(column, row);
-		return this;
-	}
-
-	// CELL
-
-	/**
-	 * Cria células a partir do array int[]
-	 * 
-	 * @param sheet (XSSFSheet) - folha a ser alterada
-	 * @param value (String) - valor em String
-	 * @param row   (int) - número da linha onde serão criadas as células. Base 0
-	 * @param cells (int[]) - números das células a serem criadas. Base 0
-	 * @throws NullPointerException - caso linha não exista
-	 * @return PoiUtil2
+	 * Adiciona listener de métricas de export desta instância
+	 * @param listener (ExportListener)
+	 * @return PoiUtil
 	 */
-	public POIUtil2 createCell(final XSSFSheet sheet, final String value, final int row, final int cellNum) {
-		final XSSFCell cell = this.getRow(sheet, row).createCell(cellNum);
-		cell.setCellValue(value);
-		setUltimaRegiaoAutalizadaLinhaColuna(sheet,row,cellNum);
+	public POIUtil2 addExportListener(final ExportListener listener) {
+		this._exportListeners.add(listener);
 		return this;
 	}
 	
 	/**
-	 * Cria célula, seta valor String e configura estilo 
-	 * 
-	 * @param sheet (XSSFSheet) - folha a ser alterada
-	 * @param estilo (String) - nome do estilo existente
-	 * @param value (String) - valor em String
-	 * @param row   (int) - número da linha onde serão criadas as células. Base 0
-	 * @param cells (int[]) - números das células a serem criadas. Base 0
-	 * @throws NullPointerException - caso linha ou estilo não existam
-	 * @return PoiUtil2
+	 * Remove listener de métricas de export desta instância
+	 * @param listener (ExportListener)
+	 * @return PoiUtil
 	 */
-	public POIUtil2 createCell(final XSSFSheet sheet, final String estilo, final String value, final int row, final int cellNum) {
-		final XSSFCell cell = this.getRow(sheet, row).createCell(cellNum);
-		cell.setCellStyle(getCellStyle(estilo));
-		cell.setCellValue(value);
-		setUltimaRegiaoAutalizadaLinhaColuna(sheet,row,cellNum);
+	public POIUtil2 removeExportListener(final ExportListener listener) {
+		this._exportListeners.remove(listener);
 		return this;
 	}
 	
 	/**
-	 * Cria célula, seta valor Date e configura estilo 
-	 * 
-	 * @param sheet (XSSFSheet) - folha a ser alterada
-	 * @param estilo (String) - nome do estilo existente
-	 * @param value (Date) - valor em Date
-	 * @param row   (int) - número da linha onde serão criadas as células. Base 0
-	 * @param cells (int[]) - números das células a serem criadas. Base 0
-	 * @throws NullPointerException - caso linha ou estilo não existam
-	 * @return PoiUtil2
+	 * Adiciona listener de métricas para os exports de todas as instâncias. Ex: monitoramento, JFR
+	 * @param listener (ExportListener) - deve ser thread-safe
 	 */
-	public POIUtil2 createCell(final XSSFSheet sheet, final String estilo, final Date value, final int row, final int cellNum) {
-		final XSSFCell cell = this.getRow(sheet, row).createCell(cellNum);
-		cell.setCellStyle(getCellStyle(estilo));
-		if(null == value) {
-			cell.setCellValue("");
-		}else {
-			cell.setCellValue(value);
-		}
-		setUltimaRegiaoAutalizadaLinhaColuna(sheet,row,cellNum);
-		return this;
+	public static void addGlobalExportListener(final ExportListener listener) {
+		GLOBAL_EXPORT_LISTENERS.add(listener);
 	}
 	
 	/**
-	 * Cria célula e seta valor int
-	 * 
-	 * @param sheet (XSSFSheet) - folha a ser alterada
-	 * @param value (int) - valor em int
-	 * @param row   (int) - número da linha onde serão criadas as células. Base 0
-	 * @param cells (int[]) - números das células a serem criadas. Base 0
-	 * @throws NullPointerException - caso linha não exista
-	 * @return PoiUtil2
+	 * Remove listener global de métricas
+	 * @param listener (ExportListener)
 	 */
-	public POIUtil2 createCell(final XSSFSheet sheet, final int value, final int row, final int cellNum) {
-		final XSSFCell cell = this.getRow(sheet, row).createCell(cellNum);
-		cell.setCellValue(value);
-		setUltimaRegiaoAutalizadaLinhaColuna(sheet,row,cellNum);
-		return this;
+	public static void removeGlobalExportListener(final ExportListener listener) {
+		GLOBAL_EXPORT_LISTENERS.remove(listener);
 	}
 	
 	/**
-	 * Cria célula, seta valor int e configura estilo
-	 * 
-	 * @param sheet (XSSFSheet) - folha a ser alterada
-	 * @param styleName (String) - nome do estilo criado
-	 * @param value (int) - valor em int
-	 * @param row   (int) - número da linha onde serão criadas as células. Base 0
-	 * @param cells (int[]) - números das células a serem criadas. Base 0
-	 * @throws NullPointerException - caso linha não exista
-	 * @return PoiUtil2
+	 * Retorna as métricas do último export desta instância. Nulo caso ainda não tenha sido exportado
+	 * @return ExportMetrics
 	 */
-	public POIUtil2 createCell(final XSSFSheet sheet, final String styleName, final int value, final int row, final int cellNum) {
-		final XSSFCell cell = this.getRow(sheet, row).createCell(cellNum);
-		cell.setCellStyle(getCellStyle(styleName));
-		cell.setCellValue(value);
-		setUltimaRegiaoAutalizadaLinhaColuna(sheet,row,cellNum);
-		return this;
+	public ExportMetrics getLastExportMetrics() {
+		return this._ultimoExport;
 	}
 	
 	/**
-	 * Cria célula
-	 * 
-	 * @param sheet (XSSFSheet) - folha a ser alterada
-	 * @param celulasRegioes (String...) - celulas ou regiões a serem criadas. Ex: A1 ou A1:D1 (criará células de A1 até D1 inclusa) Separar por vírgula ("A1","A2:B3"...).
-	 * @throws NullPointerException - caso linha não exista
-	 * @throws Exception - células/regiões inválidas
-	 * @return PoiUtil
+	 * Executa todas as fases do export no OutputStream. Não fecha o workbook nem notifica os listeners.
+	 * @param out (OutputStream) - destino
+	 * @param autoSizeColumns (boolean) - ajusta tamanho das colunas
+	 * @param evaluateFormulas (boolean) - atualiza as fórmulas
+	 * @throws IOException
+	 * @return ExportMetrics
 	 */
-	public POIUtil2 createCells(final XSSFSheet sheet, final String... celulasRegioes) throws Exception {
-		validarCelulasRegioes(celulasRegioes);
-		final String doisPontos = ":";
-		for(int i = 0; i < celulasRegioes.length; i++) {
-			if(celulasRegioes[i].indexOf(doisPontos) >= 0) {
-				final int[][] linhasColunas = getRowsCols(celulasRegioes[i]);
-				int linhaInicial = linhasColunas[0][0];
-				final int linhaFinal = linhasColunas[1][0];
-				final int colunaInicial = linhasColunas[0][1];
-				final int colunaFinal = linhasColunas[1][1];
-				while(linhaInicial <= linhaFinal) {
-					int coluna = colunaInicial;
-					while(coluna <= colunaFinal) {
-						this.getRow(sheet, linhaInicial).createCell(coluna++);
-					}
-					linhaInicial++;
-				}
-			}else {
-				final int[] linhaColuna = getRowCol(celulasRegioes[i]);
-				this.getRow(sheet, linhaColuna[0]).createCell(linhaColuna[1]);
-			}
+	private ExportMetrics exportar(final OutputStream out, final boolean autoSizeColumns, final boolean evaluateFormulas) throws IOException {
+		iniciarOperacao();
+		try {
+			final ExportMetrics metrics = prepararExport(autoSizeColumns, evaluateFormulas);
+			serializar(metrics, out);
+			return metrics;
+		} finally {
+			finalizarOperacao();
 		}
-		setUltimaRegiaoAutalizada(sheet,celulasRegioes);
-		return this;
 	}
 	
-	
 	/**
-	 * Cria células
-	 * 
-	 * @param sheet (XSSFSheet) - folha a ser alterada
-	 * @param row (int) - número da linha
-	 * @param cols (int[]) - números das células a serem criadas
-	 * @throws NullPointerException - caso linha não exista
-	 * @return PoiUtil
+	 * Executa as fases anteriores à serialização (autoSize e fórmulas)
+	 * @return ExportMetrics
 	 */
-	public POIUtil2 createCells(final XSSFSheet sheet, final int row, final int[] cols) throws Exception {
-		final XSSFRow xssfRow = getRow(sheet, row);
-		int index = 0;
-		while(index < cols.length) {
-			xssfRow.createCell(cols[index++]);
+	private ExportMetrics prepararExport(final boolean autoSizeColumns, final boolean evaluateFormulas) {
+		final ExportMetrics metrics = new ExportMetrics(isStreaming());
+		metrics.buildNanos = 0 == this._inicio ? -1 : System.nanoTime() - this._inicio;
+		if(autoSizeColumns) {
+			final long inicio = iniciarFase(ExportPhase.AUTO_SIZE);
+			autoSizeColumns();
+			metrics.autoSizeNanos = finalizarFase(ExportPhase.AUTO_SIZE, inicio);
 		}
-		return this;
+		if(evaluateFormulas) {
+			final long inicio = iniciarFase(ExportPhase.EVALUATE);
+			avaliarFormulas();
+			metrics.evaluateNanos = finalizarFase(ExportPhase.EVALUATE, inicio);
+		}
+		return metrics;
 	}
 	
 	/**
-	 * Cria célula configurada com estilo informado
-	 * 
-	 * @param sheet (XSSFSheet) - folha a ser alterada
-	 * @param cellStyleName (String) - nome do estilo adicionado no map de estilos -> createCellStyle().
-	 * @param celulasRegioes (String...) - celulas ou regiões a serem criadas. Ex: A1 ou A1:D1 (criará células de A1 até D1 inclusa) Separar por vírgula ("A1","A2:B3"...).
-	 * @throws NullPointerException - caso linha ou estilo não existam
-	 * @throws Exception - células/regiões inválidas
-	 * @return PoiUtil
+	 * Serializa o workbook no OutputStream contando os bytes e coleta as contagens do workbook
+	 * @param metrics (ExportMetrics) - métricas do export
+	 * @param out (OutputStream) - destino
+	 * @throws IOException
 	 */
-	public POIUtil2 createCellsComStyle(final XSSFSheet sheet, final String cellStyleName, final String... celulasRegioes) throws Exception {
-		validarCelulasRegioes(celulasRegioes);
-		final String doisPontos = ":";
-		for(int i = 0; i < celulasRegioes.length; i++) {
-			if(celulasRegioes[i].indexOf(doisPontos) >= 0) {
-				final int[][] linhasColunas = getRowsCols(celulasRegioes[i]);
-				int linhaInicial = linhasColunas[0][0];
-				final int linhaFinal = linhasColunas[1][0];
-				final int colunaInicial = linhasColunas[0][1];
-				final int colunaFinal = linhasColunas[1][1];
-				while(linhaInicial <= linhaFinal) {
-					int coluna = colunaInicial;
-					while(coluna <= colunaFinal) {
-						this.getRow(sheet, linhaInicial).createCell(coluna++).setCellStyle(this._cellStyles.get(cellStyleName));
-					}
-					linhaInicial++;
-				}
-			}else {
-				final int[] linhaColuna = getRowCol(celulasRegioes[i]);
-				this.getRow(sheet, linhaColuna[0]).createCell(linhaColuna[1]).setCellStyle(this._cellStyles.get(cellStyleName));
+	private void serializar(final ExportMetrics metrics, final OutputStream out) throws IOException {
+		final ContadorOutputStream contador = new ContadorOutputStream(out);
+		final long inicio = iniciarFase(ExportPhase.SERIALIZE);
+		// SXSSF cria o próprio ZipOutputStream ao injetar as folhas
+		if(isStreaming() || OutputProfile.DEFAULT == this.outputProfile) {
+			workbook().write(contador);
+		}else {
+			final PerfilZipOutputStream zip = new PerfilZipOutputStream(contador, this.outputProfile);
+			workbook().write(zip);
+			if(!zip.fechado) {
+				zip.finish();
 			}
 		}
-		setUltimaRegiaoAutalizada(sheet,celulasRegioes);
-		return this;
+		metrics.serializeNanos = finalizarFase(ExportPhase.SERIALIZE, inicio);
+		metrics.outputProfile = this.outputProfile;
+		metrics.outputBytes = contador.bytes;
+		metrics.sheets = xssf().getNumberOfSheets();
+		metrics.styles = xssf().getNumCellStyles();
+		metrics.fonts = xssf().getNumberOfFonts();
+		metrics.sharedStrings = xssf().getSharedStringSource().getUniqueCount();
+		if(isStreaming()) {
+			// linhas já descarregadas não podem ser contadas: usa os contadores mantidos ao escrever
+			metrics.rows = this._linhasEscritas;
+			metrics.cells = this._celulasEscritas;
+			return;
+		}
+		// contagens mantidas pelo XSSF: uma leitura por folha/linha, sem percorrer as células
+		for(final Sheet folha : xssf()) {
+			metrics.rows += folha.getPhysicalNumberOfRows();
+			for(final Row row : folha) {
+				metrics.cells += row.getPhysicalNumberOfCells();
+			}
+		}
+	}
+	
+	private long iniciarFase(final ExportPhase phase) {
+		avisarListeners(listener -> listener.phaseStarted(phase));
+		return System.nanoTime();
+	}
+	
+	private long finalizarFase(final ExportPhase phase, final long inicio) {
+		final long nanos = System.nanoTime() - inicio;
+		avisarListeners(listener -> listener.phaseFinished(phase, nanos));
+		return nanos;
 	}
 	
 	/**
-	 * Cria célula configurada com estilo e valor String informados
-	 * 
-	 * @param sheet (XSSFSheet) - folha a ser alterada
-	 * @param cellStyleName (String) - nome do estilo adicionado no map de estilos -> createCellStyle().
-	 * @param cellValue (String) - valor em String para a célula
-	 * @param celulasRegioes (String...) - celulas ou regiões a serem criadas. Ex: A1 ou A1:D1 (criará células de A1 até D1 inclusa) Separar por vírgula ("A1","A2:B3"...).
-	 * @throws NullPointerException - caso linha ou estilo não existam ou valor não tenha sido informado
-	 * @throws Exception - células/regiões inválidas
-	 * @return PoiUtil
+	 * Executa o aviso em cada listener da instância e global. Erro em listener apenas é logado, não invalida o export
+	 * @param aviso (Consumer) - chamada do listener
 	 */
-	public POIUtil2 createCellsComStyleValue(final XSSFSheet sheet, final String cellStyleName, final String cellValue, final String... celulasRegioes) throws Exception {
-		validarCelulasRegioes(celulasRegioes);
-		final String doisPontos = ":";
-		for(int i = 0; i < celulasRegioes.length; i++) {
-			if(celulasRegioes[i].indexOf(doisPontos) >= 0) {
-				final int[][] linhasColunas = getRowsCols(celulasRegioes[i]);
-				int linhaInicial = linhasColunas[0][0];
-				final int linhaFinal = linhasColunas[1][0];
-				final int colunaInicial = linhasColunas[0][1];
-				final int colunaFinal = linhasColunas[1][1];
-				while(linhaInicial <= linhaFinal) {
-					int coluna = colunaInicial;
-					while(coluna <= colunaFinal) {
-						final XSSFCell cell = this.getRow(sheet, linhaInicial).createCell(coluna++);
-						cell.setCellStyle(this._cellStyles.get(cellStyleName));
-						cell.setCellValue(cellValue);
-					}
-					linhaInicial++;
-				}
-			}else {
-				final int[] linhaColuna = getRowCol(celulasRegioes[i]);
-				final XSSFCell cell = this.getRow(sheet, linhaColuna[0]).createCell(linhaColuna[1]);
-				cell.setCellStyle(this._cellStyles.get(cellStyleName));
-				cell.setCellValue(cellValue);
-			}
+	private void avisarListeners(final Consumer<ExportListener> aviso) {
+		for(final ExportListener listener : this._exportListeners) {
+			avisarListener(aviso, listener);
+		}
+		for(final ExportListener listener : GLOBAL_EXPORT_LISTENERS) {
+			avisarListener(aviso, listener);
 		}
-		setUltimaRegiaoAutalizada(sheet,celulasRegioes);
-		return this;
 	}
 	
-	/**
-	 * Cria célula configurada com estilo e valor long informados
-	 * 
-	 * @param sheet (XSSFSheet) - folha a ser alterada
-	 * @param cellStyleName (String) - nome do estilo adicionado no map de estilos -> createCellStyle().
-	 * @param cellValue (long) - valor em long para a célula
-	 * @param celulasRegioes (String...) - celulas ou regiões a serem criadas. Ex: A1 ou A1:D1 (criará células de A1 até D1 inclusa) Separar por vírgula ("A1","A2:B3"...).
-	 * @throws NullPointerException - caso linha ou estilo não existam
-	 * @throws Exception - células/regiões inválidas
-	 * @return PoiUtil
-	 */
-	public POIUtil2 createCellsComStyleValue(final XSSFSheet sheet, final String cellStyleName, final long cellValue, final String... celulasRegioes) throws Exception {
-		validarCelulasRegioes(celulasRegioes);
-		final String doisPontos = ":";
-		for(int i = 0; i < celulasRegioes.length; i++) {
-			if(celulasRegioes[i].indexOf(doisPontos) >= 0) {
-				final int[][] linhasColunas = getRowsCols(celulasRegioes[i]);
-				int linhaInicial = linhasColunas[0][0];
-				final int linhaFinal = linhasColunas[1][0];
-				final int colunaInicial = linhasColunas[0][1];
-				final int colunaFinal = linhasColunas[1][1];
-				while(linhaInicial <= linhaFinal) {
-					int coluna = colunaInicial;
-					while(coluna <= colunaFinal) {
-						final XSSFCell cell = this.getRow(sheet, linhaInicial).createCell(coluna++);
-						cell.setCellStyle(this._cellStyles.get(cellStyleName));
-						cell.setCellValue(cellValue);
-					}
-					linhaInicial++;
-				}
-			}else {
-				final int[] linhaColuna = getRowCol(celulasRegioes[i]);
-				final XSSFCell cell = this.getRow(sheet, linhaColuna[0]).createCell(linhaColuna[1]);
-				cell.setCellStyle(this._cellStyles.get(cellStyleName));
-				cell.setCellValue(cellValue);
-			}
+	private static void avisarListener(final Consumer<ExportListener> aviso, final ExportListener listener) {
+		try {
+			aviso.accept(listener);
+		} catch (final RuntimeException e) {
+			e.printStackTrace();
 		}
-		setUltimaRegiaoAutalizada(sheet,celulasRegioes);
-		return this;
 	}
 	
 	/**
-	 * Cria célula configurada com estilo e valor long informados
-	 * 
-	 * @param sheet (XSSFSheet) - folha a ser alterada
-	 * @param cellStyleName (String) - nome do estilo adicionado no map de estilos -> createCellStyle().
-	 * @param cellValue (int) - valor em int para a célula
-	 * @param celulasRegioes (String...) - celulas ou regiões a serem criadas. Ex: A1 ou A1:D1 (criará células de A1 até D1 inclusa) Separar por vírgula ("A1","A2:B3"...).
-	 * @throws NullPointerException - caso linha ou estilo não existam
-	 * @throws Exception - células/regiões inválidas
-	 * @return PoiUtil
+	 * Guarda as métricas do export e notifica os listeners
+	 * @param metrics (ExportMetrics)
 	 */
-	public POIUtil2 createCellsComStyleValue(final XSSFSheet sheet, final String cellStyleName, final int cellValue, final String... celulasRegioes) throws Exception {
-		validarCelulasRegioes(celulasRegioes);
-		final String doisPontos = ":";
-		for(int i = 0; i < celulasRegioes.length; i++) {
-			if(celulasRegioes[i].indexOf(doisPontos) >= 0) {
-				final int[][] linhasColunas = getRowsCols(celulasRegioes[i]);
-				int linhaInicial = linhasColunas[0][0];
-				final int linhaFinal = linhasColunas[1][0];
-				final int colunaInicial = linhasColunas[0][1];
-				final int colunaFinal = linhasColunas[1][1];
-				while(linhaInicial <= linhaFinal) {
-					int coluna = colunaInicial;
-					while(coluna <= colunaFinal) {
-						final XSSFCell cell = this.getRow(sheet, linhaInicial).createCell(coluna++);
-						cell.setCellStyle(this._cellStyles.get(cellStyleName));
-						cell.setCellValue(cellValue);
-					}
-					linhaInicial++;
-				}
-			}else {
-				final int[] linhaColuna = getRowCol(celulasRegioes[i]);
-				final XSSFCell cell = this.getRow(sheet, linhaColuna[0]).createCell(linhaColuna[1]);
-				cell.setCellStyle(this._cellStyles.get(cellStyleName));
-				cell.setCellValue(cellValue);
-			}
-		}
-		setUltimaRegiaoAutalizada(sheet,celulasRegioes);
-		return this;
+	private void notificar(final ExportMetrics metrics) {
+		this._ultimoExport = metrics;
+		avisarListeners(listener -> listener.exportFinished(metrics));
 	}
 	
 	/**
-	 * Cria célula configurada com estilo e valor long informados
-	 * 
-	 * @param sheet (XSSFSheet) - folha a ser alterada
-	 * @param cellStyleName (String) - nome do estilo adicionado no map de estilos -> createCellStyle().
-	 * @param cellValue (double) - valor em double para a célula
-	 * @param celulasRegioes (String...) - celulas ou regiões a serem criadas. Ex: A1 ou A1:D1 (criará células de A1 até D1 inclusa) Separar por vírgula ("A1","A2:B3"...).
-	 * @throws NullPointerException - caso linha ou estilo não existam
-	 * @throws Exception - células/regiões inválidas
-	 * @return PoiUtil
+	 * OutputStream que conta os bytes escritos
 	 */
-	public POIUtil2 createCellsComStyleValue(final XSSFSheet sheet, final String cellStyleName, final double cellValue, final String... celulasRegioes) throws Exception {
-		validarCelulasRegioes(celulasRegioes);
-		final String doisPontos = ":";
-		for(int i = 0; i < celulasRegioes.length; i++) {
-			if(celulasRegioes[i].indexOf(doisPontos) >= 0) {
-				final int[][] linhasColunas = getRowsCols(celulasRegioes[i]);
-				int linhaInicial = linhasColunas[0][0];
-				final int linhaFinal = linhasColunas[1][0];
-				final int colunaInicial = linhasColunas[0][1];
-				final int colunaFinal = linhasColunas[1][1];
-				while(linhaInicial <= linhaFinal) {
-					int coluna = colunaInicial;
-					while(coluna <= colunaFinal) {
-						final XSSFCell cell = this.getRow(sheet, linhaInicial).createCell(coluna++);
-						cell.setCellStyle(this._cellStyles.get(cellStyleName));
-						cell.setCellValue(cellValue);
-					}
-					linhaInicial++;
-				}
-			}else {
-				final int[] linhaColuna = getRowCol(celulasRegioes[i]);
-				final XSSFCell cell = this.getRow(sheet, linhaColuna[0]).createCell(linhaColuna[1]);
-				cell.setCellStyle(this._cellStyles.get(cellStyleName));
-				cell.setCellValue(cellValue);
-			}
+	private static final class ContadorOutputStream extends FilterOutputStream {
+		
+		private long bytes;
+		
+		private ContadorOutputStream(final OutputStream out) {
+			super(out);
+		}
+		
+		@Override
+		public void write(final int b) throws IOException {
+			this.out.write(b);
+			this.bytes++;
+		}
+		
+		@Override
+		public void write(final byte[] b, final int off, final int len) throws IOException {
+			this.out.write(b, off, len);
+			this.bytes += len;
+		}
+		
+		@Override
+		public void close() throws IOException {
+			this.out.flush();
 		}
-		setUltimaRegiaoAutalizada(sheet,celulasRegioes);
-		return this;
 	}
-	
 
 	/**
-	 * Configura em string o valor da célula
+	 * Executa exports fora da thread da requisição, em um pool limitado. Limita os exports simultâneos, os exports na fila
+	 * (excedentes são rejeitados) e o heap estimado dos exports em execução (exports que não cabem aguardam).
+	 * Usa virtual threads quando disponíveis (JDK 21+). Uma instância por aplicação, fechada no shutdown.
 	 * 
-	 * @param sheet (XSSFSheet) - folha a ser alterada
-	 * @param value (String) - valor a ser configurado na célula
-	 * @param celula (String) - célula a ser configurada. Ex: "A1"
-	 * @throws NullPointerException - caso linha ou célula não existam ou valor seja null
-	 * @throws Exception - caso célula informada seja inválida 
-	 * @return PoiUtil
+	 * Ex: future = service.submit(20_000_000, true, true, () -> montarRelatorio(filtro));
+	 *     ... requisição posterior: ExportService.download(future.get(), "relatorio");
 	 */
-	public POIUtil2 setCellValue(final XSSFSheet sheet, final String value, final String celula) throws Exception {
-		validarCelulas(new String[] {celula});
-		final int[] linhaColuna = getRowCol(celula);
-		sheet.getRow(linhaColuna[0]).getCell(linhaColuna[1]).setCellValue(value);
-		setUltimaRegiaoAutalizada(sheet,celula);
-		return this;
+	public static final class ExportService implements Closeable {
+		
+		/**
+		 * Monta o workbook do export. Executado na thread do pool, não deve acessar o FacesContext
+		 */
+		@FunctionalInterface
+		public interface ExportJob {
+			POIUtil2 build() throws Exception;
+		}
+		
+		private final ThreadPoolExecutor _executor;
+		/** Heap disponível em KB */
+		private final Semaphore _heap;
+		private final int _heapKb;
+		private final boolean _virtualThreads;
+		/** Única fila de espera (thread livre e heap), em ordem de chegada. Só entram no pool com thread e heap reservados. Acesso sincronizado */
+		private final Deque<Pendente> _aguardando = new ArrayDeque<>();
+		private final int _maxConcurrent;
+		private final int _maxQueued;
+		private int _executando;
+		private boolean _fechado;
+		
+		/**
+		 * Export aguardando thread livre e heap
+		 */
+		private static final class Pendente {
+			
+			private final int kb;
+			private final CompletableFuture<?> future;
+			private final Runnable execucao;
+			
+			private Pendente(final int kb, final CompletableFuture<?> future, final Runnable execucao) {
+				this.kb = kb;
+				this.future = future;
+				this.execucao = execucao;
+			}
+		}
+		
+		/**
+		 * @param maxConcurrent (int) - quantidade máxima de exports simultâneos
+		 * @param maxQueued (int) - quantidade máxima de exports aguardando (thread livre ou heap). Excedentes são rejeitados (RejectedExecutionException no future)
+		 * @param heapBudgetBytes (long) - heap total estimado para os exports em execução
+		 * @throws IllegalArgumentException - caso algum limite seja inválido
+		 */
+		public ExportService(final int maxConcurrent, final int maxQueued, final long heapBudgetBytes) {
+			if(maxConcurrent < 1 || maxQueued < 0 || heapBudgetBytes < 1024) {
+				throw new IllegalArgumentException("Limites inválidos -> "+maxConcurrent+", "+maxQueued+", "+heapBudgetBytes);
+			}
+			final ThreadFactory fabricaVirtual = fabricaVirtual();
+			this._virtualThreads = null != fabricaVirtual;
+			// a espera é limitada pelo _aguardando: a fila do pool só recebe o próximo export entregue por uma thread que está terminando
+			this._executor = new ThreadPoolExecutor(maxConcurrent, maxConcurrent, 60, TimeUnit.SECONDS, new LinkedBlockingQueue<>(),
+					this._virtualThreads ? fabricaVirtual : fabricaPlataforma(), new ThreadPoolExecutor.AbortPolicy());
+			this._executor.allowCoreThreadTimeOut(true);
+			this._heapKb = (int) Math.min(Integer.MAX_VALUE, heapBudgetBytes / 1024);
+			this._heap = new Semaphore(this._heapKb);
+			this._maxConcurrent = maxConcurrent;
+			this._maxQueued = maxQueued;
+		}
+		
+		/**
+		 * Agenda o export e retorna o .xlsx em bytes
+		 * @param estimatedBytes (long) - heap estimado do export. Limitado ao heap total
+		 * @param autoSizeColumns (boolean) - ajusta tamanho das colunas
+		 * @param evaluateFormulas (boolean) - atualiza as fórmulas
+		 * @param job (ExportJob) - monta o workbook
+		 * @return CompletableFuture - completado com exceção caso o export falhe ou seja rejeitado
+		 */
+		public CompletableFuture<byte[]> submit(final long estimatedBytes, final boolean autoSizeColumns, final boolean evaluateFormulas, final ExportJob job) {
+			return executar(estimatedBytes, () -> job.build().write(autoSizeColumns, evaluateFormulas));
+		}
+		
+		/**
+		 * Agenda o export gravando o .xlsx em um arquivo temporário do diretório. O arquivo deve ser removido por quem o consumir
+		 * @param estimatedBytes (long) - heap estimado do export. Limitado ao heap total
+		 * @param directory (File) - diretório do arquivo. Nulo usa o diretório temporário do sistema
+		 * @param autoSizeColumns (boolean) - ajusta tamanho das colunas
+		 * @param evaluateFormulas (boolean) - atualiza as fórmulas
+		 * @param job (ExportJob) - monta o workbook
+		 * @return CompletableFuture - completado com exceção caso o export falhe ou seja rejeitado
+		 */
+		public CompletableFuture<File> submitToFile(final long estimatedBytes, final File directory, final boolean autoSizeColumns, final boolean evaluateFormulas,
+				final ExportJob job) {
+			return executar(estimatedBytes, () -> {
+				final File arquivo = File.createTempFile("export", ".xlsx", directory);
+				try {
+					job.build().write(arquivo.getPath(), autoSizeColumns, evaluateFormulas);
+				} catch (final Exception e) {
+					arquivo.delete();
+					throw e;
+				}
+				return arquivo;
+			});
+		}
+		
+		/**
+		 * Reserva thread e heap antes de entregar o export ao pool: sem eles o export aguarda na fila própria em vez de ocupar uma thread
+		 * @param estimatedBytes (long) - heap estimado do export
+		 * @param tarefa (Callable) - export
+		 * @return CompletableFuture
+		 */
+		private <R> CompletableFuture<R> executar(final long estimatedBytes, final Callable<R> tarefa) {
+			final int kb = (int) Math.max(1, Math.min(this._heapKb, estimatedBytes / 1024));
+			final CompletableFuture<R> future = new CompletableFuture<>();
+			final Pendente pendente = new Pendente(kb, future, () -> {
+				try {
+					if(!future.isDone()) {
+						future.complete(tarefa.call());
+					}
+				} catch (final Exception e) {
+					future.completeExceptionally(e);
+				} catch (final OutOfMemoryError e) {
+					future.completeExceptionally(e);
+					throw e;
+				} finally {
+					liberar(kb);
+				}
+			});
+			synchronized(this) {
+				if(this._fechado) {
+					future.completeExceptionally(new RejectedExecutionException("ExportService encerrado"));
+				}else if(this._aguardando.isEmpty() && this._executando < this._maxConcurrent && this._heap.tryAcquire(kb)) {
+					despachar(pendente);
+				}else if(this._aguardando.size() < this._maxQueued) {
+					this._aguardando.add(pendente);
+				}else {
+					future.completeExceptionally(new RejectedExecutionException("Fila de exports cheia -> "+this._maxQueued));
+				}
+			}
+			return future;
+		}
+		
+		/**
+		 * Entrega ao pool o export com heap já reservado
+		 * @param pendente (Pendente)
+		 */
+		private synchronized void despachar(final Pendente pendente) {
+			this._executando++;
+			try {
+				this._executor.execute(pendente.execucao);
+			} catch (final RejectedExecutionException e) {
+				pendente.future.completeExceptionally(e);
+				liberar(pendente.kb);
+			}
+		}
+		
+		/**
+		 * Devolve a thread e o heap do export e despacha os que aguardavam e agora cabem, na ordem de chegada
+		 * @param kb (int) - heap liberado em KB
+		 */
+		private synchronized void liberar(final int kb) {
+			this._heap.release(kb);
+			this._executando--;
+			while(!this._aguardando.isEmpty() && this._executando < this._maxConcurrent) {
+				final Pendente proximo = this._aguardando.peek();
+				if(proximo.future.isDone()) {
+					this._aguardando.poll();
+				}else if(this._heap.tryAcquire(proximo.kb)) {
+					this._aguardando.poll();
+					despachar(proximo);
+				}else {
+					break;
+				}
+			}
+			if(this._fechado && this._aguardando.isEmpty()) {
+				this._executor.shutdown();
+			}
+		}
+		
+		/**
+		 * Download de um export gerado em bytes
+		 * @param bytes (byte[]) - .xlsx
+		 * @param fileName (String) - nome do arquivo. Caso não possua o .xlsx será inserido.
+		 * @throws IOException
+		 */
+		public static void download(final byte[] bytes, final String fileName) throws IOException {
+			final FacesContext facesContext = FacesContext.getCurrentInstance();
+			final HttpServletResponse response = (HttpServletResponse) facesContext.getExternalContext().getResponse();
+			response.setHeader("Content-disposition", "attachment;filename="+nomeArquivoXlsx(fileName));
+			response.setContentType(CONTENT_TYPE_XLSX);
+			response.setContentLength(bytes.length);
+			try (ServletOutputStream sos = response.getOutputStream()) {
+				sos.write(bytes, 0, bytes.length);
+				sos.flush();
+			} finally {
+				facesContext.responseComplete();
+			}
+		}
+		
+		/**
+		 * Download de um export gerado em arquivo
+		 * @param file (File) - .xlsx gerado pelo submitToFile
+		 * @param fileName (String) - nome do arquivo. Caso não possua o .xlsx será inserido.
+		 * @param delete (boolean) - remove o arquivo após o envio
+		 * @throws IOException
+		 */
+		public static void download(final File file, final String fileName, final boolean delete) throws IOException {
+			final FacesContext facesContext = FacesContext.getCurrentInstance();
+			final HttpServletResponse response = (HttpServletResponse) facesContext.getExternalContext().getResponse();
+			response.setHeader("Content-disposition", "attachment;filename="+nomeArquivoXlsx(fileName));
+			response.setContentType(CONTENT_TYPE_XLSX);
+			response.setHeader("Content-Length", String.valueOf(file.length()));
+			try (ServletOutputStream sos = response.getOutputStream()) {
+				Files.copy(file.toPath(), sos);
+				sos.flush();
+			} finally {
+				facesContext.responseComplete();
+				if(delete) {
+					Files.deleteIfExists(file.toPath());
+				}
+			}
+		}
+		
+		public boolean isVirtualThreads() {
+			return this._virtualThreads;
+		}
+		
+		/**
+		 * @return quantidade de exports em execução
+		 */
+		public int getActiveCount() {
+			return this._executor.getActiveCount();
+		}
+		
+		/**
+		 * @return quantidade de exports aguardando (vaga no pool ou heap)
+		 */
+		public synchronized int getQueuedCount() {
+			return this._aguardando.size();
+		}
+		
+		/**
+		 * @return heap estimado ainda disponível, em bytes
+		 */
+		public long getAvailableHeapBytes() {
+			return this._heap.availablePermits() * 1024L;
+		}
+		
+		/**
+		 * Aguarda o fim dos exports após o close
+		 * @param timeout (long) - tempo máximo
+		 * @param unit (TimeUnit) - unidade
+		 * @return boolean - True caso todos tenham terminado
+		 * @throws InterruptedException
+		 */
+		public boolean awaitTermination(final long timeout, final TimeUnit unit) throws InterruptedException {
+			return this._executor.awaitTermination(timeout, unit);
+		}
+		
+		/**
+		 * Não aceita novos exports. Os exports agendados continuam, inclusive os que aguardam heap
+		 */
+		@Override
+		public synchronized void close() {
+			this._fechado = true;
+			if(this._aguardando.isEmpty()) {
+				this._executor.shutdown();
+			}
+		}
+		
+		/**
+		 * Thread.ofVirtual().name("poiutil-export-", 0).factory() por reflexão, para compilar em JDK 8
+		 * @return ThreadFactory - nulo caso o JDK não possua virtual threads
+		 */
+		private static ThreadFactory fabricaVirtual() {
+			try {
+				final Class<?> classeBuilder = Class.forName("java.lang.Thread$Builder");
+				Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+				builder = classeBuilder.getMethod("name", String.class, long.class).invoke(builder, "poiutil-export-", 0L);
+				return (ThreadFactory) classeBuilder.getMethod("factory").invoke(builder);
+			} catch (final ReflectiveOperationException | RuntimeException e) {
+				return null;
+			}
+		}
+		
+		private static ThreadFactory fabricaPlataforma() {
+			final AtomicInteger contador = new AtomicInteger();
+			return runnable -> {
+				final Thread thread = new Thread(runnable, "poiutil-export-" + contador.getAndIncrement());
+				thread.setDaemon(true);
+				return thread;
+			};
+		}
 	}
-	
+
 	/**
-	 * Configura em string o valor da célula
+	 * Fecha o workbook. É fechado automaticamente nós metodos write()
 	 * 
-	 * @param sheet (XSSFSheet) - folha a ser alterada
-	 * @param value (String) - valor a ser configurado na célula
-	 * @param row (int) - linha
-	 * @param column (int) - coluna
-	 * @throws NullPointerException - caso linha ou célula não existam ou valor seja null
-	 * @throws Exception - caso célula informada seja inválida 
-	 * @return PoiUtil
+	 * @throws IOException
 	 */
-	public POIUtil2 setCellValue(final XSSFSheet sheet, final String value, final int row, final int column) throws Exception {
-		sheet.getRow(row).getCell(column).setCellValue(value);
-		return this;
+	public synchronized void close() throws IOException {
+		cancelarSpill();
+		this._formulasCriadas.clear();
+		if(null != this._streamingWorkbook) {
+			this._streamingWorkbook.dispose();
+			this._streamingWorkbook.close();
+		}else if(null != this._estado) {
+			if(null != this._estado.arquivo) {
+				apagarSpool(this._estado.arquivo);
+			}
+			this._estado = null;
+		}else {
+			xssf().close();
+		}
 	}
-	
+
+	// SHEET
+
 	/**
-	 * Configura em string o valor da célula e seu estilo
+	 * Cria uma nova folha (XSSFSheet).
 	 * 
-	 * @param sheet (XSSFSheet) - folha a ser alterada
-	 * @param cellStyleName (String) - nome do estilo
-	 * @param value (String) - valor a ser configurado na célula
-	 * @param celula (String) - célula a ser configurada. Ex: "A1"
-	 * @throws NullPointerException - caso linha,célula ou estilo não existam ou valor seja null
-	 * @throws Exception - caso célula informada seja inválida
-	 * @return PoiUtil
+	 * @param name (String) - nome da folha
 	 */
-	public POIUtil2 setCellValue(final XSSFSheet sheet, final String cellStyleName,final String value, final String celula) throws Exception {
-		validarCelulas(new String[] {celula});
-		final int[] linhaColuna = getRowCol(celula);
-		final XSSFCell xssfCell = sheet.getRow(linhaColuna[0]).getCell(linhaColuna[1]);
-		xssfCell.setCellValue(value);
-		xssfCell.setCellStyle(this.getCellStyle(cellStyleName));
-		setUltimaRegiaoAutalizada(sheet,celula);
+	public POIUtil2 createSheet(final String name) {
+		workbook().createSheet(name);
 		return this;
 	}
-
+	
 	/**
-	 * Configura em double o valor da célula
-	 * 
-	 * @param sheet (XSSFSheet) - folha a ser alterada
-	 * @param value (String) - valor a ser configurado na célula
-	 * @param celula (String) - célula a ser configurada. Ex: "A1"
-	 * @throws NullPointerException - caso linha ou célula não existam
-	 * @throws Exception - caso célula informada seja inválida
-	 * @return PoiUtil
+	 * Reordena folha
+	 * @param sheet (XSSFSheet) - folha a ser reordenada
+	 * @param pos (int) - posição (base 0) da folha
+	 * @return POIUtil2
 	 */
-	public POIUtil2 setCellValue(final XSSFSheet sheet, final double value, final String celula) throws Exception {
-		validarCelulas(new String[] {celula});
-		final int[] linhaColuna = getRowCol(celula);
-		sheet.getRow(linhaColuna[0]).getCell(linhaColuna[1]).setCellValue(value);
-		setUltimaRegiaoAutalizada(sheet,celula);
+	public POIUtil2 moveSheet(final XSSFSheet sheet, final int pos) {
+		workbook().setSheetOrder(sheet.getSheetName(), pos);
 		return this;
 	}
 	
 	/**
-	 * Configura em double o valor da célula e seu estilo
-	 * 
-	 * @param sheet (XSSFSheet) - folha a ser alterada
-	 * @param cellStyleName (String) - nome do estilo
-	 * @param value (String) - valor a ser configurado na célula
-	 * @param celula (String) - célula a ser configurada. Ex: "A1"
-	 * @throws NullPointerException - caso linha,célula,estilo não existam
-	 * @throws Exception - caso célula informada seja inválida
-	 * @return PoiUtil
+	 * Seta folha como a principal
+	 * @param index (int) - posição (base 0) da folha
+	 * @return POIUtil2
 	 */
-	public POIUtil2 setCellValue(final XSSFSheet sheet, final String cellStyleName,final double value, final String celula) throws Exception {
-		validarCelulas(new String[] {celula});
-		final int[] linhaColuna = getRowCol(celula);
-		final XSSFCell xssfCell = sheet.getRow(linhaColuna[0]).getCell(linhaColuna[1]);
-		xssfCell.setCellValue(value);
-		xssfCell.setCellStyle(this.getCellStyle(cellStyleName));
-		setUltimaRegiaoAutalizada(sheet,celula);
+	public POIUtil2 activeSheet(final int index) {
+		workbook().setActiveSheet(index);
 		return this;
 	}
 
 	/**
-	 * Retorna célula. Retorna nulo caso célula não exista
+	 * Retorna folha da posição informada.
 	 * 
-	 * @param sheet (XSSFSheet) - folha a ser alterada
-	 * @param celula (String) - célula a ser configurada. Ex: "A1"
-	 * @throws NullPointerException - caso linha não exista
-	 * @throws Exception - caso célula informada seja inválida
-	 * @return XSSFCell
+	 * @param index (int) - Posição da folha. Base 0
+	 * @return XSSFSheet
 	 */
-	public XSSFCell getCell(final XSSFSheet sheet, final String celula) throws Exception {
-		validarCelulas(new String[] {celula});
-		final int[] linhaColuna = getRowCol(celula);
-		return this.getRow(sheet,linhaColuna[0]).getCell(linhaColuna[1]);
+	public XSSFSheet getSheetAt(final int index) {
+		return xssf().getSheetAt(index);
 	}
 	
+	/**
+	 * Configura folha para padrão
+	 * @param index (int) - Índice (base 0) da folha
+	 * @return PoiUtil
+	 */
+	public POIUtil2 setActiveSheet(final int index) {
+		workbook().setActiveSheet(index);
+		return this;
+	}
 
 	/**
-	 * Retorna célula. Retorna nulo caso célula não exista
+	 * Retorna folha pelo nome informado
 	 * 
-	 * @param sheet (XSSFSheet) - folha a ser alterada
-	 * @param linha (int) - linha da célula
-	 * @param coluna (int) - coluna da célula
-	 * @throws NullPointerException - caso linha não exista
-	 * @return XSSFCell
+	 * @param name (String) - nome da folha
+	 * @return XSSFSheet
 	 */
-	public XSSFCell getCell(final XSSFSheet sheet, final int linha, final int coluna){
-		return sheet.getRow(linha).getCell(coluna);
+	public XSSFSheet getSheet(final String name) {
+		return xssf().getSheet(name);
 	}
 	
-	
 	/**
-	 * Recupera a localização de uma célula existente em String.
-	 * @param sheet (XSSFSheet) - folha
-	 * @param linha (int) - número da linha
-	 * @param coluna (int) - número da coluna
-	 * @return localização em String. Ex: "ABF31"
+	 * Remove folha no index informado. Base 0
+	 * @param index (int) index base 0
+	 * @return POIUtil
 	 */
-	public String getCellCreatedString(final XSSFSheet sheet, final int linha, final int coluna){
-		return sheet.getRow(linha).getCell(coluna).getAddress().formatAsString();
-	}
-	
-	public POIUtil2 editCellDataFormat(final XSSFCell cell, final String format) {
-		cell.getCellStyle().setDataFormat(getDataFormat(format));
+	public POIUtil2 removeSheetAt(final int index) {
+		workbook().removeSheetAt(index);
 		return this;
 	}
 
-	// ROW
-
 	/**
-	 * Cria linha
+	 * Cria uma nova área mesclada
 	 * 
-	 * @param sheet (XSSFSheet) - folha a ser alterada
-	 * @param row   (int) - número da linha a ser criada. Base 0
+	 * @param sheet    (XSSFSheet) - folha a ser alterada
+	 * @param regioes (String...) - regiões a serem mescladas (separadas por vírgula). Ex: "A1:F10","B5:G30"...
+	 * @throws Exception - regiões inválidas 
 	 * @return PoiUtil
 	 */
-	public POIUtil2 createRow(final XSSFSheet sheet, final int row) {
-		sheet.createRow(row);
-		setUltimaRegiaoAutalizada(sheet,row);
+	public POIUtil2 createMergedRegions(final XSSFSheet sheet, final String... regioes) throws Exception {
+		validarRegioes(regioes);
+		final Sheet folha = sheet(sheet);
+		for(int index = 0; index < regioes.length; index++) {
+			final String regiao = regioes[index];
+			final long inicio = inicioRegiao(regiao);
+			final long fim = fimRegiao(regiao);
+			folha.addMergedRegion(new CellRangeAddress(linhaCelula(inicio), linhaCelula(fim), colunaCelula(inicio), colunaCelula(fim)));
+		}
+		setUltimaRegiaoAutalizada(sheet,regioes);
 		return this;
 	}
 	
+
 	/**
-	 * Cria linhas
+	 * Cria uma nova área mesclada
 	 * 
-	 * @param sheet (XSSFSheet) - folha a ser alterada
-	 * @param rows  (int[]) - array de linhas a serem criadas. Base 0
+	 * @param sheet    (XSSFSheet) - folha a ser alterada
+	 * @param firstRow (int) - primeira linha para mesclar. Base 0
+	 * @param lastRow  (int) - última linha para mesclar. Base 0
+	 * @param firstCol (int) - primeira coluna para mesclar. Base 0
+	 * @param lastCol  (int) - última coluna para mesclar. Base 0
 	 * @return PoiUtil
 	 */
-	public POIUtil2 createRows(final XSSFSheet sheet, final int... rows) {
-		for(final int row : rows) {
-			sheet.createRow(row);
-		}
-		setUltimaRegiaoAutalizada(sheet,rows);
-		return this;
-	}
+	public POIUtil2 createMergedRegion(final XSSFSheet sheet, final int firstRow, final int lastRow, final int firstCol,
+			final int lastCol) {
 
-	/**
-	 * Retorna linha. Retorna nulo caso não exista.
-	 * 
-	 * @param sheet (XSSFSheet) - folha a ser alterada
-	 * @param row   (int) - número da linha a retornar. Base 0
-	 * @return XSSFRow
-	 */
-	public XSSFRow getRow(final XSSFSheet sheet, final int row) {
-		return sheet.getRow(row);
+		sheet(sheet).addMergedRegion(new CellRangeAddress(firstRow, lastRow, firstCol, lastCol));
+		return this;
 	}
 
-	// CELLSTYLE
-
 	/**
-	 * Cria um XSSFCellStyle e o armazena no HashMap
+	 * Cria várias áreas mescladas de vários pares de linhas Ex: firstLastRows =
+	 * [[2,3],[4,5]] columns = [[2,3,8,6],[10,11,20,60]] Nas linhas 2 e 3 serão
+	 * criadas as áreas mescladas (2 a 3) e (8 a 6) Nas linhas 4 e 5 as áreas
+	 * mescladas (10,11) e (20,60)
 	 * 
-	 * @param cellStyleName (String) - nome chave do estilo no HashMap
+	 * @param sheet         (XSSFSheet) - folha a ser alterada
+	 * @param firstLastRows (int[][]) - Matriz de linhas a serem alteradas. Cada
+	 *                      array deve ser um par de ints indicando a linha inicio e
+	 *                      fim: [[1,2],[3,4]]. Base 0
+	 * @param columns       (int[][]) - Matriz de colunas a serem mescladas. A
+	 *                      quantidade de colunas deve ser um número par. Base 0
+	 * @throws IndexOutOfBoundsException - caso firstLastRows e columns sejam de
+	 *                                   tamanhos diferentes
 	 * @return PoiUtil
 	 */
-	public POIUtil2 createCellStyle(final String cellStyleName) {
-		this._cellStyles.put(cellStyleName, this._workbook.createCellStyle());
+	public POIUtil2 createMergedRegions(final XSSFSheet sheet, final int[][] firstLastRows, final int[][] columns) {
+		final Sheet folha = sheet(sheet);
+		for (int index = 0; index < firstLastRows.length; index++) {
+			final int[] rows = firstLastRows[index];
+			final int[] cols = columns[index];
+			for (int j = 0; j < cols.length; j++) {
+				folha.addMergedRegion(new CellRangeAddress(rows[0], rows[1], cols[j], cols[++j]));
+			}
+
+		}
 		return this;
 	}
 	
 	/**
-	 * Cria e configura XSSFCellStyle no HashMap<String,XSSFCellStyle>
-	 * @param name (String) - key no hashmap
-	 * @param font (String) - key da fonte no HashMap<String,XSSFFont>
-	 * @param hAlign (HorizontalAlignment) - alinhameto horizontal texto
-	 * @param vAlign (VerticalAlignment) - posialinhametoção vertical texto
-	 * @param fill (FillPatternType) - padrão de preenchimento do background
-	 * @param indexedColor (IndexedColors) - índice da cor de preenchimento
+	 * Cria painel estático
+	 * @param sheet (XSSFSheet) - folha a ser alterada
+	 * @param row (int) - linha final (base 1) a ser congelada
+	 * @param column (int) - coluna inicial a ser congelada
+	 * @return
+	 */
+	public POIUtil2 createFreezPanel(final XSSFSheet sheet, final int row, final int column) {
+		sheet(sheet).createFreezePane(column, row);
+		return this;
+	}
+
+	// CELL
+	
+	/**
+	 * Onde as strings das células são gravadas
+	 */
+	public enum StringPolicy {
+		/** Shared strings table: cada string distinta é gravada uma vez. Ideal para colunas com poucos valores distintos (status, categorias) */
+		SHARED,
+		/** Inline: a string é gravada na própria célula, sem passar pela shared strings table. Ideal para colunas de alta cardinalidade (IDs, textos livres) */
+		INLINE
+	}
+	
+	/**
+	 * Retorna a política de strings padrão
+	 * @return StringPolicy
+	 */
+	public StringPolicy getStringPolicy() {
+		return this.stringPolicy;
+	}
+	
+	/**
+	 * Configura a política de strings padrão das células String. No modo streaming a política é definida no construtor
+	 * @param stringPolicy (StringPolicy) - política
+	 * @throws IllegalStateException - caso o workbook esteja em modo streaming com outra política
+	 * @return PoiUtil
+	 */
+	public POIUtil2 setStringPolicy(final StringPolicy stringPolicy) {
+		if(isStreaming() && stringPolicy != this.stringPolicy) {
+			throw new IllegalStateException("Política de strings do modo streaming é definida no construtor -> "+this.stringPolicy);
+		}
+		this.stringPolicy = stringPolicy;
+		return this;
+	}
+	
+	/**
+	 * Configura a política de strings de uma coluna. Tem prioridade sobre a política padrão
+	 * @param sheet (XSSFSheet) - folha
+	 * @param column (int) - coluna. Base 0
+	 * @param stringPolicy (StringPolicy) - política. Passe nulo para voltar a usar a política padrão
+	 * @throws IllegalStateException - caso o workbook esteja em modo streaming (política única, definida no construtor)
+	 * @return PoiUtil
+	 */
+	public POIUtil2 setStringPolicy(final XSSFSheet sheet, final int column, final StringPolicy stringPolicy) {
+		if(isStreaming()) {
+			throw new IllegalStateException("Política de strings do modo streaming é definida no construtor -> "+this.stringPolicy);
+		}
+		StringPolicy[] politicas = this._politicasColunas.get(sheet.getSheetName());
+		if(null == politicas || column >= politicas.length) {
+			politicas = null == politicas ? new StringPolicy[Math.max(16, column + 1)] : Arrays.copyOf(politicas, Math.max(column + 1, politicas.length * 2));
+			this._politicasColunas.put(sheet.getSheetName(), politicas);
+		}
+		politicas[column] = stringPolicy;
+		return this;
+	}
+
+	/**
+	 * Cria células a partir do array int[]
+	 * 
+	 * @param sheet (XSSFSheet) - folha a ser alterada
+	 * @param value (String) - valor em String
+	 * @param row   (int) - número da linha onde serão criadas as células. Base 0
+	 * @param cells (int[]) - números das células a serem criadas. Base 0
+	 * @throws NullPointerException - caso linha não exista
+	 * @return PoiUtil2
+	 */
+	public POIUtil2 createCell(final XSSFSheet sheet, final String value, final int row, final int cellNum) {
+		final Cell cell = linha(sheet(sheet), row).createCell(cellNum);
+		valor(cell, value);
+		setUltimaRegiaoAutalizadaLinhaColuna(sheet,row,cellNum);
+		return this;
+	}
+	
+	/**
+	 * Cria célula, seta valor String e configura estilo 
+	 * 
+	 * @param sheet (XSSFSheet) - folha a ser alterada
+	 * @param estilo (String) - nome do estilo existente
+	 * @param value (String) - valor em String
+	 * @param row   (int) - número da linha onde serão criadas as células. Base 0
+	 * @param cells (int[]) - números das células a serem criadas. Base 0
+	 * @throws NullPointerException - caso linha ou estilo não existam
+	 * @return PoiUtil2
+	 */
+	public POIUtil2 createCell(final XSSFSheet sheet, final String estilo, final String value, final int row, final int cellNum) {
+		return createCell(sheet, estilo, value, row, cellNum, null);
+	}
+	
+	/**
+	 * Cria célula, seta valor String com a política de strings informada e configura estilo 
+	 * 
+	 * @param sheet (XSSFSheet) - folha a ser alterada
+	 * @param estilo (String) - nome do estilo existente
+	 * @param value (String) - valor em String
+	 * @param row   (int) - número da linha onde serão criadas as células. Base 0
+	 * @param cellNum (int) - número da célula a ser criada. Base 0
+	 * @param stringPolicy (StringPolicy) - política da string. Passe nulo para usar a da coluna/padrão. Ignorada no modo streaming
+	 * @throws NullPointerException - caso linha ou estilo não existam
+	 * @return PoiUtil2
+	 */
+	public POIUtil2 createCell(final XSSFSheet sheet, final String estilo, final String value, final int row, final int cellNum, final StringPolicy stringPolicy) {
+		final Cell cell = linha(sheet(sheet), row).createCell(cellNum);
+		cell.setCellStyle(getCellStyle(estilo));
+		valor(cell, value, stringPolicy);
+		setUltimaRegiaoAutalizadaLinhaColuna(sheet,row,cellNum);
+		return this;
+	}
+	
+	/**
+	 * Cria célula, seta valor Date e configura estilo 
+	 * 
+	 * @param sheet (XSSFSheet) - folha a ser alterada
+	 * @param estilo (String) - nome do estilo existente
+	 * @param value (Date) - valor em Date
+	 * @param row   (int) - número da linha onde serão criadas as células. Base 0
+	 * @param cells (int[]) - números das células a serem criadas. Base 0
+	 * @throws NullPointerException - caso linha ou estilo não existam
+	 * @return PoiUtil2
+	 */
+	public POIUtil2 createCell(final XSSFSheet sheet, final String estilo, final Date value, final int row, final int cellNum) {
+		final Cell cell = linha(sheet(sheet), row).createCell(cellNum);
+		cell.setCellStyle(getCellStyle(estilo));
+		if(null == value) {
+			valor(cell, "");
+		}else {
+			valor(cell, value);
+		}
+		setUltimaRegiaoAutalizadaLinhaColuna(sheet,row,cellNum);
+		return this;
+	}
+	
+	/**
+	 * Cria célula com valor LocalDate no formato dd/MM/yyyy. O estilo com o formato é criado uma única vez e reutilizado
+	 * 
+	 * @param sheet (XSSFSheet) - folha a ser alterada
+	 * @param estilo (String) - nome do estilo base. Passe nulo para usar o estilo padrão
+	 * @param value (LocalDate) - valor. Nulo cria célula vazia
+	 * @param row   (int) - número da linha. Base 0
+	 * @param cellNum (int) - número da célula. Base 0
+	 * @throws NullPointerException - caso linha não exista
+	 * @return PoiUtil2
+	 */
+	public POIUtil2 createCell(final XSSFSheet sheet, final String estilo, final LocalDate value, final int row, final int cellNum) {
+		final Cell cell = linha(sheet(sheet), row).createCell(cellNum);
+		cell.setCellStyle(estiloComFormato(estilo, FORMATO_DATA));
+		if(null != value) {
+			valor(cell, serialExcel(value.toEpochDay()));
+		}
+		setUltimaRegiaoAutalizadaLinhaColuna(sheet,row,cellNum);
+		return this;
+	}
+	
+	/**
+	 * Cria célula com valor LocalDateTime no formato dd/MM/yyyy HH:mm:ss. O estilo com o formato é criado uma única vez e reutilizado
+	 * 
+	 * @param sheet (XSSFSheet) - folha a ser alterada
+	 * @param estilo (String) - nome do estilo base. Passe nulo para usar o estilo padrão
+	 * @param value (LocalDateTime) - valor. Nulo cria célula vazia
+	 * @param row   (int) - número da linha. Base 0
+	 * @param cellNum (int) - número da célula. Base 0
+	 * @throws NullPointerException - caso linha não exista
+	 * @return PoiUtil2
+	 */
+	public POIUtil2 createCell(final XSSFSheet sheet, final String estilo, final LocalDateTime value, final int row, final int cellNum) {
+		final Cell cell = linha(sheet(sheet), row).createCell(cellNum);
+		cell.setCellStyle(estiloComFormato(estilo, FORMATO_DATA_HORA));
+		if(null != value) {
+			valor(cell, serialExcel(value));
+		}
+		setUltimaRegiaoAutalizadaLinhaColuna(sheet,row,cellNum);
+		return this;
+	}
+	
+	/**
+	 * Cria célula com data/hora em epoch millis (fuso padrão da JVM) no formato informado
+	 * 
+	 * @param sheet (XSSFSheet) - folha a ser alterada
+	 * @param estilo (String) - nome do estilo base. Passe nulo para usar o estilo padrão
+	 * @param epochMillis (long) - data/hora. Ex: System.currentTimeMillis(), Date.getTime()
+	 * @param format (String) - formato. Ex: "dd/MM/yyyy", "dd/MM/yyyy HH:mm"
+	 * @param row   (int) - número da linha. Base 0
+	 * @param cellNum (int) - número da célula. Base 0
+	 * @throws NullPointerException - caso linha não exista
+	 * @return PoiUtil2
+	 */
+	public POIUtil2 createDateCell(final XSSFSheet sheet, final String estilo, final long epochMillis, final String format, final int row, final int cellNum) {
+		final Cell cell = linha(sheet(sheet), row).createCell(cellNum);
+		cell.setCellStyle(estiloComFormato(estilo, format));
+		valor(cell, serialExcel(epochMillis, TimeZone.getDefault()));
+		setUltimaRegiaoAutalizadaLinhaColuna(sheet,row,cellNum);
+		return this;
+	}
+	
+	/**
+	 * Cria célula e seta valor int
+	 * 
+	 * @param sheet (XSSFSheet) - folha a ser alterada
+	 * @param value (int) - valor em int
+	 * @param row   (int) - número da linha onde serão criadas as células. Base 0
+	 * @param cells (int[]) - números das células a serem criadas. Base 0
+	 * @throws NullPointerException - caso linha não exista
+	 * @return PoiUtil2
+	 */
+	public POIUtil2 createCell(final XSSFSheet sheet, final int value, final int row, final int cellNum) {
+		final Cell cell = linha(sheet(sheet), row).createCell(cellNum);
+		valor(cell, value);
+		setUltimaRegiaoAutalizadaLinhaColuna(sheet,row,cellNum);
+		return this;
+	}
+	
+	/**
+	 * Cria célula, seta valor int e configura estilo
+	 * 
+	 * @param sheet (XSSFSheet) - folha a ser alterada
+	 * @param styleName (String) - nome do estilo criado
+	 * @param value (int) - valor em int
+	 * @param row   (int) - número da linha onde serão criadas as células. Base 0
+	 * @param cells (int[]) - números das células a serem criadas. Base 0
+	 * @throws NullPointerException - caso linha não exista
+	 * @return PoiUtil2
+	 */
+	public POIUtil2 createCell(final XSSFSheet sheet, final String styleName, final int value, final int row, final int cellNum) {
+		final Cell cell = linha(sheet(sheet), row).createCell(cellNum);
+		cell.setCellStyle(getCellStyle(styleName));
+		valor(cell, value);
+		setUltimaRegiaoAutalizadaLinhaColuna(sheet,row,cellNum);
+		return this;
+	}
+	
+	/**
+	 * Cria célula
+	 * 
+	 * @param sheet (XSSFSheet) - folha a ser alterada
+	 * @param celulasRegioes (String...) - celulas ou regiões a serem criadas. Ex: A1 ou A1:D1 (criará células de A1 até D1 inclusa) Separar por vírgula ("A1","A2:B3"...).
+	 * @throws NullPointerException - caso linha não exista
+	 * @throws Exception - células/regiões inválidas
+	 * @return PoiUtil
+	 */
+	public POIUtil2 createCells(final XSSFSheet sheet, final String... celulasRegioes) throws Exception {
+		percorrerRegioes(sheet, false, celulasRegioes, (row, coluna) -> row.createCell(coluna));
+		return this;
+	}
+	
+	
+	/**
+	 * Cria células
+	 * 
+	 * @param sheet (XSSFSheet) - folha a ser alterada
+	 * @param row (int) - número da linha
+	 * @param cols (int[]) - números das células a serem criadas
+	 * @throws NullPointerException - caso linha não exista
+	 * @return PoiUtil
+	 */
+	public POIUtil2 createCells(final XSSFSheet sheet, final int row, final int[] cols) throws Exception {
+		final Row xssfRow = linha(sheet(sheet), row);
+		int index = 0;
+		while(index < cols.length) {
+			xssfRow.createCell(cols[index++]);
+		}
+		return this;
+	}
+	
+	/**
+	 * Cria célula configurada com estilo informado
+	 * 
+	 * @param sheet (XSSFSheet) - folha a ser alterada
+	 * @param cellStyleName (String) - nome do estilo adicionado no map de estilos -> createCellStyle().
+	 * @param celulasRegioes (String...) - celulas ou regiões a serem criadas. Ex: A1 ou A1:D1 (criará células de A1 até D1 inclusa) Separar por vírgula ("A1","A2:B3"...).
+	 * @throws NullPointerException - caso linha ou estilo não existam
+	 * @throws Exception - células/regiões inválidas
+	 * @return PoiUtil
+	 */
+	public POIUtil2 createCellsComStyle(final XSSFSheet sheet, final String cellStyleName, final String... celulasRegioes) throws Exception {
+		final XSSFCellStyle estilo = estilos().get(cellStyleName);
+		percorrerRegioes(sheet, false, celulasRegioes, (row, coluna) -> row.createCell(coluna).setCellStyle(estilo));
+		return this;
+	}
+	
+	/**
+	 * Cria célula configurada com estilo e valor String informados
+	 * 
+	 * @param sheet (XSSFSheet) - folha a ser alterada
+	 * @param cellStyleName (String) - nome do estilo adicionado no map de estilos -> createCellStyle().
+	 * @param cellValue (String) - valor em String para a célula
+	 * @param celulasRegioes (String...) - celulas ou regiões a serem criadas. Ex: A1 ou A1:D1 (criará células de A1 até D1 inclusa) Separar por vírgula ("A1","A2:B3"...).
+	 * @throws NullPointerException - caso linha ou estilo não existam ou valor não tenha sido informado
+	 * @throws Exception - células/regiões inválidas
+	 * @return PoiUtil
+	 */
+	public POIUtil2 createCellsComStyleValue(final XSSFSheet sheet, final String cellStyleName, final String cellValue, final String... celulasRegioes) throws Exception {
+		return createCellsComStyleValue(sheet, cellStyleName, cellValue, (StringPolicy) null, celulasRegioes);
+	}
+	
+	/**
+	 * Cria célula configurada com estilo e valor String informados, usando a política de strings informada
+	 * 
+	 * @param sheet (XSSFSheet) - folha a ser alterada
+	 * @param cellStyleName (String) - nome do estilo adicionado no map de estilos -> createCellStyle().
+	 * @param cellValue (String) - valor em String para a célula
+	 * @param stringPolicy (StringPolicy) - política da string. Passe nulo para usar a da coluna/padrão. Ignorada no modo streaming
+	 * @param celulasRegioes (String...) - celulas ou regiões a serem criadas. Ex: A1 ou A1:D1 (criará células de A1 até D1 inclusa) Separar por vírgula ("A1","A2:B3"...).
+	 * @throws NullPointerException - caso linha ou estilo não existam ou valor não tenha sido informado
+	 * @throws Exception - células/regiões inválidas
+	 * @return PoiUtil
+	 */
+	public POIUtil2 createCellsComStyleValue(final XSSFSheet sheet, final String cellStyleName, final String cellValue, final StringPolicy stringPolicy, final String... celulasRegioes) throws Exception {
+		final XSSFCellStyle estilo = estilos().get(cellStyleName);
+		percorrerRegioes(sheet, false, celulasRegioes, (row, coluna) -> {
+			final Cell cell = row.createCell(coluna);
+			cell.setCellStyle(estilo);
+			valor(cell, cellValue, stringPolicy);
+		});
+		return this;
+	}
+	
+	/**
+	 * Cria célula configurada com estilo e valor long informados
+	 * 
+	 * @param sheet (XSSFSheet) - folha a ser alterada
+	 * @param cellStyleName (String) - nome do estilo adicionado no map de estilos -> createCellStyle().
+	 * @param cellValue (long) - valor em long para a célula
+	 * @param celulasRegioes (String...) - celulas ou regiões a serem criadas. Ex: A1 ou A1:D1 (criará células de A1 até D1 inclusa) Separar por vírgula ("A1","A2:B3"...).
+	 * @throws NullPointerException - caso linha ou estilo não existam
+	 * @throws Exception - células/regiões inválidas
+	 * @return PoiUtil
+	 */
+	public POIUtil2 createCellsComStyleValue(final XSSFSheet sheet, final String cellStyleName, final long cellValue, final String... celulasRegioes) throws Exception {
+		final XSSFCellStyle estilo = estilos().get(cellStyleName);
+		percorrerRegioes(sheet, false, celulasRegioes, (row, coluna) -> {
+			final Cell cell = row.createCell(coluna);
+			cell.setCellStyle(estilo);
+			valor(cell, cellValue);
+		});
+		return this;
+	}
+	
+	/**
+	 * Cria célula configurada com estilo e valor long informados
+	 * 
+	 * @param sheet (XSSFSheet) - folha a ser alterada
+	 * @param cellStyleName (String) - nome do estilo adicionado no map de estilos -> createCellStyle().
+	 * @param cellValue (int) - valor em int para a célula
+	 * @param celulasRegioes (String...) - celulas ou regiões a serem criadas. Ex: A1 ou A1:D1 (criará células de A1 até D1 inclusa) Separar por vírgula ("A1","A2:B3"...).
+	 * @throws NullPointerException - caso linha ou estilo não existam
+	 * @throws Exception - células/regiões inválidas
+	 * @return PoiUtil
+	 */
+	public POIUtil2 createCellsComStyleValue(final XSSFSheet sheet, final String cellStyleName, final int cellValue, final String... celulasRegioes) throws Exception {
+		final XSSFCellStyle estilo = estilos().get(cellStyleName);
+		percorrerRegioes(sheet, false, celulasRegioes, (row, coluna) -> {
+			final Cell cell = row.createCell(coluna);
+			cell.setCellStyle(estilo);
+			valor(cell, cellValue);
+		});
+		return this;
+	}
+	
+	/**
+	 * Cria célula configurada com estilo e valor long informados
+	 * 
+	 * @param sheet (XSSFSheet) - folha a ser alterada
+	 * @param cellStyleName (String) - nome do estilo adicionado no map de estilos -> createCellStyle().
+	 * @param cellValue (double) - valor em double para a célula
+	 * @param celulasRegioes (String...) - celulas ou regiões a serem criadas. Ex: A1 ou A1:D1 (criará células de A1 até D1 inclusa) Separar por vírgula ("A1","A2:B3"...).
+	 * @throws NullPointerException - caso linha ou estilo não existam
+	 * @throws Exception - células/regiões inválidas
+	 * @return PoiUtil
+	 */
+	public POIUtil2 createCellsComStyleValue(final XSSFSheet sheet, final String cellStyleName, final double cellValue, final String... celulasRegioes) throws Exception {
+		final XSSFCellStyle estilo = estilos().get(cellStyleName);
+		percorrerRegioes(sheet, false, celulasRegioes, (row, coluna) -> {
+			final Cell cell = row.createCell(coluna);
+			cell.setCellStyle(estilo);
+			valor(cell, cellValue);
+		});
+		return this;
+	}
+	
+
+	/**
+	 * Configura em string o valor da célula
+	 * 
+	 * @param sheet (XSSFSheet) - folha a ser alterada
+	 * @param value (String) - valor a ser configurado na célula
+	 * @param celula (String) - célula a ser configurada. Ex: "A1"
+	 * @throws NullPointerException - caso linha ou célula não existam ou valor seja null
+	 * @throws Exception - caso célula informada seja inválida 
+	 * @return PoiUtil
+	 */
+	public POIUtil2 setCellValue(final XSSFSheet sheet, final String value, final String celula) throws Exception {
+		validarCelulas(new String[] {celula});
+		final long linhaColuna = celula(celula);
+		valor(linha(sheet(sheet), linhaCelula(linhaColuna)).getCell(colunaCelula(linhaColuna)), value);
+		setUltimaRegiaoAutalizada(sheet,celula);
+		return this;
+	}
+	
+	/**
+	 * Configura em string o valor da célula
+	 * 
+	 * @param sheet (XSSFSheet) - folha a ser alterada
+	 * @param value (String) - valor a ser configurado na célula
+	 * @param row (int) - linha
+	 * @param column (int) - coluna
+	 * @throws NullPointerException - caso linha ou célula não existam ou valor seja null
+	 * @throws Exception - caso célula informada seja inválida 
+	 * @return PoiUtil
+	 */
+	public POIUtil2 setCellValue(final XSSFSheet sheet, final String value, final int row, final int column) throws Exception {
+		valor(linha(sheet(sheet), row).getCell(column), value);
+		return this;
+	}
+	
+	/**
+	 * Configura em string o valor da célula usando a política de strings informada
+	 * 
+	 * @param sheet (XSSFSheet) - folha a ser alterada
+	 * @param value (String) - valor a ser configurado na célula
+	 * @param row (int) - linha
+	 * @param column (int) - coluna
+	 * @param stringPolicy (StringPolicy) - política da string. Passe nulo para usar a da coluna/padrão. Ignorada no modo streaming
+	 * @throws NullPointerException - caso linha ou célula não existam ou valor seja null
+	 * @return PoiUtil
+	 */
+	public POIUtil2 setCellValue(final XSSFSheet sheet, final String value, final int row, final int column, final StringPolicy stringPolicy) {
+		valor(linha(sheet(sheet), row).getCell(column), value, stringPolicy);
+		return this;
+	}
+	
+	/**
+	 * Configura em string o valor da célula e seu estilo
+	 * 
+	 * @param sheet (XSSFSheet) - folha a ser alterada
+	 * @param cellStyleName (String) - nome do estilo
+	 * @param value (String) - valor a ser configurado na célula
+	 * @param celula (String) - célula a ser configurada. Ex: "A1"
+	 * @throws NullPointerException - caso linha,célula ou estilo não existam ou valor seja null
+	 * @throws Exception - caso célula informada seja inválida
+	 * @return PoiUtil
+	 */
+	public POIUtil2 setCellValue(final XSSFSheet sheet, final String cellStyleName,final String value, final String celula) throws Exception {
+		validarCelulas(new String[] {celula});
+		final long linhaColuna = celula(celula);
+		final Cell xssfCell = linha(sheet(sheet), linhaCelula(linhaColuna)).getCell(colunaCelula(linhaColuna));
+		xssfCell.setCellStyle(this.getCellStyle(cellStyleName));
+		valor(xssfCell, value);
+		setUltimaRegiaoAutalizada(sheet,celula);
+		return this;
+	}
+
+	/**
+	 * Configura em double o valor da célula
+	 * 
+	 * @param sheet (XSSFSheet) - folha a ser alterada
+	 * @param value (String) - valor a ser configurado na célula
+	 * @param celula (String) - célula a ser configurada. Ex: "A1"
+	 * @throws NullPointerException - caso linha ou célula não existam
+	 * @throws Exception - caso célula informada seja inválida
+	 * @return PoiUtil
+	 */
+	public POIUtil2 setCellValue(final XSSFSheet sheet, final double value, final String celula) throws Exception {
+		validarCelulas(new String[] {celula});
+		final long linhaColuna = celula(celula);
+		valor(linha(sheet(sheet), linhaCelula(linhaColuna)).getCell(colunaCelula(linhaColuna)), value);
+		setUltimaRegiaoAutalizada(sheet,celula);
+		return this;
+	}
+	
+	/**
+	 * Configura em double o valor da célula e seu estilo
+	 * 
+	 * @param sheet (XSSFSheet) - folha a ser alterada
+	 * @param cellStyleName (String) - nome do estilo
+	 * @param value (String) - valor a ser configurado na célula
+	 * @param celula (String) - célula a ser configurada. Ex: "A1"
+	 * @throws NullPointerException - caso linha,célula,estilo não existam
+	 * @throws Exception - caso célula informada seja inválida
+	 * @return PoiUtil
+	 */
+	public POIUtil2 setCellValue(final XSSFSheet sheet, final String cellStyleName,final double value, final String celula) throws Exception {
+		validarCelulas(new String[] {celula});
+		final long linhaColuna = celula(celula);
+		final Cell xssfCell = linha(sheet(sheet), linhaCelula(linhaColuna)).getCell(colunaCelula(linhaColuna));
+		xssfCell.setCellStyle(this.getCellStyle(cellStyleName));
+		valor(xssfCell, value);
+		setUltimaRegiaoAutalizada(sheet,celula);
+		return this;
+	}
+
+	/**
+	 * Retorna célula. Retorna nulo caso célula não exista
+	 * 
+	 * @param sheet (XSSFSheet) - folha a ser alterada
+	 * @param celula (String) - célula a ser configurada. Ex: "A1"
+	 * @throws NullPointerException - caso linha não exista
+	 * @throws Exception - caso célula informada seja inválida
+	 * @return XSSFCell
+	 */
+	public XSSFCell getCell(final XSSFSheet sheet, final String celula) throws Exception {
+		validarCelulas(new String[] {celula});
+		final long linhaColuna = celula(celula);
+		return this.getRow(sheet,linhaCelula(linhaColuna)).getCell(colunaCelula(linhaColuna));
+	}
+	
+
+	/**
+	 * Retorna célula. Retorna nulo caso célula não exista
+	 * 
+	 * @param sheet (XSSFSheet) - folha a ser alterada
+	 * @param linha (int) - linha da célula
+	 * @param coluna (int) - coluna da célula
+	 * @throws NullPointerException - caso linha não exista
+	 * @return XSSFCell
+	 */
+	public XSSFCell getCell(final XSSFSheet sheet, final int linha, final int coluna){
+		return folhaAtual(sheet).getRow(linha).getCell(coluna);
+	}
+	
+	
+	/**
+	 * Recupera a localização de uma célula existente em String.
+	 * @param sheet (XSSFSheet) - folha
+	 * @param linha (int) - número da linha
+	 * @param coluna (int) - número da coluna
+	 * @return localização em String. Ex: "ABF31"
+	 */
+	public String getCellCreatedString(final XSSFSheet sheet, final int linha, final int coluna){
+		return folhaAtual(sheet).getRow(linha).getCell(coluna).getAddress().formatAsString();
+	}
+	
+	/**
+	 * Altera o formato do estilo da célula. Células com o mesmo resultado compartilham o mesmo estilo.
+	 * @param cell (XSSFCell) - célula a ser alterada
+	 * @param format (String) - formato desejado. Ex: "dd/MM/yyyy"
+	 * @return PoiUtil
+	 */
+	public POIUtil2 editCellDataFormat(final XSSFCell cell, final String format) {
+		cell.setCellStyle(estiloInternado(cell.getCellStyle(), null, null, null, null, null, null, null, null, null, getDataFormat(format)));
+		return this;
+	}
+	
+	/**
+	 * Preenche uma coluna com os valores, a partir de firstRow. Linhas inexistentes são criadas
+	 * 
+	 * @param sheet (XSSFSheet) - folha a ser alterada
+	 * @param styleName (String) - nome do estilo. Passe nulo para não setar
+	 * @param firstRow (int) - linha do primeiro valor. Base 0
+	 * @param column (int) - coluna. Base 0
+	 * @param values (double[]) - valores
+	 * @throws IllegalStateException - caso alguma linha já tenha sido descarregada no modo streaming
+	 * @return PoiUtil
+	 */
+	public POIUtil2 setColumnValues(final XSSFSheet sheet, final String styleName, final int firstRow, final int column, final double[] values) {
+		final Sheet folha = sheet(sheet);
+		final XSSFCellStyle estilo = getCellStyle(styleName);
+		for(int index = 0; index < values.length; index++) {
+			valor(celulaNumerica(folha, firstRow + index, column, estilo), values[index]);
+		}
+		return regiaoPreenchida(sheet, firstRow, column, values.length, 1);
+	}
+	
+	/**
+	 * Preenche uma coluna com os valores, a partir de firstRow. Linhas inexistentes são criadas
+	 * 
+	 * @param sheet (XSSFSheet) - folha a ser alterada
+	 * @param styleName (String) - nome do estilo. Passe nulo para não setar
+	 * @param firstRow (int) - linha do primeiro valor. Base 0
+	 * @param column (int) - coluna. Base 0
+	 * @param values (long[]) - valores. Valores acima de 2^53 perdem precisão (limite do excel)
+	 * @throws IllegalStateException - caso alguma linha já tenha sido descarregada no modo streaming
+	 * @return PoiUtil
+	 */
+	public POIUtil2 setColumnValues(final XSSFSheet sheet, final String styleName, final int firstRow, final int column, final long[] values) {
+		final Sheet folha = sheet(sheet);
+		final XSSFCellStyle estilo = getCellStyle(styleName);
+		for(int index = 0; index < values.length; index++) {
+			valor(celulaNumerica(folha, firstRow + index, column, estilo), (double) values[index]);
+		}
+		return regiaoPreenchida(sheet, firstRow, column, values.length, 1);
+	}
+	
+	/**
+	 * Preenche uma coluna com os valores, a partir de firstRow. Linhas inexistentes são criadas
+	 * 
+	 * @param sheet (XSSFSheet) - folha a ser alterada
+	 * @param styleName (String) - nome do estilo. Passe nulo para não setar
+	 * @param firstRow (int) - linha do primeiro valor. Base 0
+	 * @param column (int) - coluna. Base 0
+	 * @param values (int[]) - valores
+	 * @throws IllegalStateException - caso alguma linha já tenha sido descarregada no modo streaming
+	 * @return PoiUtil
+	 */
+	public POIUtil2 setColumnValues(final XSSFSheet sheet, final String styleName, final int firstRow, final int column, final int[] values) {
+		final Sheet folha = sheet(sheet);
+		final XSSFCellStyle estilo = getCellStyle(styleName);
+		for(int index = 0; index < values.length; index++) {
+			valor(celulaNumerica(folha, firstRow + index, column, estilo), values[index]);
+		}
+		return regiaoPreenchida(sheet, firstRow, column, values.length, 1);
+	}
+	
+	/**
+	 * Preenche um bloco com os valores (values[linha][coluna]), a partir de firstRow/firstCol. Cada linha é resolvida uma única vez
+	 * e linhas inexistentes são criadas. Ideal para o modo streaming (linhas em ordem crescente).
+	 * 
+	 * @param sheet (XSSFSheet) - folha a ser alterada
+	 * @param styleName (String) - nome do estilo. Passe nulo para não setar
+	 * @param firstRow (int) - linha do primeiro valor. Base 0
+	 * @param firstCol (int) - coluna do primeiro valor. Base 0
+	 * @param values (double[][]) - valores por linha. As linhas podem ter tamanhos diferentes
+	 * @throws IllegalStateException - caso alguma linha já tenha sido descarregada no modo streaming
+	 * @return PoiUtil
+	 */
+	public POIUtil2 setBlockValues(final XSSFSheet sheet, final String styleName, final int firstRow, final int firstCol, final double[][] values) {
+		final Sheet folha = sheet(sheet);
+		final XSSFCellStyle estilo = getCellStyle(styleName);
+		int colunas = 0;
+		for(int index = 0; index < values.length; index++) {
+			final double[] valores = values[index];
+			if(null == valores) {
+				continue;
+			}
+			final Row row = linhaOuNova(folha, firstRow + index);
+			for(int coluna = 0; coluna < valores.length; coluna++) {
+				final Cell cell = row.createCell(firstCol + coluna);
+				if(null != estilo) {
+					cell.setCellStyle(estilo);
+				}
+				valor(cell, valores[coluna]);
+			}
+			colunas = Math.max(colunas, valores.length);
+		}
+		return regiaoPreenchida(sheet, firstRow, firstCol, values.length, colunas);
+	}
+	
+	/**
+	 * Preenche uma coluna com datas no formato dd/MM/yyyy, a partir de firstRow. Linhas inexistentes são criadas e valores nulos ficam vazios
+	 * 
+	 * @param sheet (XSSFSheet) - folha a ser alterada
+	 * @param styleName (String) - nome do estilo base. Passe nulo para usar o estilo padrão
+	 * @param firstRow (int) - linha do primeiro valor. Base 0
+	 * @param column (int) - coluna. Base 0
+	 * @param values (LocalDate[]) - valores
+	 * @throws IllegalStateException - caso alguma linha já tenha sido descarregada no modo streaming
+	 * @return PoiUtil
+	 */
+	public POIUtil2 setColumnDates(final XSSFSheet sheet, final String styleName, final int firstRow, final int column, final LocalDate[] values) {
+		final Sheet folha = sheet(sheet);
+		final XSSFCellStyle estilo = estiloComFormato(styleName, FORMATO_DATA);
+		for(int index = 0; index < values.length; index++) {
+			final Cell cell = celulaNumerica(folha, firstRow + index, column, estilo);
+			if(null != values[index]) {
+				valor(cell, serialExcel(values[index].toEpochDay()));
+			}
+		}
+		return regiaoPreenchida(sheet, firstRow, column, values.length, 1);
+	}
+	
+	/**
+	 * Preenche uma coluna com datas/horas no formato dd/MM/yyyy HH:mm:ss, a partir de firstRow. Linhas inexistentes são criadas e valores nulos ficam vazios
+	 * 
+	 * @param sheet (XSSFSheet) - folha a ser alterada
+	 * @param styleName (String) - nome do estilo base. Passe nulo para usar o estilo padrão
+	 * @param firstRow (int) - linha do primeiro valor. Base 0
+	 * @param column (int) - coluna. Base 0
+	 * @param values (LocalDateTime[]) - valores
+	 * @throws IllegalStateException - caso alguma linha já tenha sido descarregada no modo streaming
+	 * @return PoiUtil
+	 */
+	public POIUtil2 setColumnDates(final XSSFSheet sheet, final String styleName, final int firstRow, final int column, final LocalDateTime[] values) {
+		final Sheet folha = sheet(sheet);
+		final XSSFCellStyle estilo = estiloComFormato(styleName, FORMATO_DATA_HORA);
+		for(int index = 0; index < values.length; index++) {
+			final Cell cell = celulaNumerica(folha, firstRow + index, column, estilo);
+			if(null != values[index]) {
+				valor(cell, serialExcel(values[index]));
+			}
+		}
+		return regiaoPreenchida(sheet, firstRow, column, values.length, 1);
+	}
+	
+	/**
+	 * Preenche uma coluna com datas/horas em epoch millis (fuso padrão da JVM) no formato informado, a partir de firstRow. Linhas inexistentes são criadas
+	 * 
+	 * @param sheet (XSSFSheet) - folha a ser alterada
+	 * @param styleName (String) - nome do estilo base. Passe nulo para usar o estilo padrão
+	 * @param format (String) - formato. Ex: "dd/MM/yyyy", "dd/MM/yyyy HH:mm"
+	 * @param firstRow (int) - linha do primeiro valor. Base 0
+	 * @param column (int) - coluna. Base 0
+	 * @param epochMillis (long[]) - valores
+	 * @throws IllegalStateException - caso alguma linha já tenha sido descarregada no modo streaming
+	 * @return PoiUtil
+	 */
+	public POIUtil2 setColumnDates(final XSSFSheet sheet, final String styleName, final String format, final int firstRow, final int column, final long[] epochMillis) {
+		final Sheet folha = sheet(sheet);
+		final XSSFCellStyle estilo = estiloComFormato(styleName, format);
+		final TimeZone fuso = TimeZone.getDefault();
+		for(int index = 0; index < epochMillis.length; index++) {
+			valor(celulaNumerica(folha, firstRow + index, column, estilo), serialExcel(epochMillis[index], fuso));
+		}
+		return regiaoPreenchida(sheet, firstRow, column, epochMillis.length, 1);
+	}
+	
+	/**
+	 * Converte o dia (epochDay) para o número serial de data do excel, considerando o sistema 1900 (com o falso 29/02/1900) ou 1904
+	 * @param epochDay (long) - dias desde 1970-01-01
+	 * @return double - serial. -1 para datas anteriores ao início do sistema de datas (mesmo comportamento do POI)
+	 */
+	private double serialExcel(final long epochDay) {
+		if(xssf().isDate1904()) {
+			final long serial = epochDay + SERIAL_EPOCH - DIAS_1904;
+			return serial < 0 ? -1 : serial;
+		}
+		if(epochDay < DIA_1900_01_01) {
+			return -1;
+		}
+		return epochDay < DIA_1900_03_01 ? epochDay + SERIAL_EPOCH - 1 : epochDay + SERIAL_EPOCH;
+	}
+	
+	/**
+	 * Converte LocalDateTime para o número serial de data do excel
+	 * @param value (LocalDateTime) - data/hora
+	 * @return double
+	 */
+	private double serialExcel(final LocalDateTime value) {
+		final double dia = serialExcel(value.toLocalDate().toEpochDay());
+		return dia < 0 ? dia : dia + value.toLocalTime().toNanoOfDay() / NANOS_DIA;
+	}
+	
+	/**
+	 * Converte epoch millis para o número serial de data do excel no fuso informado
+	 * @param epochMillis (long) - data/hora
+	 * @param fuso (TimeZone) - fuso
+	 * @return double
+	 */
+	private double serialExcel(final long epochMillis, final TimeZone fuso) {
+		final long local = epochMillis + fuso.getOffset(epochMillis);
+		final double dia = serialExcel(Math.floorDiv(local, MILLIS_DIA));
+		return dia < 0 ? dia : dia + Math.floorMod(local, MILLIS_DIA) / (double) MILLIS_DIA;
+	}
+	
+	/**
+	 * Cria a célula (e a linha, se necessário) e seta o estilo
+	 * @return Cell
+	 */
+	private Cell celulaNumerica(final Sheet folha, final int row, final int column, final CellStyle estilo) {
+		final Cell cell = linhaOuNova(folha, row).createCell(column);
+		if(null != estilo) {
+			cell.setCellStyle(estilo);
+		}
+		return cell;
+	}
+	
+	/**
+	 * Registra a região preenchida pelos setters em bloco
+	 * @return PoiUtil
+	 */
+	private POIUtil2 regiaoPreenchida(final XSSFSheet sheet, final int firstRow, final int firstCol, final int linhas, final int colunas) {
+		if(this.auditoriaRegiaoAtualizada && linhas > 0 && colunas > 0) {
+			setUltimaRegiaoAutalizada(sheet, concat(getCellString(firstRow, firstCol), getCellString(firstRow + linhas - 1, firstCol + colunas - 1)));
+		}
+		return this;
+	}
+
+	// TABLE
+	
+	/**
+	 * Definição de coluna para o writeTable: cabeçalho, extrator do valor, estilo e formato.
+	 * @param <T> tipo do objeto de cada linha
+	 */
+	public static final class TableColumn<T> {
+		
+		private final String _header;
+		private final String _styleName;
+		private final String _dataFormat;
+		private final StringPolicy _stringPolicy;
+		private final Function<? super T, ?> _value;
+		
+		/**
+		 * @param header (String) - texto do cabeçalho. Passe nulo para não escrever
+		 * @param value (Function) - extrai o valor da célula do objeto da linha
+		 */
+		public TableColumn(final String header, final Function<? super T, ?> value) {
+			this(header, null, null, value);
+		}
+		
+		/**
+		 * @param header (String) - texto do cabeçalho. Passe nulo para não escrever
+		 * @param styleName (String) - nome do estilo criado (createCellStyle()). Passe nulo para não setar
+		 * @param dataFormat (String) - formato do valor. Ex: "#,##0.00", "dd/MM/yyyy". Passe nulo para não setar
+		 * @param value (Function) - extrai o valor da célula do objeto da linha
+		 */
+		public TableColumn(final String header, final String styleName, final String dataFormat, final Function<? super T, ?> value) {
+			this(header, styleName, dataFormat, null, value);
+		}
+		
+		/**
+		 * @param header (String) - texto do cabeçalho. Passe nulo para não escrever
+		 * @param styleName (String) - nome do estilo criado (createCellStyle()). Passe nulo para não setar
+		 * @param dataFormat (String) - formato do valor. Ex: "#,##0.00", "dd/MM/yyyy". Passe nulo para não setar
+		 * @param stringPolicy (StringPolicy) - política dos valores String da coluna. Passe nulo para usar a da coluna/padrão
+		 * @param value (Function) - extrai o valor da célula do objeto da linha
+		 */
+		public TableColumn(final String header, final String styleName, final String dataFormat, final StringPolicy stringPolicy, final Function<? super T, ?> value) {
+			this._header = header;
+			this._styleName = styleName;
+			this._dataFormat = dataFormat;
+			this._stringPolicy = stringPolicy;
+			this._value = value;
+		}
+		
+		public String getHeader() {
+			return this._header;
+		}
+		
+		public String getStyleName() {
+			return this._styleName;
+		}
+		
+		public String getDataFormat() {
+			return this._dataFormat;
+		}
+		
+		public StringPolicy getStringPolicy() {
+			return this._stringPolicy;
+		}
+	}
+	
+	/**
+	 * Escreve tabela (cabeçalho + uma linha por objeto). As linhas são criadas em ordem crescente e cada linha é preenchida em uma única passada,
+	 * com os estilos resolvidos uma vez por coluna. Funciona no modo streaming.
+	 * 
+	 * @param sheet (XSSFSheet) - folha a ser alterada
+	 * @param headerStyleName (String) - nome do estilo do cabeçalho. Passe nulo para não setar
+	 * @param firstRow (int) - linha do cabeçalho. Base 0
+	 * @param firstCol (int) - primeira coluna da tabela. Base 0
+	 * @param rows (Iterable) - objetos das linhas
+	 * @param columns (List) - definição das colunas
+	 * @return PoiUtil
+	 */
+	public <T> POIUtil2 writeTable(final XSSFSheet sheet, final String headerStyleName, final int firstRow, final int firstCol,
+			final Iterable<? extends T> rows, final List<TableColumn<T>> columns) {
+		return writeTable(sheet, headerStyleName, firstRow, firstCol, rows.iterator(), columns);
+	}
+	
+	/**
+	 * Escreve tabela (cabeçalho + uma linha por objeto) consumindo o iterator. Ideal para resultados paginados/lazy no modo streaming.
+	 * 
+	 * @param sheet (XSSFSheet) - folha a ser alterada
+	 * @param headerStyleName (String) - nome do estilo do cabeçalho. Passe nulo para não setar
+	 * @param firstRow (int) - linha do cabeçalho. Base 0
+	 * @param firstCol (int) - primeira coluna da tabela. Base 0
+	 * @param rows (Iterator) - objetos das linhas
+	 * @param columns (List) - definição das colunas
+	 * @throws IllegalStateException - caso alguma linha já tenha sido descarregada no modo streaming
+	 * @return PoiUtil
+	 */
+	public <T> POIUtil2 writeTable(final XSSFSheet sheet, final String headerStyleName, final int firstRow, final int firstCol,
+			final Iterator<? extends T> rows, final List<TableColumn<T>> columns) {
+		// o iterator pode ser lazy (consulta paginada): o spill não pode ocorrer entre uma linha e outra
+		iniciarOperacao();
+		try {
+			return escreverTabela(sheet, headerStyleName, firstRow, firstCol, rows, columns);
+		} finally {
+			finalizarOperacao();
+		}
+	}
+	
+	private <T> POIUtil2 escreverTabela(final XSSFSheet sheet, final String headerStyleName, final int firstRow, final int firstCol,
+			final Iterator<? extends T> rows, final List<TableColumn<T>> columns) {
+		final Sheet folha = sheet(sheet);
+		final int quantidade = columns.size();
+		// cópia com acesso indexado O(1), independente da implementação da lista recebida
+		final List<TableColumn<T>> colunas = new ArrayList<>(columns);
+		final CellStyle[] estilos = new CellStyle[quantidade];
+		boolean possuiCabecalho = false;
+		for(int index = 0; index < quantidade; index++) {
+			final TableColumn<T> coluna = colunas.get(index);
+			estilos[index] = null == coluna._dataFormat ? getCellStyle(coluna._styleName) : estiloComFormato(coluna._styleName, coluna._dataFormat);
+			possuiCabecalho |= null != coluna._header;
+		}
+		int linhaAtual = firstRow;
+		if(possuiCabecalho) {
+			final Row cabecalho = novaLinha(folha, linhaAtual++);
+			final XSSFCellStyle estiloCabecalho = getCellStyle(headerStyleName);
+			for(int index = 0; index < quantidade; index++) {
+				final Cell cell = cabecalho.createCell(firstCol + index);
+				if(null != estiloCabecalho) {
+					cell.setCellStyle(estiloCabecalho);
+				}
+				if(null != colunas.get(index)._header) {
+					valor(cell, colunas.get(index)._header);
+				}
+			}
+		}
+		while(rows.hasNext()) {
+			final T objeto = rows.next();
+			final Row row = novaLinha(folha, linhaAtual++);
+			for(int index = 0; index < quantidade; index++) {
+				final Cell cell = row.createCell(firstCol + index);
+				if(null != estilos[index]) {
+					cell.setCellStyle(estilos[index]);
+				}
+				valorCelula(cell, colunas.get(index)._value.apply(objeto), colunas.get(index)._stringPolicy);
+			}
+		}
+		if(this.auditoriaRegiaoAtualizada && linhaAtual > firstRow) {
+			setUltimaRegiaoAutalizada(sheet, concat(getCellString(firstRow, firstCol), getCellString(linhaAtual - 1, firstCol + Math.max(quantidade - 1, 0))));
+		}
+		return this;
+	}
+	
+	/**
+	 * Seta o valor na célula de acordo com o tipo do objeto. Nulo deixa a célula vazia
+	 * @param cell (Cell) - célula
+	 * @param value (Object) - valor
+	 * @param politica (StringPolicy) - política das Strings. Nulo usa a da coluna/padrão
+	 */
+	private void valorCelula(final Cell cell, final Object value, final StringPolicy politica) {
+		if(null == value) {
+			return;
+		}
+		if(value instanceof String) {
+			valor(cell, (String) value, politica);
+		}else if(value instanceof Number) {
+			valor(cell, ((Number) value).doubleValue());
+		}else if(value instanceof Date) {
+			valor(cell, (Date) value);
+		}else if(value instanceof Calendar) {
+			valor(cell, (Calendar) value);
+		}else if(value instanceof LocalDate) {
+			valor(cell, serialExcel(((LocalDate) value).toEpochDay()));
+		}else if(value instanceof LocalDateTime) {
+			valor(cell, serialExcel((LocalDateTime) value));
+		}else if(value instanceof Boolean) {
+			valor(cell, ((Boolean) value).booleanValue());
+		}else {
+			valor(cell, value.toString(), politica);
+		}
+	}
+
+	/**
+	 * Seta valor String na célula
+	 * @param cell (Cell) - célula
+	 * @param value (String) - valor
+	 */
+	private void valor(final Cell cell, final String value) {
+		valor(cell, value, null);
+	}
+	
+	/**
+	 * Seta valor String na célula de acordo com a política de strings. No modo streaming a política é a do workbook
+	 * @param cell (Cell) - célula
+	 * @param value (String) - valor
+	 * @param politica (StringPolicy) - política. Nulo usa a da coluna/padrão
+	 */
+	private void valor(final Cell cell, final String value, final StringPolicy politica) {
+		if(null != value && cell instanceof XSSFCell && StringPolicy.INLINE == (null != politica ? politica : politicaString(cell))) {
+			final XSSFCell xssfCell = (XSSFCell) cell;
+			// BLANK mantém apenas referência e estilo
+			xssfCell.setCellType(CellType.BLANK);
+			final CTCell ctCell = xssfCell.getCTCell();
+			ctCell.setT(STCellType.INLINE_STR);
+			ctCell.addNewIs().setT(value);
+		}else {
+			cell.setCellValue(value);
+		}
+		estimarCelula(null == value ? 0 : 40 + 2 * value.length());
+		if(rastrearLarguras() && null != value) {
+			registrarLargura(cell, larguraFonte(cell.getCellStyle()).larguraTexto(value));
+		}
+	}
+	
+	/**
+	 * Retorna a política de strings da coluna da célula ou a padrão
+	 * @param cell (Cell) - célula
+	 * @return StringPolicy
+	 */
+	private StringPolicy politicaString(final Cell cell) {
+		if(!this._politicasColunas.isEmpty()) {
+			final StringPolicy[] politicas = this._politicasColunas.get(cell.getSheet().getSheetName());
+			final int coluna = cell.getColumnIndex();
+			if(null != politicas && coluna < politicas.length && null != politicas[coluna]) {
+				return politicas[coluna];
+			}
+		}
+		return this.stringPolicy;
+	}
+	
+	/**
+	 * Seta valor double na célula
+	 * @param cell (Cell) - célula
+	 * @param value (double) - valor
+	 */
+	private void valor(final Cell cell, final double value) {
+		cell.setCellValue(value);
+		estimarCelula(0);
+		if(rastrearLarguras()) {
+			final CellStyle style = cell.getCellStyle();
+			registrarLargura(cell, larguraFonte(style).escala * caracteresNumero(value, style));
+		}
+	}
+	
+	/**
+	 * Seta valor Date na célula
+	 * @param cell (Cell) - célula
+	 * @param value (Date) - valor
+	 */
+	private void valor(final Cell cell, final Date value) {
+		cell.setCellValue(value);
+		estimarCelula(0);
+		if(rastrearLarguras()) {
+			final CellStyle style = cell.getCellStyle();
+			registrarLargura(cell, larguraFonte(style).escala * caracteresNumero(DateUtil.getExcelDate(value), style));
+		}
+	}
+	
+	/**
+	 * Seta valor Calendar na célula
+	 * @param cell (Cell) - célula
+	 * @param value (Calendar) - valor
+	 */
+	private void valor(final Cell cell, final Calendar value) {
+		cell.setCellValue(value);
+		estimarCelula(0);
+		if(rastrearLarguras()) {
+			final CellStyle style = cell.getCellStyle();
+			registrarLargura(cell, larguraFonte(style).escala * caracteresNumero(DateUtil.getExcelDate(value, false), style));
+		}
+	}
+	
+	/**
+	 * Seta valor boolean na célula
+	 * @param cell (Cell) - célula
+	 * @param value (boolean) - valor
+	 */
+	private void valor(final Cell cell, final boolean value) {
+		cell.setCellValue(value);
+		estimarCelula(0);
+		if(rastrearLarguras()) {
+			registrarLargura(cell, larguraFonte(cell.getCellStyle()).larguraTexto(value ? "TRUE" : "FALSE"));
+		}
+	}
+
+	// ROW
+
+	/**
+	 * Cria linha
+	 * 
+	 * @param sheet (XSSFSheet) - folha a ser alterada
+	 * @param row   (int) - número da linha a ser criada. Base 0
+	 * @return PoiUtil
+	 */
+	public POIUtil2 createRow(final XSSFSheet sheet, final int row) {
+		novaLinha(sheet(sheet), row);
+		setUltimaRegiaoAutalizada(sheet,row);
+		return this;
+	}
+	
+	/**
+	 * Cria linhas
+	 * 
+	 * @param sheet (XSSFSheet) - folha a ser alterada
+	 * @param rows  (int[]) - array de linhas a serem criadas. Base 0
+	 * @return PoiUtil
+	 */
+	public POIUtil2 createRows(final XSSFSheet sheet, final int... rows) {
+		final Sheet folha = sheet(sheet);
+		for(final int row : rows) {
+			novaLinha(folha, row);
+		}
+		setUltimaRegiaoAutalizada(sheet,rows);
+		return this;
+	}
+
+	/**
+	 * Retorna linha. Retorna nulo caso não exista. No modo streaming retorna apenas as linhas existentes no template.
+	 * 
+	 * @param sheet (XSSFSheet) - folha a ser alterada
+	 * @param row   (int) - número da linha a retornar. Base 0
+	 * @return XSSFRow
+	 */
+	public XSSFRow getRow(final XSSFSheet sheet, final int row) {
+		return folhaAtual(sheet).getRow(row);
+	}
+
+	// CELLSTYLE
+
+	/**
+	 * Cria um XSSFCellStyle e o armazena no HashMap
+	 * 
+	 * @param cellStyleName (String) - nome chave do estilo no HashMap
+	 * @return PoiUtil
+	 */
+	public POIUtil2 createCellStyle(final String cellStyleName) {
+		estilos().put(cellStyleName, xssf().createCellStyle());
+		return this;
+	}
+	
+	/**
+	 * Cria e configura XSSFCellStyle no HashMap<String,XSSFCellStyle>
+	 * @param name (String) - key no hashmap
+	 * @param font (String) - key da fonte no HashMap<String,XSSFFont>
+	 * @param hAlign (HorizontalAlignment) - alinhameto horizontal texto
+	 * @param vAlign (VerticalAlignment) - posialinhametoção vertical texto
+	 * @param fill (FillPatternType) - padrão de preenchimento do background
+	 * @param indexedColor (IndexedColors) - índice da cor de preenchimento
+	 * @param borders - (BorderStyle...) - array de bordas -> Top, Right, Bottom, Left 
+	 * @return
+	 */
+	public POIUtil2 createCellStyle(final String name, final String font,final boolean wrapText, final HorizontalAlignment hAlign, final VerticalAlignment vAlign,
+			final FillPatternType fill, final IndexedColors indexedColor,final BorderStyle... borders) {
+		
+		createCellStyle(name).editCellStyleFont(name, font).editCellStyleWrapText(name, wrapText).editCellStyleAlignment(name, hAlign, vAlign)
+		.editCellStyleFillPattern(name, fill).editCellStyleForegroundColor(name, indexedColor);
+		if(null != borders) {
+			final BorderStyle[] allBorder = new BorderStyle[4];
+			for(int index = 0; index < borders.length; index++) {
+				allBorder[index] = borders[index];
+			}
+			editCellStyleBorder(name, allBorder[0], allBorder[1], allBorder[2], allBorder[3]);
+		}
+		return this;
+	}
+	
+	/**
+	 * Cria e configura XSSFCellStyle no HashMap<String,XSSFCellStyle>
+	 * @param name (String) - key no hashmap
+	 * @param font (String) - key da fonte no HashMap<String,XSSFFont>
+	 * @param hAlign (HorizontalAlignment) - alinhameto horizontal texto
+	 * @param vAlign (VerticalAlignment) - posialinhametoção vertical texto
+	 * @param fill (FillPatternType) - padrão de preenchimento do background
+	 * @param color (Color) - índice da cor de preenchimento
 	 * @param borders - (BorderStyle...) - array de bordas -> Top, Right, Bottom, Left 
 	 * @return
 	 */
-	public POIUtil2 createCellStyle(final String name, final String font,final boolean wrapText, final HorizontalAlignment hAlign, final VerticalAlignment vAlign,
-			final FillPatternType fill, final IndexedColors indexedColor,final BorderStyle... borders) {
+	public POIUtil2 createCellStyle(final String name, final String font,final boolean wrapText, final HorizontalAlignment hAlign, final VerticalAlignment vAlign,
+			final FillPatternType fill, final Color color,final BorderStyle... borders) {
+		
+		createCellStyle(name).editCellStyleFont(name, font).editCellStyleWrapText(name, wrapText).editCellStyleAlignment(name, hAlign, vAlign)
+		.editCellStyleFillPattern(name, fill).editCellStyleForegroundColor(name, color);
+		if(null != borders) {
+			final BorderStyle[] allBorder = new BorderStyle[4];
+			for(int index = 0; index < borders.length; index++) {
+				allBorder[index] = borders[index];
+			}
+			editCellStyleBorder(name, allBorder[0], allBorder[1], allBorder[2], allBorder[3]);
+		}
+		return this;
+	}
+	
+	/**
+	 * Apaga o estilo criado. Não afeta as células criadas com o estilo passado.
+	 * @param name (String) - nome do estilo
+	 * @return POIUtil2
+	 */
+	public POIUtil2 removeCellStyle(final String name) {
+		estilos().remove(name);
+		return this;
+	}
+
+	/**
+	 * Retorna XSSFCellStyle armazenado no HashMap pela key nome. Retorna nulo caso
+	 * não exista
+	 * 
+	 * @param nome (String) - nome chave do estilo no HashMap
+	 * @return XSSFCellStyle
+	 */
+	public XSSFCellStyle getCellStyle(final String nome) {
+		return estilos().get(nome);
+	}
+	
+	/**
+	 * Altera o formato do estilo. Ex: "dd/MM/yyyy" -> célula será do tipo Data.
+	 * @param cellStyleName (String) - nome chave do estilo no HashMap
+	 * @param format (String) - formato desejado
+	 * @return
+	 */
+	public POIUtil2 editCellStyleDataFormat(final String cellStyleName, final String format) {
+		final XSSFCellStyle style = estiloParaEdicao(cellStyleName);
+		style.setDataFormat(getDataFormat(format));
+		return this;
+	}
+
+	/**
+	 * Retorna um estilo igual ao estilo informado com o formato aplicado. O estilo é criado uma única vez por par estilo/formato e reutilizado.
+	 * @param cellStyleName (String) - nome chave do estilo base no HashMap. Passe nulo para usar o estilo padrão
+	 * @param format (String) - formato desejado. Ex: "dd/MM/yyyy"
+	 * @return XSSFCellStyle
+	 */
+	private XSSFCellStyle estiloComFormato(final String cellStyleName, final String format) {
+		final XSSFWorkbook workbook = xssf();
+		final XSSFCellStyle base = getCellStyle(cellStyleName);
+		final String chave = chaveFormatados(base) + format;
+		XSSFCellStyle estilo = this._estilosFormatados.get(chave);
+		if(null == estilo) {
+			estilo = workbook.createCellStyle();
+			if(null != base) {
+				estilo.cloneStyleFrom(base);
+			}
+			estilo.setDataFormat(getDataFormat(format));
+			this._estilosFormatados.put(chave, estilo);
+		}
+		return estilo;
+	}
+
+	/**
+	 * Prefixo das chaves dos estilos formatados derivados do estilo base: o índice do estilo no workbook, como no estiloInternado.
+	 * Recriar ou remover o estilo nomeado muda o índice e o clone antigo deixa de ser usado.
+	 * @param base (XSSFCellStyle) - estilo base. Nulo para o estilo padrão
+	 * @return String
+	 */
+	private static String chaveFormatados(final XSSFCellStyle base) {
+		return (null == base ? -1 : base.getIndex()) + "|";
+	}
+
+	/**
+	 * Retorna o estilo nomeado para edição e descarta os estilos formatados derivados dele, que seriam clones desatualizados.
+	 * @param cellStyleName (String) - nome chave do estilo no HashMap
+	 * @return XSSFCellStyle
+	 */
+	private XSSFCellStyle estiloParaEdicao(final String cellStyleName) {
+		final XSSFCellStyle estilo = getCellStyle(cellStyleName);
+		if(null != estilo) {
+			final String prefixo = chaveFormatados(estilo);
+			this._estilosFormatados.keySet().removeIf(chave -> chave.startsWith(prefixo));
+		}
+		return estilo;
+	}
+
+	/**
+	 * Edita borda do estilo contido no HashMap.
+	 * 
+	 * @param cellStyleName (String) - nome chave da célula
+	 * @param borderTop     (BorderStyle) - borda topo. Passe nulo para não setar
+	 * @param borderRight   (BorderStyle) - borda direita. Passe nulo para não setar
+	 * @param borderBottom  (BorderStyle) - borda inferior. Passe nulo para não
+	 *                      setar
+	 * @param borderLeft    (BorderStyle) - borda esquerda. Passe nulo para não
+	 *                      setar
+	 * @throws NullPointerException - caso estilo não exista
+	 * @return PoiUtil
+	 */
+	public POIUtil2 editCellStyleBorder(final String cellStyleName, final BorderStyle borderTop,
+			final BorderStyle borderRight, final BorderStyle borderBottom, final BorderStyle borderLeft) {
+
+		final XSSFCellStyle cellStyle = this.estiloParaEdicao(cellStyleName);
+		if (null != borderTop) {
+			cellStyle.setBorderTop(borderTop);
+		}
+		if (null != borderRight) {
+			cellStyle.setBorderRight(borderRight);
+		}
+		if (null != borderBottom) {
+			cellStyle.setBorderBottom(borderBottom);
+		}
+		if (null != borderLeft) {
+			cellStyle.setBorderLeft(borderLeft);
+		}
+		return this;
+	}
+	
+	/**
+	 * Edita borda da célula. Células com o mesmo resultado compartilham o mesmo estilo.
+	 * 
+	 * @param cell (XSSF) - célula com estilo
+	 * @param borderTop     (BorderStyle) - borda topo. Passe nulo para não setar
+	 * @param borderRight   (BorderStyle) - borda direita. Passe nulo para não setar
+	 * @param borderBottom  (BorderStyle) - borda inferior. Passe nulo para não
+	 *                      setar
+	 * @param borderLeft    (BorderStyle) - borda esquerda. Passe nulo para não
+	 *                      setar
+	 * @throws NullPointerException - caso estilo não exista
+	 * @return PoiUtil
+	 */
+	public POIUtil2 editCellStyleBorder(final XSSFCell cell, final BorderStyle borderTop,
+			final BorderStyle borderRight, final BorderStyle borderBottom, final BorderStyle borderLeft) {
+
+		cell.setCellStyle(estiloInternado(cell.getCellStyle(), null, borderTop, borderRight, borderBottom, borderLeft, null, null, null, null, null));
+		return this;
+	}
+
+	/**
+	 * Edita todas as bordas do estilo contido no HashMap.
+	 * 
+	 * @param cellStyleName (String) - nome chave da célula
+	 * @param borderTop     (BorderStyle) - Tipo de borda
+	 * @throws NullPointerException - caso estilo não exista
+	 * @return PoiUtil
+	 */
+	public POIUtil2 editCellStyleBorderAll(final String cellStyleName, final BorderStyle border) {
+
+		final XSSFCellStyle cellStyle = this.estiloParaEdicao(cellStyleName);
+		cellStyle.setBorderTop(border);
+		cellStyle.setBorderRight(border);
+		cellStyle.setBorderBottom(border);
+		cellStyle.setBorderLeft(border);
+		return this;
+	}
+
+	/**
+	 * Configura fonte do estilo
+	 * 
+	 * @param cellStyleName (String) - nome chave da fonte no HashMap
+	 * @param fontName      (String) - nome da fonte para o documento
+	 * @throws NullPointerException - caso estilo não exista
+	 * @return PoiUtil
+	 */
+	public POIUtil2 editCellStyleFont(final String cellStyleName, final String fontName) {
+		if(null != fontName) {
+			this.estiloParaEdicao(cellStyleName).setFont(this.getFont(fontName));			
+		}
+		return this;
+	}
+
+	/**
+	 * Edita o alinhamento horizontal e vertical da célula
+	 * 
+	 * @param cellStyleName       (String) - nome chave da fonte no HashMap
+	 * @param horizontalAlignment (HorizontalAlignment) - alinhamento horizontal.
+	 *                            Passe null para não setar
+	 * @param verticalAlignment   (VerticalAlignment) - alinhamento vertical. Passe
+	 *                            null para não setar
+	 * @throws NullPointerException - caso estilo não exista
+	 * @return
+	 */
+	public POIUtil2 editCellStyleAlignment(final String cellStyleName, final HorizontalAlignment horizontalAlignment,
+			final VerticalAlignment verticalAlignment) {
+
+		final XSSFCellStyle estilo = this.estiloParaEdicao(cellStyleName);
+		if (null != horizontalAlignment) {
+			estilo.setAlignment(horizontalAlignment);
+		}
+		if (null != verticalAlignment) {
+			estilo.setVerticalAlignment(verticalAlignment);
+		}
+		return this;
+	}
+	
+	/**
+	 * Edita o alinhamento horizontal e vertical da célula. Células com o mesmo resultado compartilham o mesmo estilo.
+	 * 
+	 * @param cell       (XSSFCell) - célula com estilo
+	 * @param horizontalAlignment (HorizontalAlignment) - alinhamento horizontal.
+	 *                            Passe null para não setar
+	 * @param verticalAlignment   (VerticalAlignment) - alinhamento vertical. Passe
+	 *                            null para não setar
+	 * @throws NullPointerException - caso estilo não exista
+	 * @return
+	 */
+	public POIUtil2 editCellStyleAlignment(final XSSFCell cell, final HorizontalAlignment horizontalAlignment,
+			final VerticalAlignment verticalAlignment) {
+
+		cell.setCellStyle(estiloInternado(cell.getCellStyle(), null, null, null, null, null, horizontalAlignment, verticalAlignment, null, null, null));
+		return this;
+	}
+
+	/**
+	 * Configura se há quebra de texto no estilo
+	 * 
+	 * @param cellStyleName (String) - nome chave da fonte no HashMap
+	 * @param wrap          (boolean) - se texto deve quebrar
+	 * @return PoiUtil
+	 */
+	public POIUtil2 editCellStyleWrapText(final String cellStyleName, final boolean wrap) {
+		this.estiloParaEdicao(cellStyleName).setWrapText(wrap);
+		return this;
+	}
+	
+	/**
+	 * Configura padrão de preenchimento do estilo
+	 * 
+	 * @param cellStyleName (String) - nome chave da fonte no HashMap
+	 * @param fillPattern   (FillPatternType) - padrão de preenchimento
+	 * @return PoiUtil
+	 */
+	public POIUtil2 editCellStyleFillPattern(final String cellStyleName, final FillPatternType fillPattern) {
+		if(null != fillPattern) {
+			this.estiloParaEdicao(cellStyleName).setFillPattern(fillPattern);			
+		}
+		return this;
+	}
+	
+	/**
+	 * Configura padrão de preenchimento do estilo da célula. Células com o mesmo resultado compartilham o mesmo estilo.
+	 * 
+	 * @param cell (XSSFCell) - célula a ser alterada
+	 * @param fillPattern   (FillPatternType) - padrão de preenchimento
+	 * @return PoiUtil
+	 */
+	public POIUtil2 editCellStyleFillPattern(final XSSFCell cell, final FillPatternType fillPattern) {
+		cell.setCellStyle(estiloInternado(cell.getCellStyle(), null, null, null, null, null, null, null, fillPattern, null, null));
+		return this;
+	}
+	
+	/**
+	 * Configura cor de fundo do estilo
+	 * @param cellStyleName (String) - nome chave da fonte no HashMap
+	 * @param color (IndexedColors) - cor de fundo
+	 * @return PoiUtil
+	 */
+	public POIUtil2 editCellStyleForegroundColor(final String cellStyleName, final IndexedColors color) {
+		if(null != color) {
+			this.estiloParaEdicao(cellStyleName).setFillForegroundColor(color.index);			
+		}
+		return this;
+	}
+	
+	/**
+	 * Configura cor de fundo do estilo
+	 * @param cellStyleName (String) - nome chave da fonte no HashMap
+	 * @param color (Color) - cor de fundo
+	 * @return PoiUtil
+	 */
+	public POIUtil2 editCellStyleForegroundColor(final String cellStyleName, final Color color) {
+		if(null != color) {
+			this.estiloParaEdicao(cellStyleName).setFillForegroundColor(new XSSFColor(color));			
+		}
+		return this;
+	}
+	
+	/**
+	 * Configura cor de fundo do etilo da célula. Células com o mesmo resultado compartilham o mesmo estilo.
+	 * @param cell (XSSFCell) - célula a ser alterada
+	 * @param color (Color) - cor de fundo
+	 * @return PoiUtil
+	 */
+	public POIUtil2 editCellStyleForegroundColor(final XSSFCell cell, final Color color) {
+		cell.setCellStyle(estiloInternado(cell.getCellStyle(), null, null, null, null, null, null, null, null, new XSSFColor(color), null));
+		return this;
+	}
+
+	/**
+	 * Retorna estilo igual ao estilo base com os atributos informados alterados (nulo -> mantém o do base). 
+	 * O estilo é indexado pela tupla completa de atributos resultantes, então resultados idênticos reutilizam o mesmo XSSFCellStyle
+	 * e a quantidade de estilos fica limitada à quantidade de aparências distintas.
+	 * @return XSSFCellStyle
+	 */
+	private XSSFCellStyle estiloInternado(final XSSFCellStyle base, final XSSFFont font, final BorderStyle borderTop, final BorderStyle borderRight,
+			final BorderStyle borderBottom, final BorderStyle borderLeft, final HorizontalAlignment horizontalAlignment, final VerticalAlignment verticalAlignment,
+			final FillPatternType fillPattern, final XSSFColor foregroundColor, final Short dataFormat) {
+		
+		final String separador = "|";
+		final StringBuilder chave = new StringBuilder(128)
+			.append(null == dataFormat ? base.getDataFormat() : dataFormat).append(separador)
+			.append(null == font ? base.getFontIndex() : font.getIndex()).append(separador)
+			.append(null == borderTop ? base.getBorderTopEnum() : borderTop).append(separador)
+			.append(null == borderRight ? base.getBorderRightEnum() : borderRight).append(separador)
+			.append(null == borderBottom ? base.getBorderBottomEnum() : borderBottom).append(separador)
+			.append(null == borderLeft ? base.getBorderLeftEnum() : borderLeft).append(separador)
+			.append(null == horizontalAlignment ? base.getAlignmentEnum() : horizontalAlignment).append(separador)
+			.append(null == verticalAlignment ? base.getVerticalAlignmentEnum() : verticalAlignment).append(separador)
+			.append(null == fillPattern ? base.getFillPatternEnum() : fillPattern).append(separador)
+			.append(corChave(null == foregroundColor ? base.getFillForegroundXSSFColor() : foregroundColor)).append(separador)
+			.append(corChave(base.getFillBackgroundXSSFColor())).append(separador)
+			.append(corChave(base.getTopBorderXSSFColor())).append(separador)
+			.append(corChave(base.getRightBorderXSSFColor())).append(separador)
+			.append(corChave(base.getBottomBorderXSSFColor())).append(separador)
+			.append(corChave(base.getLeftBorderXSSFColor())).append(separador)
+			.append(base.getWrapText()).append(separador)
+			.append(base.getShrinkToFit()).append(separador)
+			.append(base.getIndention()).append(separador)
+			.append(base.getRotation()).append(separador)
+			.append(base.getLocked()).append(separador)
+			.append(base.getHidden());
+		final String key = chave.toString();
+		XSSFCellStyle style = this._estilosInternados.get(key);
+		if(null == style) {
+			style = (XSSFCellStyle) base.clone();
+			if(null != font) {
+				style.setFont(font);
+			}
+			if (null != borderTop) {
+				style.setBorderTop(borderTop);
+			}
+			if (null != borderRight) {
+				style.setBorderRight(borderRight);
+			}
+			if (null != borderBottom) {
+				style.setBorderBottom(borderBottom);
+			}
+			if (null != borderLeft) {
+				style.setBorderLeft(borderLeft);
+			}
+			if (null != horizontalAlignment) {
+				style.setAlignment(horizontalAlignment);
+			}
+			if (null != verticalAlignment) {
+				style.setVerticalAlignment(verticalAlignment);
+			}
+			if(null != fillPattern) {
+				style.setFillPattern(fillPattern);
+			}
+			if(null != foregroundColor) {
+				style.setFillForegroundColor(foregroundColor);
+			}
+			if(null != dataFormat) {
+				style.setDataFormat(dataFormat);
+			}
+			this._estilosInternados.put(key, style);
+		}
+		return style;
+	}
+	
+	/**
+	 * @param color (XSSFColor) - cor
+	 * @return representação da cor para a chave do estilo
+	 */
+	private String corChave(final XSSFColor color) {
+		if(null == color) {
+			return "";
+		}
+		if(color.isIndexed()) {
+			return "i" + color.getIndexed();
+		}
+		if(color.isThemed()) {
+			return "t" + color.getTheme() + "/" + color.getTint();
+		}
+		return color.getARGBHex();
+	}
+
+	/**
+	 * Instala de uma vez as fontes e os estilos da folha de estilos no workbook, registrando os nomes nos maps de fontes e estilos
+	 * (mesmo efeito de createFont()/createCellStyle() para cada definição, substituindo nomes já existentes).
+	 * Bordas e preenchimentos iguais são gravados uma única vez no styles.xml e cada formato é resolvido uma única vez por instalação.
+	 * 
+	 * @param styleSheet (StyleSheet) - folha de estilos compilada -> StyleSheet.builder()
+	 * @return PoiUtil
+	 */
+	public POIUtil2 installStyleSheet(final StyleSheet styleSheet) {
+		final XSSFWorkbook workbook = xssf();
+		final StylesTable stylesTable = workbook.getStylesSource();
+		final Map<String, XSSFFont> fontesInstaladas = new HashMap<>();
+		for(final FonteDefinicao definicao : styleSheet.fontes) {
+			final XSSFFont font = workbook.createFont();
+			font.setFontName(definicao.fontName);
+			font.setBold(definicao.bold);
+			font.setFontHeight(definicao.size);
+			if(null != definicao.color) {
+				font.setColor(definicao.color.getIndex());
+			}
+			fontesInstaladas.put(definicao.nome, font);
+			fontes().put(definicao.nome, font);
+		}
+		
+		final Map<String, Integer> bordas = new HashMap<>();
+		final Map<String, Integer> preenchimentos = new HashMap<>();
+		final Map<String, Short> formatos = new HashMap<>();
+		XSSFDataFormat dataFormat = null;
+		for(final EstiloDefinicao definicao : styleSheet.estilos) {
+			final XSSFCellStyle style = workbook.createCellStyle();
+			final CTXf xf = style.getCoreXf();
+			if(null != definicao.fonte) {
+				style.setFont(fontesInstaladas.get(definicao.fonte));
+			}
+			style.setWrapText(definicao.wrap);
+			if(null != definicao.hAlign) {
+				style.setAlignment(definicao.hAlign);
+			}
+			if(null != definicao.vAlign) {
+				style.setVerticalAlignment(definicao.vAlign);
+			}
+			if(null != definicao.chaveBorda) {
+				Integer indice = bordas.get(definicao.chaveBorda);
+				if(null == indice) {
+					indice = stylesTable.putBorder(new XSSFCellBorder(definicao.novaBorda()));
+					bordas.put(definicao.chaveBorda, indice);
+				}
+				xf.setBorderId(indice);
+				xf.setApplyBorder(true);
+			}
+			if(null != definicao.chavePreenchimento) {
+				Integer indice = preenchimentos.get(definicao.chavePreenchimento);
+				if(null == indice) {
+					indice = stylesTable.putFill(new XSSFCellFill(definicao.novoPreenchimento(), stylesTable.getIndexedColors()));
+					preenchimentos.put(definicao.chavePreenchimento, indice);
+				}
+				xf.setFillId(indice);
+				xf.setApplyFill(true);
+			}
+			if(null != definicao.formato) {
+				Short formato = formatos.get(definicao.formato);
+				if(null == formato) {
+					if(null == dataFormat) {
+						dataFormat = workbook.createDataFormat();
+					}
+					formato = dataFormat.getFormat(definicao.formato);
+					formatos.put(definicao.formato, formato);
+				}
+				style.setDataFormat(formato);
+			}
+			estilos().put(definicao.nome, style);
+		}
+		return this;
+	}
+	
+	/**
+	 * Definição imutável de fontes e estilos, compilada uma única vez (ex: em um campo static) e instalada em qualquer workbook
+	 * com installStyleSheet(). Não guarda objetos do POI, então pode ser compartilhada entre threads sem sincronização.
+	 * 
+	 * Ex: 
+	 * static final StyleSheet ESTILOS = StyleSheet.builder()
+	 * 	.font("titulo", "Calibri", true, 12, IndexedColors.WHITE)
+	 * 	.style("cabecalho", "titulo", false, HorizontalAlignment.CENTER, VerticalAlignment.CENTER, FillPatternType.SOLID_FOREGROUND, IndexedColors.DARK_BLUE, BorderStyle.THIN, BorderStyle.THIN, BorderStyle.THIN, BorderStyle.THIN)
+	 * 	.style("data", null, false, HorizontalAlignment.CENTER, null, null, (IndexedColors) null).dataFormat("data", "dd/MM/yyyy")
+	 * 	.build();
+	 */
+	public static final class StyleSheet {
+		
+		private final List<FonteDefinicao> fontes;
+		private final List<EstiloDefinicao> estilos;
+		
+		private StyleSheet(final List<FonteDefinicao> fontes, final List<EstiloDefinicao> estilos) {
+			this.fontes = Collections.unmodifiableList(fontes);
+			this.estilos = Collections.unmodifiableList(estilos);
+		}
+		
+		/**
+		 * @return StyleSheet.Builder - builder vazio
+		 */
+		public static Builder builder() {
+			return new Builder();
+		}
+		
+		/**
+		 * @return List<String> - nomes das fontes na ordem de definição
+		 */
+		public List<String> getFontNames() {
+			final List<String> nomes = new ArrayList<>(this.fontes.size());
+			for(final FonteDefinicao definicao : this.fontes) {
+				nomes.add(definicao.nome);
+			}
+			return nomes;
+		}
+		
+		/**
+		 * @return List<String> - nomes dos estilos na ordem de definição
+		 */
+		public List<String> getStyleNames() {
+			final List<String> nomes = new ArrayList<>(this.estilos.size());
+			for(final EstiloDefinicao definicao : this.estilos) {
+				nomes.add(definicao.nome);
+			}
+			return nomes;
+		}
+		
+		/**
+		 * Builder da folha de estilos. Não é thread-safe: monte em uma thread e compartilhe apenas o StyleSheet gerado por build().
+		 */
+		public static final class Builder {
+			
+			private final Map<String, FonteDefinicao> fontes = new LinkedHashMap<>();
+			private final Map<String, EstiloDefinicao> estilos = new LinkedHashMap<>();
+			
+			private Builder() {
+			}
+			
+			/**
+			 * Define uma fonte -> createFont(name, fontName, bold, size)
+			 * @param name (String) - nome chave da fonte
+			 * @param fontName (String) - nome da fonte no excel
+			 * @param bold (boolean) - Configura negrito
+			 * @param size (double) - Tamanho da fonte
+			 * @return StyleSheet.Builder
+			 */
+			public Builder font(final String name, final String fontName, final boolean bold, final double size) {
+				return font(name, fontName, bold, size, null);
+			}
+			
+			/**
+			 * Define uma fonte -> createFont(name, fontName, bold, size) + editFontColor(name, color)
+			 * @param name (String) - nome chave da fonte
+			 * @param fontName (String) - nome da fonte no excel
+			 * @param bold (boolean) - Configura negrito
+			 * @param size (double) - Tamanho da fonte
+			 * @param color (IndexedColors) - cor da fonte. Passe nulo para não setar
+			 * @throws IllegalArgumentException - caso nome ou fonte sejam nulos
+			 * @return StyleSheet.Builder
+			 */
+			public Builder font(final String name, final String fontName, final boolean bold, final double size, final IndexedColors color) {
+				if(null == name || null == fontName) {
+					throw new IllegalArgumentException("Fonte inválida -> "+name+", "+fontName);
+				}
+				this.fontes.put(name, new FonteDefinicao(name, fontName, bold, size, color));
+				return this;
+			}
+			
+			/**
+			 * Define um estilo -> createCellStyle(name, font, wrapText, hAlign, vAlign, fill, indexedColor, borders)
+			 * @param name (String) - nome chave do estilo
+			 * @param font (String) - nome de uma fonte definida neste builder. Passe nulo para não setar
+			 * @param hAlign (HorizontalAlignment) - alinhameto horizontal texto. Passe nulo para não setar
+			 * @param vAlign (VerticalAlignment) - alinhameto vertical texto. Passe nulo para não setar
+			 * @param fill (FillPatternType) - padrão de preenchimento do background. Passe nulo para não setar
+			 * @param indexedColor (IndexedColors) - cor de preenchimento. Passe nulo para não setar
+			 * @param borders - (BorderStyle...) - array de bordas -> Top, Right, Bottom, Left 
+			 * @return StyleSheet.Builder
+			 */
+			public Builder style(final String name, final String font, final boolean wrapText, final HorizontalAlignment hAlign, final VerticalAlignment vAlign,
+					final FillPatternType fill, final IndexedColors indexedColor, final BorderStyle... borders) {
+				return estilo(name, font, wrapText, hAlign, vAlign, fill, null == indexedColor ? null : new CorDefinicao(indexedColor), borders);
+			}
+			
+			/**
+			 * Define um estilo -> createCellStyle(name, font, wrapText, hAlign, vAlign, fill, color, borders)
+			 * @param name (String) - nome chave do estilo
+			 * @param font (String) - nome de uma fonte definida neste builder. Passe nulo para não setar
+			 * @param hAlign (HorizontalAlignment) - alinhameto horizontal texto. Passe nulo para não setar
+			 * @param vAlign (VerticalAlignment) - alinhameto vertical texto. Passe nulo para não setar
+			 * @param fill (FillPatternType) - padrão de preenchimento do background. Passe nulo para não setar
+			 * @param color (Color) - cor de preenchimento. Passe nulo para não setar
+			 * @param borders - (BorderStyle...) - array de bordas -> Top, Right, Bottom, Left 
+			 * @return StyleSheet.Builder
+			 */
+			public Builder style(final String name, final String font, final boolean wrapText, final HorizontalAlignment hAlign, final VerticalAlignment vAlign,
+					final FillPatternType fill, final Color color, final BorderStyle... borders) {
+				return estilo(name, font, wrapText, hAlign, vAlign, fill, null == color ? null : new CorDefinicao(color), borders);
+			}
+			
+			/**
+			 * Define o formato de um estilo já definido -> editCellStyleDataFormat(name, format)
+			 * @param name (String) - nome chave do estilo
+			 * @param format (String) - formato desejado. Ex: "dd/MM/yyyy"
+			 * @throws IllegalArgumentException - caso o estilo não tenha sido definido
+			 * @return StyleSheet.Builder
+			 */
+			public Builder dataFormat(final String name, final String format) {
+				final EstiloDefinicao definicao = this.estilos.get(name);
+				if(null == definicao) {
+					throw new IllegalArgumentException("Estilo inválido -> "+name);
+				}
+				this.estilos.put(name, definicao.comFormato(format));
+				return this;
+			}
+			
+			/**
+			 * @throws IllegalArgumentException - caso algum estilo use uma fonte não definida
+			 * @return StyleSheet - folha de estilos imutável
+			 */
+			public StyleSheet build() {
+				for(final EstiloDefinicao definicao : this.estilos.values()) {
+					if(null != definicao.fonte && !this.fontes.containsKey(definicao.fonte)) {
+						throw new IllegalArgumentException("Fonte inválida -> "+definicao.fonte+" (estilo "+definicao.nome+")");
+					}
+				}
+				return new StyleSheet(new ArrayList<>(this.fontes.values()), new ArrayList<>(this.estilos.values()));
+			}
+			
+			private Builder estilo(final String name, final String font, final boolean wrapText, final HorizontalAlignment hAlign, final VerticalAlignment vAlign,
+					final FillPatternType fill, final CorDefinicao cor, final BorderStyle... borders) {
+				if(null == name) {
+					throw new IllegalArgumentException("Estilo inválido -> "+name);
+				}
+				BorderStyle[] todasBordas = null;
+				if(null != borders) {
+					todasBordas = new BorderStyle[4];
+					for(int index = 0; index < borders.length; index++) {
+						todasBordas[index] = borders[index];
+					}
+				}
+				this.estilos.put(name, new EstiloDefinicao(name, font, wrapText, hAlign, vAlign, fill, cor, todasBordas, null));
+				return this;
+			}
+		}
+	}
+	
+	/**
+	 * Fonte compilada do StyleSheet
+	 */
+	private static final class FonteDefinicao {
+		
+		private final String nome;
+		private final String fontName;
+		private final boolean bold;
+		private final double size;
+		private final IndexedColors color;
+		
+		private FonteDefinicao(final String nome, final String fontName, final boolean bold, final double size, final IndexedColors color) {
+			this.nome = nome;
+			this.fontName = fontName;
+			this.bold = bold;
+			this.size = size;
+			this.color = color;
+		}
+	}
+	
+	/**
+	 * Cor de preenchimento compilada do StyleSheet (índice ou ARGB)
+	 */
+	private static final class CorDefinicao {
+		
+		private final IndexedColors indexed;
+		private final byte[] argb;
+		private final String chave;
+		
+		private CorDefinicao(final IndexedColors indexed) {
+			this.indexed = indexed;
+			this.argb = null;
+			this.chave = "i" + indexed.getIndex();
+		}
+		
+		private CorDefinicao(final Color color) {
+			this.indexed = null;
+			this.argb = new byte[] {(byte) color.getAlpha(), (byte) color.getRed(), (byte) color.getGreen(), (byte) color.getBlue()};
+			this.chave = Integer.toHexString(color.getRGB());
+		}
+		
+		private void aplicar(final CTColor color) {
+			if(null != this.indexed) {
+				color.setIndexed(this.indexed.getIndex());
+			} else {
+				color.setRgb(this.argb.clone());
+			}
+		}
+	}
+	
+	/**
+	 * Estilo compilado do StyleSheet. Bordas e preenchimento são chaveados na compilação para que cada combinação
+	 * seja gravada uma única vez por workbook na instalação.
+	 */
+	private static final class EstiloDefinicao {
+		
+		private final String nome;
+		private final String fonte;
+		private final boolean wrap;
+		private final HorizontalAlignment hAlign;
+		private final VerticalAlignment vAlign;
+		private final FillPatternType fill;
+		private final CorDefinicao cor;
+		private final BorderStyle[] bordas;
+		private final String formato;
+		private final String chaveBorda;
+		private final String chavePreenchimento;
+		
+		private EstiloDefinicao(final String nome, final String fonte, final boolean wrap, final HorizontalAlignment hAlign, final VerticalAlignment vAlign,
+				final FillPatternType fill, final CorDefinicao cor, final BorderStyle[] bordas, final String formato) {
+			this.nome = nome;
+			this.fonte = fonte;
+			this.wrap = wrap;
+			this.hAlign = hAlign;
+			this.vAlign = vAlign;
+			this.fill = fill;
+			this.cor = cor;
+			this.bordas = bordas;
+			this.formato = formato;
+			this.chaveBorda = null == bordas ? null : Arrays.toString(bordas);
+			this.chavePreenchimento = null == fill && null == cor ? null : fill + "|" + (null == cor ? "" : cor.chave);
+		}
+		
+		private EstiloDefinicao comFormato(final String formato) {
+			return new EstiloDefinicao(this.nome, this.fonte, this.wrap, this.hAlign, this.vAlign, this.fill, this.cor, this.bordas, formato);
+		}
+		
+		/**
+		 * @return CTBorder - nova borda (Top, Right, Bottom, Left) pronta para o StylesTable
+		 */
+		private CTBorder novaBorda() {
+			final CTBorder borda = CTBorder.Factory.newInstance();
+			lado(borda.addNewLeft(), this.bordas[3]);
+			lado(borda.addNewRight(), this.bordas[1]);
+			lado(borda.addNewTop(), this.bordas[0]);
+			lado(borda.addNewBottom(), this.bordas[2]);
+			borda.addNewDiagonal();
+			return borda;
+		}
+		
+		private static void lado(final CTBorderPr lado, final BorderStyle border) {
+			if(null != border && BorderStyle.NONE != border) {
+				lado.setStyle(STBorderStyle.Enum.forInt(border.getCode() + 1));
+			}
+		}
+		
+		/**
+		 * @return CTFill - novo preenchimento pronto para o StylesTable
+		 */
+		private CTFill novoPreenchimento() {
+			final CTFill preenchimento = CTFill.Factory.newInstance();
+			final CTPatternFill padrao = preenchimento.addNewPatternFill();
+			if(null != this.fill) {
+				padrao.setPatternType(STPatternType.Enum.forInt(this.fill.getCode() + 1));
+			}
+			if(null != this.cor) {
+				this.cor.aplicar(padrao.addNewFgColor());
+			}
+			return preenchimento;
+		}
+	}
+
+	// ROW CELL
+
+	/**
+	 * Cria linhas e células
+	 * 
+	 * @param sheet (XSSFSheet) - folha a ser alterada
+	 * @param celulasRegioes (String...) - celulas ou regiões a serem criadas. Ex: A1 ou A1:D5 (criará células e linhas de A1 até D5 inclusa) Separar por vírgula ("A1","A2:B3"...).
+	 * @throws Exception - células/regiões inválidas
+	 * @return PoiUtil
+	 */
+	public POIUtil2 createRowCell(final XSSFSheet sheet, final String... celulasRegioes) throws Exception{
+		percorrerRegioes(sheet, true, celulasRegioes, (row, coluna) -> row.createCell(coluna));
+		return this;
+	}
+	
+	/**
+	 * Cria linha e célula
+	 * 
+	 * @param sheet (XSSFSheet) - folha a ser alterada
+	 * @param row (int) - número da linha a ser criada. (base 0)
+	 * @param col (int) - número da coluna a ser criada. (base 0)
+	 * @return PoiUtil
+	 */
+	public POIUtil2 createRowCell(final XSSFSheet sheet, final int row, final int col) throws Exception{
+		novaLinha(sheet(sheet), row).createCell(col);
+		return this;
+	}
+	
+	
+	/**
+	 * Cria linha e células
+	 * 
+	 * @param sheet (XSSFSheet) - folha a ser alterada
+	 * @param row (int) - número da linha a ser criada. (base 0)
+	 * @param cols (int[]) - array de colunas a serem criadas. (base 0)
+	 * @return PoiUtil
+	 */
+	public POIUtil2 createRowCells(final XSSFSheet sheet, final int row, final int[] cols) throws Exception{
+		final Row xssfRow = novaLinha(sheet(sheet), row);
+		int index = 0;
+		while(index < cols.length) {
+			xssfRow.createCell(cols[index++]);
+		}
+		return this;
+	}
+
+	/**
+	 * Cria linhas e células e configura estilo nas células
+	 * 
+	 * @param sheet (XSSFSheet) - folha a ser alterada
+	 * @param celulasRegioes (String...) - celulas ou regiões a serem criadas. Ex: A1 ou A1:D5 (criará células e linhas de A1 até D5 inclusa) Separar por vírgula ("A1","A2:B3"...).
+	 * @throws NullPointerException - caso estilo não exista
+	 * @throws Exception - células/regiões inválidas
+	 * @return PoiUtil
+	 */
+	public POIUtil2 createRowCellStyle(final XSSFSheet sheet, final String styleName, final String... celulasRegioes) throws Exception{
+		final XSSFCellStyle estilo = estilos().get(styleName);
+		percorrerRegioes(sheet, true, celulasRegioes, (row, coluna) -> row.createCell(coluna).setCellStyle(estilo));
+		return this;
+	}
+
+	/**
+	 * Edita estilo das células
+	 * 
+	 * @param sheet (XSSFSheet) - folha a ser alterada
+	 * @param celulasRegioes (String...) - celulas ou regiões a serem editadas. Ex: A1 ou A1:D5 (criará células e linhas de A1 até D5 inclusa) Separar por vírgula ("A1","A2:B3"...).
+	 * @throws NullPointerException - caso estilo não exista
+	 * @throws Exception - células/regiões inválidas
+	 * @return PoiUtil
+	 */
+	public POIUtil2 editCellStyleInRowsCells(final XSSFSheet sheet, final String cellStyleName, final String... celulasRegioes) throws Exception{
+		final XSSFCellStyle estilo = estilos().get(cellStyleName);
+		percorrerRegioes(sheet, false, celulasRegioes, (row, coluna) -> row.getCell(coluna).setCellStyle(estilo));
+		return this;
+	}
+
+	// FONTS
+
+	/**
+	 * Cria e armazena XSSFFont no HashMap<String,XSSFFont>
+	 * 
+	 * @param name (String) - nome chave da fonte
+	 * @return PoiUtil
+	 */
+	public POIUtil2 createFont(final String name) {
+		fontes().put(name, xssf().createFont());
+		return this;
+	}
+	
+	/**
+	 * Cria e configura XSSFFont no HashMap<String,XSSFFont>
+	 * @param name (String) - key do hashmap
+	 * @param fontName (String) - nome da fonte no excel
+	 * @param bold (boolean) - Configura negrito
+	 * @param size (double) - Tamanho da fonte
+	 * @return
+	 */
+	public POIUtil2 createFont(final String name, final String fontName, final boolean bold, final double size) {
+		createFont(name).editFontName(name, fontName).editFontBold(name, bold).editFontSize(name, size);
+		return this;
+	}
+
+	/**
+	 * Configura negrito da fonte
+	 * 
+	 * @param name (String) - nome chave da fonte no HashMap
+	 * @param bold (boolean) - se é negrito ou não
+	 * @return PoiUtil
+	 */
+	public POIUtil2 editFontBold(final String name, final boolean bold) {
+		this.getFont(name).setBold(bold);
+		return this;
+	}
+	
+	/**
+	 * Configura negrito da fonte da célula. Células com o mesmo resultado compartilham o mesmo estilo e a mesma fonte.
+	 * 
+	 * @param cell (XSSFCell) - célula com estilo a ser configurado
+	 * @param bold (boolean) - se é negrito ou não
+	 * @return PoiUtil
+	 */
+	public POIUtil2 editFontBold(final XSSFCell cell, final boolean bold) {
+		final XSSFCellStyle style = cell.getCellStyle();
+		final XSSFFont font = fonteInternada(style.getFont(), bold, style.getFont().getFontHeight());
+		cell.setCellStyle(estiloInternado(style, font, null, null, null, null, null, null, null, null, null));
+		return this;
+	}
+	
+	/**
+	 * Configura tamanho da fonte da célula. Células com o mesmo resultado compartilham o mesmo estilo e a mesma fonte.
+	 * 
+	 * @param cell (XSSFCell) - célula com estilo a ser configurado
+	 * @param size (double) - altura da fonte em double
+	 * @return PoiUtil
+	 */
+	public POIUtil2 editFontSize(final XSSFCell cell, final double size) {
+		final XSSFCellStyle style = cell.getCellStyle();
+		final XSSFFont font = fonteInternada(style.getFont(), style.getFont().getBold(), (short) Math.round(size * 20));
+		cell.setCellStyle(estiloInternado(style, font, null, null, null, null, null, null, null, null, null));
+		return this;
+	}
+	
+	/**
+	 * Configura tamanho da fonte da célula
+	 * @param sheet (XSSFSheet) - folha a ser alterada
+	 * @param row (int) - número da linha
+	 * @param col (int) - número da coluna
+	 * @param size (double) - altura da fonte em double
+	 * @return
+	 */
+	public POIUtil2 editFontSize(final XSSFSheet sheet, final int row, final int col, final double size) {
+		final XSSFCell cell = folhaAtual(sheet).getRow(row).getCell(col);
+		return editFontSize(cell, size);
+	}
+	
+	/**
+	 * Configura cor da Fonte. (IndexedColors)
+	 * @param name (String) - nome chave da fonte no HashMap
+	 * @param color (IndexedColors) - cor da fonte
+	 * @return PoiUtil
+	 */
+	public POIUtil2 editFontColor(final String name, final IndexedColors color) {
+		this.getFont(name).setColor(color.getIndex());
+		return this;
+	}
+
+	/**
+	 * Edita nome da fonte do documento
+	 * 
+	 * @param name     (String) - nome chave da fonte no HashMap
+	 * @param fontName (String) - nome da fonte no documento. Ex: Calibri
+	 * @return PoiUtil
+	 */
+	public POIUtil2 editFontName(final String name, final String fontName) {
+		this.getFont(name).setFontName(fontName);
+		return this;
+
+	}
+
+	public POIUtil2 editFontSize(final String name, final double size) {
+		this.getFont(name).setFontHeight(size);
+		return this;
+	}
+
+	/**
+	 * Retorna fonte pela key nome
+	 * 
+	 * @param name (String) - nome chave da fonte
+	 * @return XSSFFont
+	 */
+	public XSSFFont getFont(final String name) {
+		return fontes().get(name);
+	}
+	
+	public XSSFFont copyFont(final XSSFFont font) {
+		final XSSFFont newFont = xssf().createFont();
+		newFont.setFamily(font.getFamily());
+		newFont.setFontName(font.getFontName());
+		newFont.setFontHeight(font.getFontHeight());
+		newFont.setColor(font.getColor());
+		newFont.setBold(font.getBold());
+		return newFont;
+	}
+
+	/**
+	 * Retorna fonte igual à informada (copyFont) com negrito e altura alterados. Fontes com os mesmos atributos são reutilizadas.
+	 * @param base (XSSFFont) - fonte original
+	 * @param bold (boolean) - negrito
+	 * @param height (short) - altura em 1/20 de ponto
+	 * @return XSSFFont
+	 */
+	private XSSFFont fonteInternada(final XSSFFont base, final boolean bold, final short height) {
+		final String chave = base.getFamily() + "|" + base.getFontName() + "|" + height + "|" + base.getColor() + "|" + bold;
+		XSSFFont font = this._fontesInternadas.get(chave);
+		if(null == font) {
+			font = copyFont(base);
+			font.setBold(bold);
+			font.setFontHeight(height);
+			this._fontesInternadas.put(chave, font);
+		}
+		return font;
+	}
+
+	// IMAGES
+
+	/**
+	 * Insere imagem nos pontos XY definidos. Recebe o caminho da imagem (imagePath), lida com NIO e mantida no cache de imagens
+	 * do processo (ver setImageCacheSize()) junto com o tipo detectado (PNG, JPEG, GIF ou BMP).
+	 * Imagens com o mesmo conteúdo são gravadas uma única vez no workbook.
+	 * 
+	 * @param sheet      (XSSFSheet) - folha a ser alterada
+	 * @param regiao (String) - linha e células que imagem ocupará. Ex: "A1:H5"
+	 * @param scaleX     (double) - Escala (tamanho) em X da imagem de acordo com
+	 *                   row1, row2, cell1, cell2
+	 * @param scaleY     (double) - Escala (tamanho) em Y da imagem de acordo com
+	 *                   row1, row2, cell1, cell2
+	 * @param dx1        (int) - Posição X do canto superior esquerdo em relação ao
+	 *                   col1
+	 * @param dx2        (int) - Posição X do canto inferior direito em relação ao
+	 *                   col2
+	 * @param dy1        (int) - Posição Y do canto superior esquerdo em relação ao
+	 *                   row1
+	 * @param dy2        (int) - Posição Y do canto inferior direito em relação ao
+	 *                   row2
+	 * @param anchorType (AnchorType) - Comportamento da imagem
+	 * @param imagePath  (String) - Caminho da imagem
+	 * @throws IllegalArgumentException - caso uma escala seja Double.MAX_VALUE (tamanho original) e as dimensões da imagem não possam ser lidas
+	 * @throws Exception
+	 */
+	public void insertImage(final XSSFSheet sheet, final String regiao, final double scaleX, final double scaleY, final int dx1, final int dx2, final int dy1, final int dy2,
+			final AnchorType anchorType, final String imagePath) throws Exception {
+
+		inserirImagem(sheet, regiao, scaleX, scaleY, dx1, dx2, dy1, dy2, anchorType, null, imagem(imagePath));
+	}
+	
+	/**
+	 * Insere imagem nos pontos XY definidos. Imagens com o mesmo conteúdo são gravadas uma única vez no workbook.
+	 * 
+	 * @param sheet      (XSSFSheet) - folha a ser alterada
+	 * @param regiao (String) - linha e células que imagem ocupará. Ex: "A1:H5"
+	 * @param scaleX     (double) - Escala (tamanho) em X da imagem de acordo com
+	 *                   row1, row2, cell1, cell2
+	 * @param scaleY     (double) - Escala (tamanho) em Y da imagem de acordo com
+	 *                   row1, row2, cell1, cell2
+	 * @param dx1        (int) - Posição X do canto superior esquerdo em relação ao
+	 *                   col1
+	 * @param dx2        (int) - Posição X do canto inferior direito em relação ao
+	 *                   col2
+	 * @param dy1        (int) - Posição Y do canto superior esquerdo em relação ao
+	 *                   row1
+	 * @param dy2        (int) - Posição Y do canto inferior direito em relação ao
+	 *                   row2
+	 * @param anchorType (AnchorType) - Comportamento da imagem
+	 * @param fillColorRgb (int[]) - Cor de fundo da imagem em RGB.
+	 * @param image  (byte[]) - Byte array da imagem
+	 * @throws IllegalArgumentException - caso uma escala seja Double.MAX_VALUE (tamanho original) e as dimensões da imagem não possam ser lidas
+	 * @throws Exception 
+	 */
+	public void insertImage(final XSSFSheet sheet, final String regiao,	final double scaleX, final double scaleY, final int dx1, final int dx2, final int dy1, final int dy2,
+			final AnchorType anchorType, final int[] fillColorRgb,final byte[] image) throws Exception {
+		
+		inserirImagem(sheet, regiao, scaleX, scaleY, dx1, dx2, dy1, dy2, anchorType, fillColorRgb, new Imagem(image));
+	}
+	
+	/**
+	 * Insere imagem no tamanho original (pixels a 96 dpi) multiplicado pela escala, a partir do canto superior esquerdo da célula.
+	 * As dimensões são lidas do cabeçalho uma única vez por imagem (ficam no cache junto com os bytes) e a âncora é calculada
+	 * pelas larguras das colunas e alturas das linhas, sem decodificar a imagem.
+	 * 
+	 * @param sheet      (XSSFSheet) - folha a ser alterada
+	 * @param row        (int) - linha do canto superior esquerdo. Base 0
+	 * @param column     (int) - coluna do canto superior esquerdo. Base 0
+	 * @param scale      (double) - escala sobre o tamanho original. Ex: 0.5 -> metade
+	 * @param anchorType (AnchorType) - Comportamento da imagem
+	 * @param imagePath  (String) - Caminho da imagem
+	 * @throws IllegalArgumentException - caso as dimensões da imagem não possam ser lidas (PNG, JPEG, GIF e BMP)
+	 * @throws Exception
+	 */
+	public void insertImage(final XSSFSheet sheet, final int row, final int column, final double scale, final AnchorType anchorType,
+			final String imagePath) throws Exception {
 		
-		createCellStyle(name).editCellStyleFont(name, font).editCellStyleWrapText(name, wrapText).editCellStyleAlignment(name, hAlign, vAlign)
-		.editCellStyleFillPattern(name, fill).editCellStyleForegroundColor(name, indexedColor);
-		if(null != borders) {
-			final BorderStyle[] allBorder = new BorderStyle[4];
-			for(int index = 0; index < borders.length; index++) {
-				allBorder[index] = borders[index];
+		inserirImagem(sheet, row, column, scale, anchorType, imagem(imagePath));
+	}
+	
+	/**
+	 * Insere imagem no tamanho original (pixels a 96 dpi) multiplicado pela escala, a partir do canto superior esquerdo da célula.
+	 * Ver insertImage(sheet, row, column, scale, anchorType, imagePath)
+	 * 
+	 * @param sheet      (XSSFSheet) - folha a ser alterada
+	 * @param row        (int) - linha do canto superior esquerdo. Base 0
+	 * @param column     (int) - coluna do canto superior esquerdo. Base 0
+	 * @param scale      (double) - escala sobre o tamanho original. Ex: 0.5 -> metade
+	 * @param anchorType (AnchorType) - Comportamento da imagem
+	 * @param image      (byte[]) - Byte array da imagem
+	 * @throws IllegalArgumentException - caso as dimensões da imagem não possam ser lidas (PNG, JPEG, GIF e BMP)
+	 * @throws Exception
+	 */
+	public void insertImage(final XSSFSheet sheet, final int row, final int column, final double scale, final AnchorType anchorType,
+			final byte[] image) throws Exception {
+		
+		inserirImagem(sheet, row, column, scale, anchorType, new Imagem(image));
+	}
+	
+	/**
+	 * Define o tamanho máximo (soma dos bytes) do cache de imagens lidas do disco, compartilhado por todo o processo.
+	 * Ao exceder o limite as imagens usadas há mais tempo são removidas. 0 desativa o cache.
+	 * @param maxBytes (long) - tamanho máximo. Padrão 32MB
+	 * @throws IllegalArgumentException - caso tamanho seja negativo
+	 */
+	public static void setImageCacheSize(final long maxBytes) {
+		if(maxBytes < 0) {
+			throw new IllegalArgumentException("Tamanho do cache de imagens inválido -> "+maxBytes);
+		}
+		synchronized (IMAGENS) {
+			imageCacheSize = maxBytes;
+			liberarImagens();
+		}
+	}
+	
+	/**
+	 * @return long - soma dos bytes das imagens em cache
+	 */
+	public static long getImageCacheBytes() {
+		synchronized (IMAGENS) {
+			return _bytesImagens;
+		}
+	}
+	
+	/**
+	 * Remove a imagem do cache
+	 * @param imagePath (String) - caminho da imagem
+	 */
+	public static void evictImage(final String imagePath) {
+		synchronized (IMAGENS) {
+			final ImagemArquivo removida = IMAGENS.remove(Paths.get(imagePath).toAbsolutePath().normalize());
+			if(null != removida) {
+				_bytesImagens -= removida.imagem.bytes.length;
 			}
-			editCellStyleBorder(name, allBorder[0], allBorder[1], allBorder[2], allBorder[3]);
 		}
-		return this;
 	}
 	
 	/**
-	 * Cria e configura XSSFCellStyle no HashMap<String,XSSFCellStyle>
-	 * @param name (String) - key no hashmap
-	 * @param font (String) - key da fonte no HashMap<String,XSSFFont>
-	 * @param hAlign (HorizontalAlignment) - alinhameto horizontal texto
-	 * @param vAlign (VerticalAlignment) - posialinhametoção vertical texto
-	 * @param fill (FillPatternType) - padrão de preenchimento do background
-	 * @param color (Color) - índice da cor de preenchimento
-	 * @param borders - (BorderStyle...) - array de bordas -> Top, Right, Bottom, Left 
-	 * @return
+	 * Remove todas as imagens do cache
 	 */
-	public POIUtil2 createCellStyle(final String name, final String font,final boolean wrapText, final HorizontalAlignment hAlign, final VerticalAlignment vAlign,
-			final FillPatternType fill, final Color color,final BorderStyle... borders) {
+	public static void clearImages() {
+		synchronized (IMAGENS) {
+			IMAGENS.clear();
+			_bytesImagens = 0;
+		}
+	}
+	
+	/**
+	 * Insere a imagem reaproveitando a imagem já gravada no workbook e o desenho da folha.
+	 * A âncora final é a mesma de picture.resize(scaleX, scaleY), calculada antes de criar a imagem no POI 3.17: col1/dx1 e row1/dy1
+	 * são mantidos (o resize do 3.17 não zera dx1/dy1) e col2/dx2 e row2/dy2 são recalculados descontando dx1/dy1
+	 */
+	private void inserirImagem(final XSSFSheet sheet, final String regiao, final double scaleX, final double scaleY, final int dx1, final int dx2, final int dy1, final int dy2,
+			final AnchorType anchorType, final int[] fillColorRgb, final Imagem imagem) throws Exception {
 		
-		createCellStyle(name).editCellStyleFont(name, font).editCellStyleWrapText(name, wrapText).editCellStyleAlignment(name, hAlign, vAlign)
-		.editCellStyleFillPattern(name, fill).editCellStyleForegroundColor(name, color);
-		if(null != borders) {
-			final BorderStyle[] allBorder = new BorderStyle[4];
-			for(int index = 0; index < borders.length; index++) {
-				allBorder[index] = borders[index];
+		validarRegioes(new String[] {regiao});
+		// tamanho original (Double.MAX_VALUE) depende das dimensões lidas do cabeçalho
+		if((Double.MAX_VALUE == scaleX && imagem.largura <= 0) || (Double.MAX_VALUE == scaleY && imagem.altura <= 0)) {
+			throw new IllegalArgumentException("Imagem inválida -> dimensões desconhecidas (tipo "+imagem.tipo+")");
+		}
+		setUltimaRegiaoAutalizada(sheet,regiao);
+		final long inicio = inicioRegiao(regiao);
+		final long fim = fimRegiao(regiao);
+		final Sheet folha = sheet(sheet);
+		final ClientAnchor anchor = xssf().getCreationHelper().createClientAnchor();
+		anchor.setAnchorType(anchorType);
+		anchor.setCol1(colunaCelula(inicio));
+		anchor.setCol2(colunaCelula(fim));
+		anchor.setRow1(linhaCelula(inicio));
+		anchor.setRow2(linhaCelula(fim));
+		anchor.setDx1(dx1 * Units.EMU_PER_POINT);
+		anchor.setDx2(dx2 * Units.EMU_PER_POINT);
+		anchor.setDy1(dy1 * Units.EMU_PER_POINT);
+		anchor.setDy2(dy2 * Units.EMU_PER_POINT);
+		// escala relativa à região; Double.MAX_VALUE -> tamanho original da imagem (mesma regra do ImageUtils)
+		final double[] tamanhoRegiao = tamanhoAncora(folha, anchor);
+		final double largura = Double.MAX_VALUE == scaleX ? imagem.largura : tamanhoRegiao[0] * scaleX;
+		final double altura = Double.MAX_VALUE == scaleY ? imagem.altura : tamanhoRegiao[1] * scaleY;
+		ajustarAncora(folha, anchor, largura, altura);
+		final Picture picture = criarImagem(folha, anchor, imagem, largura, altura);
+		if(null != fillColorRgb) {
+			picture.setFillColor(fillColorRgb[0], fillColorRgb[1], fillColorRgb[2]);
+		}
+	}
+	
+	/**
+	 * Insere a imagem no tamanho original multiplicado pela escala a partir da célula
+	 */
+	private void inserirImagem(final XSSFSheet sheet, final int row, final int column, final double scale, final AnchorType anchorType,
+			final Imagem imagem) throws Exception {
+		
+		if(imagem.largura <= 0 || imagem.altura <= 0) {
+			throw new IllegalArgumentException("Imagem inválida -> dimensões desconhecidas (tipo "+imagem.tipo+")");
+		}
+		final Sheet folha = sheet(sheet);
+		final ClientAnchor anchor = xssf().getCreationHelper().createClientAnchor();
+		anchor.setAnchorType(anchorType);
+		anchor.setCol1(column);
+		anchor.setRow1(row);
+		final double largura = imagem.largura * scale;
+		final double altura = imagem.altura * scale;
+		ajustarAncora(folha, anchor, largura, altura);
+		criarImagem(folha, anchor, imagem, largura, altura);
+	}
+	
+	/**
+	 * Cria a imagem com a âncora já calculada e grava o tamanho (EMU) no shape, como o resize do POI
+	 * @param largura (double) - largura em pixels
+	 * @param altura (double) - altura em pixels
+	 * @return Picture
+	 */
+	private Picture criarImagem(final Sheet folha, final ClientAnchor anchor, final Imagem imagem, final double largura, final double altura) {
+		final Picture picture = desenho(folha).createPicture(anchor, indiceImagem(imagem));
+		if(picture instanceof XSSFPicture) {
+			final CTPositiveSize2D tamanho = ((XSSFPicture) picture).getCTPicture().getSpPr().getXfrm().getExt();
+			tamanho.setCx(Math.round(largura * Units.EMU_PER_PIXEL));
+			tamanho.setCy(Math.round(altura * Units.EMU_PER_PIXEL));
+		}
+		return picture;
+	}
+	
+	/**
+	 * Tamanho ocupado pela âncora, em pixels (ImageUtils.getDimensionFromAnchor)
+	 * @param folha (Sheet) - folha
+	 * @param anchor (ClientAnchor) - âncora com col1/col2/row1/row2 e deslocamentos
+	 * @return double[] - largura, altura
+	 */
+	private static double[] tamanhoAncora(final Sheet folha, final ClientAnchor anchor) {
+		double largura = folha.getColumnWidthInPixels(anchor.getCol1()) - anchor.getDx1() / (double) Units.EMU_PER_PIXEL;
+		for(int coluna = anchor.getCol1() + 1; coluna < anchor.getCol2(); coluna++) {
+			largura += folha.getColumnWidthInPixels(coluna);
+		}
+		largura += anchor.getDx2() / (double) Units.EMU_PER_PIXEL;
+		double altura = alturaLinhaPixels(folha, anchor.getRow1()) - anchor.getDy1() / (double) Units.EMU_PER_PIXEL;
+		for(int linha = anchor.getRow1() + 1; linha < anchor.getRow2(); linha++) {
+			altura += alturaLinhaPixels(folha, linha);
+		}
+		altura += anchor.getDy2() / (double) Units.EMU_PER_PIXEL;
+		return new double[] {Math.rint(largura * Units.EMU_PER_PIXEL) / Units.EMU_PER_PIXEL, Math.rint(altura * Units.EMU_PER_PIXEL) / Units.EMU_PER_PIXEL};
+	}
+	
+	/**
+	 * Define col2/dx2 e row2/dy2 para que a imagem ocupe largura x altura a partir de col1/dx1 e row1/dy1 (ImageUtils.setPreferredSize)
+	 * @param largura (double) - largura em pixels
+	 * @param altura (double) - altura em pixels
+	 */
+	private static void ajustarAncora(final Sheet folha, final ClientAnchor anchor, final double largura, final double altura) {
+		int coluna = anchor.getCol1();
+		double ocupada = folha.getColumnWidthInPixels(coluna++) - anchor.getDx1() / (double) Units.EMU_PER_PIXEL;
+		while(ocupada < largura && coluna < MAX_COLUNAS) {
+			ocupada += folha.getColumnWidthInPixels(coluna++);
+		}
+		int dx2 = 0;
+		if(ocupada > largura) {
+			final double larguraColuna = folha.getColumnWidthInPixels(--coluna);
+			dx2 = Math.max(0, (int) ((larguraColuna - (ocupada - largura)) * Units.EMU_PER_PIXEL));
+		}
+		anchor.setCol2(coluna);
+		anchor.setDx2(dx2);
+		
+		int linha = anchor.getRow1();
+		ocupada = alturaLinhaPixels(folha, linha++) - anchor.getDy1() / (double) Units.EMU_PER_PIXEL;
+		while(ocupada < altura && linha < MAX_LINHAS) {
+			ocupada += alturaLinhaPixels(folha, linha++);
+		}
+		int dy2 = 0;
+		if(ocupada > altura) {
+			final double alturaLinha = alturaLinhaPixels(folha, --linha);
+			dy2 = Math.max(0, (int) ((alturaLinha - (ocupada - altura)) * Units.EMU_PER_PIXEL));
+		}
+		anchor.setRow2(linha);
+		anchor.setDy2(dy2);
+	}
+	
+	/**
+	 * @return double - altura da linha em pixels (altura padrão da folha caso a linha não exista)
+	 */
+	private static double alturaLinhaPixels(final Sheet folha, final int linha) {
+		final Row row = folha.getRow(linha);
+		final float pontos = null == row ? folha.getDefaultRowHeightInPoints() : row.getHeightInPoints();
+		return Units.toEMU(pontos) / (double) Units.EMU_PER_PIXEL;
+	}
+	
+	/**
+	 * Retorna o desenho da folha, criado uma única vez por folha
+	 * @param sheet (Sheet) - folha
+	 * @return Drawing
+	 */
+	private Drawing<?> desenho(final Sheet sheet) {
+		if(null == this._desenhos) {
+			this._desenhos = new IdentityHashMap<>();
+		}
+		Drawing<?> drawing = this._desenhos.get(sheet);
+		if(null == drawing) {
+			drawing = sheet.createDrawingPatriarch();
+			this._desenhos.put(sheet, drawing);
+		}
+		return drawing;
+	}
+	
+	/**
+	 * Retorna o índice da imagem no workbook, gravando-a apenas se nenhuma imagem com o mesmo conteúdo (SHA-1) existir.
+	 * Na primeira chamada indexa as imagens já existentes (template/workbook restaurado).
+	 * @param imagem (Imagem) - imagem
+	 * @return int - índice para createPicture
+	 */
+	private int indiceImagem(final Imagem imagem) {
+		final XSSFWorkbook workbook = xssf();
+		if(null == this._imagens) {
+			this._imagens = new HashMap<>();
+			final List<XSSFPictureData> existentes = workbook.getAllPictures();
+			for(int index = 0; index < existentes.size(); index++) {
+				this._imagens.putIfAbsent(sha1(existentes.get(index).getData()), index);
 			}
-			editCellStyleBorder(name, allBorder[0], allBorder[1], allBorder[2], allBorder[3]);
+		}
+		Integer indice = this._imagens.get(imagem.hash);
+		if(null == indice) {
+			indice = workbook.addPicture(imagem.bytes, imagem.tipo);
+			this._imagens.put(imagem.hash, indice);
+		}
+		return indice;
+	}
+	
+	/**
+	 * Retorna a imagem do cache, lendo o arquivo quando não está em cache ou mudou (data de modificação/tamanho)
+	 * @param imagePath (String) - caminho da imagem
+	 * @return Imagem
+	 * @throws IOException
+	 */
+	private static Imagem imagem(final String imagePath) throws IOException {
+		final Path path = Paths.get(imagePath).toAbsolutePath().normalize();
+		final BasicFileAttributes atributos = Files.readAttributes(path, BasicFileAttributes.class);
+		final long modificacao = atributos.lastModifiedTime().toMillis();
+		final long tamanho = atributos.size();
+		synchronized (IMAGENS) {
+			final ImagemArquivo atual = IMAGENS.get(path);
+			if(null != atual && atual.modificacao == modificacao && atual.tamanho == tamanho) {
+				return atual.imagem;
+			}
+		}
+		// leitura fora do lock -> threads lendo imagens diferentes não se bloqueiam
+		final Imagem imagem = new Imagem(Files.readAllBytes(path));
+		synchronized (IMAGENS) {
+			if(imagem.bytes.length <= imageCacheSize) {
+				final ImagemArquivo anterior = IMAGENS.put(path, new ImagemArquivo(modificacao, tamanho, imagem));
+				if(null != anterior) {
+					_bytesImagens -= anterior.imagem.bytes.length;
+				}
+				_bytesImagens += imagem.bytes.length;
+				liberarImagens();
+			}
+		}
+		return imagem;
+	}
+	
+	/**
+	 * Remove as imagens usadas há mais tempo até o cache caber no limite. Chamado com o lock de IMAGENS
+	 */
+	private static void liberarImagens() {
+		final Iterator<ImagemArquivo> iterator = IMAGENS.values().iterator();
+		while(_bytesImagens > imageCacheSize && iterator.hasNext()) {
+			_bytesImagens -= iterator.next().imagem.bytes.length;
+			iterator.remove();
+		}
+	}
+	
+	/**
+	 * @param bytes (byte[]) - bytes da imagem
+	 * @return int - tipo da imagem pela assinatura do arquivo. PNG quando não reconhecido
+	 */
+	private static int tipoImagem(final byte[] bytes) {
+		if(bytes.length >= 3 && (bytes[0] & 0xFF) == 0xFF && (bytes[1] & 0xFF) == 0xD8 && (bytes[2] & 0xFF) == 0xFF) {
+			return Workbook.PICTURE_TYPE_JPEG;
+		}
+		if(bytes.length >= 4 && bytes[0] == 'G' && bytes[1] == 'I' && bytes[2] == 'F' && bytes[3] == '8') {
+			return XSSFWorkbook.PICTURE_TYPE_GIF;
+		}
+		if(bytes.length >= 2 && bytes[0] == 'B' && bytes[1] == 'M') {
+			return XSSFWorkbook.PICTURE_TYPE_BMP;
+		}
+		return Workbook.PICTURE_TYPE_PNG;
+	}
+	
+	/**
+	 * Dimensões da imagem em pixels a 96 dpi lidas do cabeçalho (PNG, JPEG, GIF, BMP), sem decodificar a imagem.
+	 * JPEG com densidade JFIF diferente de 96 dpi é convertido como no ImageUtils do POI
+	 * @param bytes (byte[]) - bytes da imagem
+	 * @param tipo (int) - tipo detectado
+	 * @return int[] - largura, altura. 0, 0 caso não reconhecido
+	 */
+	private static int[] dimensoesImagem(final byte[] bytes, final int tipo) {
+		final int tamanho = bytes.length;
+		if(Workbook.PICTURE_TYPE_PNG == tipo && tamanho >= 24 && bytes[12] == 'I' && bytes[13] == 'H' && bytes[14] == 'D' && bytes[15] == 'R') {
+			return new int[] {inteiro32(bytes, 16), inteiro32(bytes, 20)};
+		}
+		if(XSSFWorkbook.PICTURE_TYPE_GIF == tipo && tamanho >= 10) {
+			return new int[] {inteiro16LE(bytes, 6), inteiro16LE(bytes, 8)};
+		}
+		if(XSSFWorkbook.PICTURE_TYPE_BMP == tipo && tamanho >= 26) {
+			if(inteiro16LE(bytes, 14) == 12) {
+				return new int[] {inteiro16LE(bytes, 18), inteiro16LE(bytes, 20)};
+			}
+			final int altura = inteiro16LE(bytes, 22) | inteiro16LE(bytes, 24) << 16;
+			return new int[] {inteiro16LE(bytes, 18) | inteiro16LE(bytes, 20) << 16, Math.abs(altura)};
+		}
+		if(Workbook.PICTURE_TYPE_JPEG == tipo) {
+			int dpiX = 96;
+			int dpiY = 96;
+			int index = 2;
+			while(index + 9 < tamanho) {
+				if((bytes[index] & 0xFF) != 0xFF) {
+					index++;
+					continue;
+				}
+				final int marcador = bytes[index + 1] & 0xFF;
+				if(marcador == 0xFF || marcador == 0x01 || (marcador >= 0xD0 && marcador <= 0xD8)) {
+					index += marcador == 0xFF ? 1 : 2;
+					continue;
+				}
+				if(marcador == 0xE0 && index + 16 <= tamanho && bytes[index + 4] == 'J' && bytes[index + 5] == 'F' && bytes[index + 6] == 'I' && bytes[index + 7] == 'F') {
+					final int unidade = bytes[index + 11];
+					final int densidadeX = inteiro16(bytes, index + 12);
+					final int densidadeY = inteiro16(bytes, index + 14);
+					if(densidadeX > 0 && densidadeY > 0 && (unidade == 1 || unidade == 2)) {
+						// 2 -> pontos por centímetro
+						dpiX = unidade == 1 ? densidadeX : (int) Math.round(densidadeX * 2.54);
+						dpiY = unidade == 1 ? densidadeY : (int) Math.round(densidadeY * 2.54);
+					}
+				}
+				// SOF0..SOF15, exceto DHT (C4), JPG (C8) e DAC (CC)
+				if(marcador >= 0xC0 && marcador <= 0xCF && marcador != 0xC4 && marcador != 0xC8 && marcador != 0xCC) {
+					return new int[] {inteiro16(bytes, index + 7) * 96 / dpiX, inteiro16(bytes, index + 5) * 96 / dpiY};
+				}
+				index += 2 + inteiro16(bytes, index + 2);
+			}
+		}
+		return new int[] {0, 0};
+	}
+	
+	private static int inteiro32(final byte[] bytes, final int index) {
+		return (bytes[index] & 0xFF) << 24 | (bytes[index + 1] & 0xFF) << 16 | (bytes[index + 2] & 0xFF) << 8 | (bytes[index + 3] & 0xFF);
+	}
+	
+	private static int inteiro16(final byte[] bytes, final int index) {
+		return (bytes[index] & 0xFF) << 8 | (bytes[index + 1] & 0xFF);
+	}
+	
+	private static int inteiro16LE(final byte[] bytes, final int index) {
+		return (bytes[index] & 0xFF) | (bytes[index + 1] & 0xFF) << 8;
+	}
+	
+	/**
+	 * @param bytes (byte[]) - conteúdo
+	 * @return String - SHA-1 do conteúdo em hexadecimal
+	 */
+	private static String sha1(final byte[] bytes) {
+		final byte[] digest;
+		try {
+			digest = MessageDigest.getInstance("SHA-1").digest(bytes);
+		} catch (final NoSuchAlgorithmException e) {
+			// SHA-1 é obrigatório em toda JVM
+			throw new IllegalStateException(e);
+		}
+		final char[] hexa = new char[digest.length * 2];
+		final char[] digitos = "0123456789abcdef".toCharArray();
+		for(int index = 0; index < digest.length; index++) {
+			hexa[index * 2] = digitos[(digest[index] >> 4) & 0xF];
+			hexa[index * 2 + 1] = digitos[digest[index] & 0xF];
+		}
+		return new String(hexa);
+	}
+	
+	/**
+	 * Imagem imutável: bytes, tipo detectado, hash do conteúdo e dimensões em pixels (lidas do cabeçalho)
+	 */
+	private static final class Imagem {
+		
+		private final byte[] bytes;
+		private final int tipo;
+		private final String hash;
+		private final int largura;
+		private final int altura;
+		
+		private Imagem(final byte[] bytes) {
+			this.bytes = bytes;
+			this.tipo = tipoImagem(bytes);
+			this.hash = sha1(bytes);
+			final int[] dimensoes = dimensoesImagem(bytes, this.tipo);
+			this.largura = dimensoes[0];
+			this.altura = dimensoes[1];
+		}
+	}
+	
+	/**
+	 * Imagem do cache com a data de modificação e o tamanho do arquivo lido
+	 */
+	private static final class ImagemArquivo {
+		
+		private final long modificacao;
+		private final long tamanho;
+		private final Imagem imagem;
+		
+		private ImagemArquivo(final long modificacao, final long tamanho, final Imagem imagem) {
+			this.modificacao = modificacao;
+			this.tamanho = tamanho;
+			this.imagem = imagem;
+		}
+	}
+
+	// COLUMNS
+	
+	/**
+	 * Tabela de larguras de caracteres de uma fonte, em unidades da largura do dígito da fonte padrão (unidade de largura de coluna do excel)
+	 */
+	private static final class LarguraFonte {
+		
+		/** Larguras ASCII 32-126 em pixels (Calibri 11) */
+		private static final short[] CALIBRI = {
+			3, 3, 4, 7, 7, 10, 10, 2, 4, 4, 7, 7, 3, 4, 3, 5, 7, 7, 7, 7, 7, 7, 7, 7, 7, 7, 3, 3, 7, 7, 7, 6, 12, 8,
+			8, 8, 9, 7, 6, 9, 9, 3, 4, 7, 6, 12, 9, 9, 7, 10, 8, 7, 7, 9, 8, 13, 7, 7, 7, 4, 5, 4, 7, 7, 4, 7, 7, 6,
+			7, 7, 4, 7, 7, 3, 3, 6, 3, 11, 7, 7, 7, 7, 5, 6, 4, 7, 6, 10, 6, 6, 6, 4, 6, 4, 7
+		};
+		/** Larguras ASCII 32-126 em 1/1000 em (Arial/Helvetica) */
+		private static final short[] ARIAL = {
+			278, 278, 355, 556, 556, 889, 667, 191, 333, 333, 389, 584, 278, 333, 278, 278, 556, 556, 556, 556, 556,
+			556, 556, 556, 556, 556, 278, 278, 584, 584, 584, 556, 1015, 667, 667, 722, 722, 667, 611, 778, 722, 278,
+			500, 667, 556, 833, 722, 778, 667, 778, 722, 667, 611, 722, 667, 944, 667, 667, 611, 278, 278, 278, 469,
+			556, 333, 556, 556, 500, 556, 556, 278, 556, 556, 222, 222, 500, 222, 833, 556, 556, 556, 556, 333, 500,
+			278, 556, 500, 722, 500, 500, 500, 334, 260, 334, 584
+		};
+		private final short[] tabela;
+		private final float escala;
+		
+		private LarguraFonte(final XSSFFont font) {
+			final String nome = null == font.getFontName() ? "" : font.getFontName().toLowerCase(Locale.ROOT);
+			final boolean arial = nome.startsWith("arial") || nome.startsWith("helvetica");
+			this.tabela = arial ? ARIAL : CALIBRI;
+			final float tamanhoPadrao = arial ? 10f : 11f;
+			this.escala = (font.getFontHeightInPoints() / tamanhoPadrao) * (font.getBold() ? 1.07f : 1f);
+		}
+		
+		/**
+		 * Retorna a largura da maior linha do texto
+		 * @param texto (String) - texto
+		 * @return float
+		 */
+		private float larguraTexto(final String texto) {
+			final float digito = this.tabela['0' - 32];
+			float maior = 0;
+			float atual = 0;
+			for(int index = 0; index < texto.length(); index++) {
+				final char c = texto.charAt(index);
+				if(c == '\n') {
+					maior = Math.max(maior, atual);
+					atual = 0;
+				}else if(c >= 32 && c <= 126) {
+					atual += this.tabela[c - 32] / digito;
+				}else {
+					atual += c >= 0x2E80 ? 2f : 1f;
+				}
+			}
+			return Math.max(maior, atual) * this.escala;
+		}
+	}
+	
+	/**
+	 * @return se as larguras das colunas estão sendo estimadas durante a escrita
+	 */
+	private boolean rastrearLarguras() {
+		return this.autoSizeEstimado || null != this._streamingWorkbook;
+	}
+	
+	/**
+	 * Retorna (com cache) a tabela de larguras da fonte do estilo
+	 * @param style (CellStyle) - estilo da célula
+	 * @return LarguraFonte
+	 */
+	private LarguraFonte larguraFonte(final CellStyle style) {
+		final short index = style.getFontIndex();
+		LarguraFonte largura = this._largurasFontes.get(index);
+		if(null == largura) {
+			largura = new LarguraFonte(xssf().getFontAt(index));
+			this._largurasFontes.put(index, largura);
+		}
+		return largura;
+	}
+	
+	/**
+	 * Estima a quantidade de caracteres do número formatado de acordo com o formato do estilo, sem formatar o valor
+	 * @param value (double) - valor
+	 * @param style (CellStyle) - estilo da célula
+	 * @return int
+	 */
+	private int caracteresNumero(final double value, final CellStyle style) {
+		final short index = style.getDataFormat();
+		int[] formato = this._formatosNumeros.get(index);
+		if(null == formato) {
+			formato = analisarFormato(index, style.getDataFormatString());
+			this._formatosNumeros.put(index, formato);
+		}
+		if(formato[0] == 2) {
+			return formato[3];
+		}
+		final double absoluto = Math.abs(value);
+		int inteiros = 1;
+		for(double resto = absoluto; resto >= 10 && inteiros < 16; resto /= 10) {
+			inteiros++;
+		}
+		final int sinal = value < 0 ? 1 : 0;
+		if(formato[0] == 1) {
+			final int agrupamento = formato[2] == 1 ? (inteiros - 1) / 3 : 0;
+			return sinal + inteiros + agrupamento + (formato[1] > 0 ? formato[1] + 1 : 0) + formato[3];
+		}
+		int decimais = 0;
+		double fracao = absoluto - Math.floor(absoluto);
+		while(fracao > 1e-9 && inteiros + 1 + decimais < 11) {
+			fracao *= 10;
+			fracao -= Math.floor(fracao);
+			decimais++;
+		}
+		return Math.min(11, sinal + inteiros + (decimais > 0 ? decimais + 1 : 0));
+	}
+	
+	/**
+	 * Analisa o formato numérico
+	 * @param index (short) - índice do formato
+	 * @param format (String) - formato
+	 * @return int[] {tipo (0 geral, 1 numérico, 2 data), casas decimais, agrupamento (1/0), caracteres fixos}
+	 */
+	private static int[] analisarFormato(final short index, final String format) {
+		if(null == format || index == 0 || "General".equalsIgnoreCase(format)) {
+			return new int[] {0, 0, 0, 0};
+		}
+		if(DateUtil.isADateFormat(index, format)) {
+			return new int[] {2, 0, 0, format.replace("\\", "").replace("\"", "").length()};
+		}
+		final int fimSecao = format.indexOf(';');
+		final String secao = fimSecao < 0 ? format : format.substring(0, fimSecao);
+		int decimais = 0;
+		int fixos = 0;
+		boolean aposPonto = false;
+		boolean agrupamento = false;
+		boolean literal = false;
+		for(int i = 0; i < secao.length(); i++) {
+			final char c = secao.charAt(i);
+			if(c == '"') {
+				literal = !literal;
+			}else if(literal) {
+				fixos++;
+			}else if(c == '.') {
+				aposPonto = true;
+			}else if(c == ',') {
+				agrupamento = true;
+			}else if(c == '0' || c == '#' || c == '?') {
+				decimais += aposPonto ? 1 : 0;
+			}else if(c == '[') {
+				i = Math.max(i, secao.indexOf(']', i));
+			}else if(c != '\\' && c != '_' && c != '*') {
+				fixos++;
+			}
+		}
+		return new int[] {1, decimais, agrupamento ? 1 : 0, fixos};
+	}
+	
+	/**
+	 * Registra a largura do valor da célula caso seja a maior da coluna
+	 * @param cell (Cell) - célula
+	 * @param largura (float) - largura estimada
+	 */
+	private void registrarLargura(final Cell cell, final float largura) {
+		final String nome = cell.getSheet().getSheetName();
+		LargurasFolha larguras = this._larguras.get(nome);
+		if(null == larguras) {
+			larguras = new LargurasFolha();
+			this._larguras.put(nome, larguras);
+		}
+		larguras.registrar(cell.getRowIndex(), cell.getColumnIndex(), largura);
+	}
+	
+	/**
+	 * Maiores larguras de cada coluna de uma folha, com a linha de cada uma. As células mescladas em mais de uma coluna
+	 * são descartadas apenas ao aplicar as larguras (autoSizeColumnsEstimado()), o que mantém a escrita sem consulta às mesclagens
+	 * e considera também as mesclagens criadas depois dos valores.
+	 */
+	private static final class LargurasFolha implements Serializable {
+		
+		private static final long serialVersionUID = 1L;
+		/** Larguras guardadas por coluna */
+		private static final int MAIORES = 8;
+		/** Posição coluna * MAIORES + n, em ordem decrescente de largura dentro da coluna */
+		private float[] larguras = new float[16 * MAIORES];
+		private int[] linhas = new int[16 * MAIORES];
+		
+		private void registrar(final int linha, final int coluna, final float largura) {
+			final int inicio = coluna * MAIORES;
+			if(inicio >= this.larguras.length) {
+				final int tamanho = Math.max(inicio + MAIORES, this.larguras.length * 2);
+				this.larguras = Arrays.copyOf(this.larguras, tamanho);
+				this.linhas = Arrays.copyOf(this.linhas, tamanho);
+			}
+			final int fim = inicio + MAIORES - 1;
+			if(largura <= this.larguras[fim]) {
+				return;
+			}
+			// a mesma célula regravada ocupa uma única posição
+			for(int posicao = inicio; posicao <= fim && this.larguras[posicao] > 0; posicao++) {
+				if(this.linhas[posicao] == linha) {
+					if(this.larguras[posicao] >= largura) {
+						return;
+					}
+					System.arraycopy(this.larguras, posicao + 1, this.larguras, posicao, fim - posicao);
+					System.arraycopy(this.linhas, posicao + 1, this.linhas, posicao, fim - posicao);
+					this.larguras[fim] = 0;
+					break;
+				}
+			}
+			int posicao = fim;
+			while(posicao > inicio && this.larguras[posicao - 1] < largura) {
+				this.larguras[posicao] = this.larguras[posicao - 1];
+				this.linhas[posicao] = this.linhas[posicao - 1];
+				posicao--;
+			}
+			this.larguras[posicao] = largura;
+			this.linhas[posicao] = linha;
+		}
+		
+		private int colunas() {
+			return this.larguras.length / MAIORES;
+		}
+		
+		/**
+		 * @param coluna (int) - coluna
+		 * @param mescladas (List) - regiões mescladas em mais de uma coluna
+		 * @return float - maior largura da coluna fora das regiões mescladas. 0 caso não exista
+		 */
+		private float maior(final int coluna, final List<CellRangeAddress> mescladas) {
+			final int inicio = coluna * MAIORES;
+			for(int posicao = inicio; posicao < inicio + MAIORES && this.larguras[posicao] > 0; posicao++) {
+				if(!mesclada(mescladas, this.linhas[posicao], coluna)) {
+					return this.larguras[posicao];
+				}
+			}
+			return 0;
+		}
+		
+		private static boolean mesclada(final List<CellRangeAddress> mescladas, final int linha, final int coluna) {
+			for(final CellRangeAddress regiao : mescladas) {
+				if(regiao.isInRange(linha, coluna)) {
+					return true;
+				}
+			}
+			return false;
+		}
+	}
+
+	/**
+	 * Aplica o autoSize nas colunas informadas.
+	 * 
+	 * @param sheet   (XSSFSheet) - folha a ser alterada
+	 * @param columns (int[]) - colunas a aplicar o autoSize. Base 0
+	 * @return PoiUtil
+	 */
+	public POIUtil2 autoSizeColumns(final XSSFSheet sheet, final int[] columns) {
+		final XSSFSheet folha = folhaAtual(sheet);
+		for (final int column : columns) {
+			folha.autoSizeColumn(column);
+		}
+		return this;
+	}
+	
+	
+	/**
+	 * Configura em todas as folhas a largura de todas as colunas para "auto". Afeta performance gravemente dependendo do tamanho do arquivo.
+	 * @return PoiUtil
+	 */
+	public POIUtil2 autoSizeColumns() {
+		if(rastrearLarguras()) {
+			return autoSizeColumnsEstimado();
+		}
+		for(int i = 0; i < xssf().getNumberOfSheets(); i++) {
+			autoSizeColumns(this.getSheetAt(i));
 		}
 		return this;
 	}
 	
 	/**
-	 * Apaga o estilo criado. Não afeta as células criadas com o estilo passado.
-	 * @param name (String) - nome do estilo
-	 * @return POIUtil2
+	 * Aplica em todas as folhas as larguras estimadas durante a escrita (ver setAutoSizeEstimado). Custo proporcional à quantidade de colunas.
+	 * Células mescladas em mais de uma coluna não são consideradas, inclusive quando a mesclagem é criada depois do valor.
+	 * @return PoiUtil
 	 */
-	public POIUtil2 removeCellStyle(final String name) {
-		this._cellStyles.remove(name);
+	public POIUtil2 autoSizeColumnsEstimado() {
+		final int larguraMaxima = 255 * 256;
+		for(final Map.Entry<String, LargurasFolha> entry : this._larguras.entrySet()) {
+			final Sheet folha = workbook().getSheet(entry.getKey());
+			if(null == folha) {
+				continue;
+			}
+			// mesclagens resolvidas uma única vez por folha
+			final List<CellRangeAddress> mescladas = new ArrayList<>();
+			for(final CellRangeAddress regiao : folha.getMergedRegions()) {
+				if(regiao.getFirstColumn() != regiao.getLastColumn()) {
+					mescladas.add(regiao);
+				}
+			}
+			final LargurasFolha larguras = entry.getValue();
+			for(int coluna = 0; coluna < larguras.colunas(); coluna++) {
+				final float largura = larguras.maior(coluna, mescladas);
+				if(largura > 0) {
+					folha.setColumnWidth(coluna, Math.min(larguraMaxima, Math.round((largura + 1) * 256)));
+				}
+			}
+		}
 		return this;
 	}
-
+	
 	/**
-	 * Retorna XSSFCellStyle armazenado no HashMap pela key nome. Retorna nulo caso
-	 * não exista
-	 * 
-	 * @param nome (String) - nome chave do estilo no HashMap
-	 * @return XSSFCellStyle
+	 * Configura se as larguras das colunas devem ser estimadas enquanto os valores são setados pelo POIUtil (tabela de larguras por fonte),
+	 * em vez de medir todas as células no autoSizeColumns(). No modo streaming as larguras são sempre estimadas.
+	 * @param autoSizeEstimado (boolean)
 	 */
-	public XSSFCellStyle getCellStyle(final String nome) {
-		return this._cellStyles.get(nome);
+	public void setAutoSizeEstimado(final boolean autoSizeEstimado) {
+		this.autoSizeEstimado = autoSizeEstimado;
 	}
 	
 	/**
-	 * Altera o formato do estilo. Ex: "dd/MM/yyyy" -> célula será do tipo Data.
-	 * @param cellStyleName (String) - nome chave do estilo no HashMap
-	 * @param format (String) - formato desejado
+	 * Ajusta o tamanho de todas as colunas preenchidas na folha. Afeta performance gravemente dependendo do tamanho da folha.
+	 * @param sheet (XSSFSheet) - Folha para ser ajustada
 	 * @return
 	 */
-	public POIUtil2 editCellStyleDataFormat(final String cellStyleName, final String format) {
-		final XSSFCellStyle style = getCellStyle(cellStyleName);
-		style.setDataFormat(getDataFormat(format));
+	public POIUtil2 autoSizeColumns(final XSSFSheet sheet) {
+		final XSSFSheet folha = folhaAtual(sheet);
+		int lastCellNum = 0;
+		int i = 0;
+		XSSFRow row = null;
+		while(i <= folha.getLastRowNum()) {
+			row = folha.getRow(i++);
+			if(null == row) {
+				continue;
+			}
+			final int lastCellRow = row.getLastCellNum();
+			lastCellNum = lastCellRow > lastCellNum ? lastCellRow : lastCellNum;
+		}
+		i = 0;
+		while(i < lastCellNum) {
+			folha.autoSizeColumn(i++);
+		}
 		return this;
 	}
+	
+	//FÓRMULAS
 
 	/**
-	 * Edita borda do estilo contido no HashMap.
-	 * 
-	 * @param cellStyleName (String) - nome chave da célula
-	 * @param borderTop     (BorderStyle) - borda topo. Passe nulo para não setar
-	 * @param borderRight   (BorderStyle) - borda direita. Passe nulo para não setar
-	 * @param borderBottom  (BorderStyle) - borda inferior. Passe nulo para não
-	 *                      setar
-	 * @param borderLeft    (BorderStyle) - borda esquerda. Passe nulo para não
-	 *                      setar
-	 * @throws NullPointerException - caso estilo não exista
+	 * Atualiza todas as fórmulas criadas nas células. É chamado automaticamente nos métodos write().
 	 * @return PoiUtil
 	 */
-	public POIUtil2 editCellStyleBorder(final String cellStyleName, final BorderStyle borderTop,
-			final BorderStyle borderRight, final BorderStyle borderBottom, final BorderStyle borderLeft) {
-
-		final XSSFCellStyle cellStyle = this.getCellStyle(cellStyleName);
-		if (null != borderTop) {
-			cellStyle.setBorderTop(borderTop);
-		}
-		if (null != borderRight) {
-			cellStyle.setBorderRight(borderRight);
-		}
-		if (null != borderBottom) {
-			cellStyle.setBorderBottom(borderBottom);
-		}
-		if (null != borderLeft) {
-			cellStyle.setBorderLeft(borderLeft);
+	public POIUtil2 evaluateAllFormulas() {
+		if(null == this._streamingWorkbook) {
+			XSSFFormulaEvaluator.evaluateAllFormulaCells(xssf());
+		}else {
+			evaluateStreamingFormulas();
 		}
 		return this;
 	}
 	
 	/**
-	 * Edita borda da célula
-	 * 
-	 * @param cell (XSSF) - célula com estilo
-	 * @param borderTop     (BorderStyle) - borda topo. Passe nulo para não setar
-	 * @param borderRight   (BorderStyle) - borda direita. Passe nulo para não setar
-	 * @param borderBottom  (BorderStyle) - borda inferior. Passe nulo para não
-	 *                      setar
-	 * @param borderLeft    (BorderStyle) - borda esquerda. Passe nulo para não
-	 *                      setar
-	 * @throws NullPointerException - caso estilo não exista
+	 * Atualiza apenas as fórmulas criadas pelo POIUtil (createCellFormula, sum, countIfs) e as células das quais dependem, com um único evaluator.
+	 * O custo é proporcional às fórmulas criadas e não ao tamanho do workbook.
+	 * No modo streaming, fórmulas em linhas do XSSF (template/troca automática) ou que dependem de linhas já descarregadas
+	 * são ignoradas e o excel é configurado para recalcular tudo ao abrir o arquivo, como em evaluateAllFormulas().
 	 * @return PoiUtil
 	 */
-	public POIUtil2 editCellStyleBorder(final XSSFCell cell, final BorderStyle borderTop,
-			final BorderStyle borderRight, final BorderStyle borderBottom, final BorderStyle borderLeft) {
-
-		final XSSFCellStyle cellStyle = (XSSFCellStyle) cell.getCellStyle().clone();
-		if (null != borderTop) {
-			cellStyle.setBorderTop(borderTop);
-		}
-		if (null != borderRight) {
-			cellStyle.setBorderRight(borderRight);
-		}
-		if (null != borderBottom) {
-			cellStyle.setBorderBottom(borderBottom);
+	public POIUtil2 evaluateCreatedFormulas() {
+		if(null == this._streamingWorkbook) {
+			final FormulaEvaluator evaluator = xssf().getCreationHelper().createFormulaEvaluator();
+			for(final Cell cell : this._formulasCriadas) {
+				if(cell.getCellTypeEnum() == CellType.FORMULA) {
+					evaluator.evaluateFormulaCellEnum(cell);
+				}
+			}
+			return this;
 		}
-		if (null != borderLeft) {
-			cellStyle.setBorderLeft(borderLeft);
+		final SXSSFFormulaEvaluator evaluator = new SXSSFFormulaEvaluator(this._streamingWorkbook);
+		for(final Cell cell : this._formulasCriadas) {
+			if(cell.getCellTypeEnum() != CellType.FORMULA) {
+				continue;
+			}
+			if(cell instanceof XSSFCell) {
+				// o evaluator do SXSSF só aceita SXSSFCell
+				xssf().setForceFormulaRecalculation(true);
+				continue;
+			}
+			try {
+				evaluator.evaluateFormulaCellEnum(cell);
+			}catch(SXSSFFormulaEvaluator.RowFlushedException e) {
+				xssf().setForceFormulaRecalculation(true);
+			}
 		}
-		cell.setCellStyle(cellStyle);
 		return this;
 	}
-
+	
 	/**
-	 * Edita todas as bordas do estilo contido no HashMap.
-	 * 
-	 * @param cellStyleName (String) - nome chave da célula
-	 * @param borderTop     (BorderStyle) - Tipo de borda
-	 * @throws NullPointerException - caso estilo não exista
-	 * @return PoiUtil
+	 * Configura se os métodos write()/download() devem atualizar apenas as fórmulas criadas pelo POIUtil (evaluateCreatedFormulas())
+	 * em vez de todas as fórmulas do workbook (evaluateAllFormulas()).
+	 * @param avaliarApenasFormulasCriadas (boolean)
 	 */
-	public POIUtil2 editCellStyleBorderAll(final String cellStyleName, final BorderStyle border) {
-
-		final XSSFCellStyle cellStyle = this.getCellStyle(cellStyleName);
-		cellStyle.setBorderTop(border);
-		cellStyle.setBorderRight(border);
-		cellStyle.setBorderBottom(border);
-		cellStyle.setBorderLeft(border);
-		return this;
+	public void setAvaliarApenasFormulasCriadas(final boolean avaliarApenasFormulasCriadas) {
+		this.avaliarApenasFormulasCriadas = avaliarApenasFormulasCriadas;
 	}
-
+	
 	/**
-	 * Configura fonte do estilo
-	 * 
-	 * @param cellStyleName (String) - nome chave da fonte no HashMap
-	 * @param fontName      (String) - nome da fonte para o documento
-	 * @throws NullPointerException - caso estilo não exista
+	 * Atualiza as fórmulas de acordo com o modo configurado
 	 * @return PoiUtil
 	 */
-	public POIUtil2 editCellStyleFont(final String cellStyleName, final String fontName) {
-		if(null != fontName) {
-			this.getCellStyle(cellStyleName).setFont(this.getFont(fontName));			
+	private POIUtil2 avaliarFormulas() {
+		return this.avaliarApenasFormulasCriadas ? evaluateCreatedFormulas() : evaluateAllFormulas();
+	}
+	
+	/**
+	 * Atualiza as fórmulas das linhas que ainda estão em memória no modo streaming. Fórmulas que dependem de linhas já
+	 * descarregadas são ignoradas e o excel é configurado para recalcular tudo ao abrir o arquivo.
+	 */
+	private void evaluateStreamingFormulas() {
+		final SXSSFFormulaEvaluator evaluator = new SXSSFFormulaEvaluator(this._streamingWorkbook);
+		for(final Sheet folha : this._streamingWorkbook) {
+			for(final Row row : folha) {
+				for(final Cell cell : row) {
+					if(cell.getCellTypeEnum() == CellType.FORMULA) {
+						try {
+							evaluator.evaluateFormulaCellEnum(cell);
+						}catch(SXSSFFormulaEvaluator.RowFlushedException e) {
+							xssf().setForceFormulaRecalculation(true);
+						}
+					}
+				}
+			}
 		}
-		return this;
 	}
 
 	/**
-	 * Edita o alinhamento horizontal e vertical da célula
-	 * 
-	 * @param cellStyleName       (String) - nome chave da fonte no HashMap
-	 * @param horizontalAlignment (HorizontalAlignment) - alinhamento horizontal.
-	 *                            Passe null para não setar
-	 * @param verticalAlignment   (VerticalAlignment) - alinhamento vertical. Passe
-	 *                            null para não setar
-	 * @throws NullPointerException - caso estilo não exista
-	 * @return
+	 * Cria fórmula de soma para a célula. ATENÇÃO: o tipo da célula será alterado para CELL_TYPE_FORMULA
+	 * @param cell (XSSFCell) - célula a ser alterada
+	 * @param formula (String) - fórmula String (em inglês). Ex: SUM(A1:B1).
+	 * @return POIUtil2
 	 */
-	public POIUtil2 editCellStyleAlignment(final String cellStyleName, final HorizontalAlignment horizontalAlignment,
-			final VerticalAlignment verticalAlignment) {
-
-		final XSSFCellStyle estilo = this.getCellStyle(cellStyleName);
-		if (null != horizontalAlignment) {
-			estilo.setAlignment(horizontalAlignment);
-		}
-		if (null != verticalAlignment) {
-			estilo.setVerticalAlignment(verticalAlignment);
-		}
+	public POIUtil2 createCellFormula(final XSSFCell cell, final String formula) {
+		cell.setCellType(CellType.FORMULA);
+		cell.setCellFormula(formula);
+		this._formulasCriadas.add(cell);
+		this._celulasEscritas++;
 		return this;
 	}
 	
 	/**
-	 * Edita o alinhamento horizontal e vertical da célula
-	 * 
-	 * @param cell       (XSSFCell) - célula com estilo
-	 * @param horizontalAlignment (HorizontalAlignment) - alinhamento horizontal.
-	 *                            Passe null para não setar
-	 * @param verticalAlignment   (VerticalAlignment) - alinhamento vertical. Passe
-	 *                            null para não setar
-	 * @throws NullPointerException - caso estilo não exista
-	 * @return
+	 * Cria fórmula de SOMA para a célula. ATENÇÃO: o tipo da célula será alterado para CELL_TYPE_FORMULA
+	 * @param cell (XSSFCell) - célula a ser alterada
+	 * @param formula (String) - região a ser somada. Ex: A1:B1
+	 * @return POIUtil2
 	 */
-	public POIUtil2 editCellStyleAlignment(final XSSFCell cell, final HorizontalAlignment horizontalAlignment,
-			final VerticalAlignment verticalAlignment) {
-
-		final XSSFCellStyle style = (XSSFCellStyle) cell.getCellStyle().clone();
-		if (null != horizontalAlignment) {
-			style.setAlignment(horizontalAlignment);
+	public POIUtil2 sum(final XSSFCell cell, final String regiao) {
+		return createCellFormula(cell, "SUM("+regiao+")");
+	}
+	
+	
+	/**
+	 * Cria fórmula de CONT.SES para a célula. ATENÇÃO: o tipo da célula será alterado para CELL_TYPE_FORMULA
+	 * @param cell (XSSFCell) - célula a ser alterada
+	 * @param regiaoCriterio (String...) - array String contendo a região e o critério da função CONT.SES. Deve ser passado em pares. Ex: "A1:B1","VERDADEIRO","A3","FALSO"...
+	 * @return POIUtil2
+	 */
+	public POIUtil2 countIfs(final XSSFCell cell,final String... regiaoCriterio) {
+		return createCellFormula(cell,formulaContSe(regiaoCriterio));
+	}
+	
+	/**
+	 * @param regiaoCriterio (String...) - região e critério em pares
+	 * @return String - fórmula COUNTIFS
+	 */
+	private static String formulaContSe(final String... regiaoCriterio) {
+		final StringBuilder contSe = new StringBuilder(32);
+		final String virgula = ",";
+		contSe.append("COUNTIFS(");
+		for(int i = 0; i < regiaoCriterio.length;) {
+			contSe.append(regiaoCriterio[i] + virgula + regiaoCriterio[i + 1]);
+			i += 2;
+			if(i < regiaoCriterio.length) {
+				contSe.append(virgula);
+			}
 		}
-		if (null != verticalAlignment) {
-			style.setVerticalAlignment(verticalAlignment);
+		contSe.append(")");
+		return contSe.toString();
+	}
+	
+	/**
+	 * Aplica a mesma fórmula relativa em todas as células da região como fórmula compartilhada do excel: a primeira célula guarda
+	 * a fórmula e a região (ref) e as demais apenas o índice, como se a fórmula tivesse sido copiada/arrastada no excel.
+	 * A fórmula é analisada uma única vez. Ex: createSharedFormula(sheet, "G2:G200001", "SUM(B2:F2)") -> G3 = SUM(B3:F3)...
+	 * No modo streaming (ou se o POI não permitir registrar a fórmula compartilhada) cada célula recebe a fórmula deslocada,
+	 * gerada a partir dos tokens da primeira análise. As células do streaming não são avaliadas pelo evaluateCreatedFormulas(): o arquivo é
+	 * marcado para recálculo ao abrir.
+	 * ATENÇÃO: o tipo das células será alterado para CELL_TYPE_FORMULA. Células/linhas inexistentes são criadas
+	 * @param sheet (XSSFSheet) - folha a ser alterada
+	 * @param regiao (String) - região que receberá a fórmula. Ex: G2:G200001
+	 * @param formula (String) - fórmula String (em inglês) da primeira célula da região. Ex: SUM(B2:F2)
+	 * @throws Exception - região ou fórmula inválidas
+	 * @return POIUtil2
+	 */
+	public POIUtil2 createSharedFormula(final XSSFSheet sheet, final String regiao, final String formula) throws Exception {
+		iniciarOperacao();
+		try {
+			return formulaCompartilhada(sheet, regiao, formula);
+		} finally {
+			finalizarOperacao();
 		}
-		cell.setCellStyle(style);
-		return this;
 	}
-
+	
+	private POIUtil2 formulaCompartilhada(final XSSFSheet sheet, final String regiao, final String formula) throws Exception {
+		validarRegioes(new String[] {regiao});
+		final long inicio = inicioRegiao(regiao);
+		final long fim = fimRegiao(regiao);
+		final int primeiraLinha = linhaCelula(inicio);
+		final int ultimaLinha = linhaCelula(fim);
+		final int primeiraColuna = colunaCelula(inicio);
+		final int ultimaColuna = colunaCelula(fim);
+		final String ref = new CellRangeAddress(primeiraLinha, ultimaLinha, primeiraColuna, ultimaColuna).formatAsString();
+		
+		final XSSFWorkbook workbook = xssf();
+		final XSSFEvaluationWorkbook avaliacao = XSSFEvaluationWorkbook.create(workbook);
+		// única análise: valida a fórmula e gera os tokens usados nas cópias deslocadas
+		final Ptg[] tokens = FormulaParser.parse(formula, avaliacao, FormulaType.CELL, workbook.getSheetIndex(sheet.getSheetName()), primeiraLinha);
+		final SharedFormula deslocamento = new SharedFormula(SpreadsheetVersion.EXCEL2007);
+		final Sheet folha = sheet(sheet);
+		XSSFSheet folhaMestre = null;
+		long si = -1;
+		boolean recalcular = false;
+		for(int linha = primeiraLinha; linha <= ultimaLinha; linha++) {
+			final Row row = linhaOuNova(folha, linha);
+			for(int coluna = primeiraColuna; coluna <= ultimaColuna; coluna++) {
+				Cell cell = row.getCell(coluna);
+				if(null == cell) {
+					cell = row.createCell(coluna);
+				}
+				final boolean xssf = cell instanceof XSSFCell;
+				if(linha == primeiraLinha && coluna == primeiraColuna) {
+					si = xssf ? formulaMestre((XSSFCell) cell, formula, ref) : -1;
+					if(si >= 0) {
+						folhaMestre = ((XSSFCell) cell).getSheet();
+					} else {
+						formulaCelula(cell, formula);
+					}
+				} else if(xssf && ((XSSFCell) cell).getSheet() == folhaMestre) {
+					final XSSFCell xssfCell = (XSSFCell) cell;
+					xssfCell.setCellType(CellType.BLANK);
+					final CTCellFormula f = xssfCell.getCTCell().addNewF();
+					f.setT(STCellFormulaType.SHARED);
+					f.setSi(si);
+				} else {
+					final Ptg[] deslocados = deslocamento.convertSharedFormulas(tokens, linha - primeiraLinha, coluna - primeiraColuna);
+					formulaCelula(cell, FormulaRenderer.toFormulaString(avaliacao, deslocados));
+				}
+				// guardar a SXSSFCell prenderia as linhas já descarregadas: o excel recalcula ao abrir
+				if(xssf) {
+					this._formulasCriadas.add(cell);
+				} else {
+					recalcular = true;
+				}
+				this._celulasEscritas++;
+			}
+		}
+		if(recalcular) {
+			workbook.setForceFormulaRecalculation(true);
+		}
+		return regiaoPreenchida(sheet, primeiraLinha, primeiraColuna, ultimaLinha - primeiraLinha + 1, ultimaColuna - primeiraColuna + 1);
+	}
+	
 	/**
-	 * Configura se há quebra de texto no estilo
-	 * 
-	 * @param cellStyleName (String) - nome chave da fonte no HashMap
-	 * @param wrap          (boolean) - se texto deve quebrar
-	 * @return PoiUtil
+	 * Cria fórmula de SOMA compartilhada em todas as células da região. Ver createSharedFormula()
+	 * @param sheet (XSSFSheet) - folha a ser alterada
+	 * @param regiao (String) - região que receberá a fórmula. Ex: G2:G200001
+	 * @param somaRegiao (String) - região somada pela primeira célula. Ex: B2:F2
+	 * @throws Exception - região ou fórmula inválidas
+	 * @return POIUtil2
 	 */
-	public POIUtil2 editCellStyleWrapText(final String cellStyleName, final boolean wrap) {
-		this.getCellStyle(cellStyleName).setWrapText(wrap);
-		return this;
+	public POIUtil2 sum(final XSSFSheet sheet, final String regiao, final String somaRegiao) throws Exception {
+		return createSharedFormula(sheet, regiao, "SUM("+somaRegiao+")");
 	}
 	
 	/**
-	 * Configura padrão de preenchimento do estilo
-	 * 
-	 * @param cellStyleName (String) - nome chave da fonte no HashMap
-	 * @param fillPattern   (FillPatternType) - padrão de preenchimento
-	 * @return PoiUtil
+	 * Cria fórmula de CONT.SES compartilhada em todas as células da região. Ver createSharedFormula()
+	 * @param sheet (XSSFSheet) - folha a ser alterada
+	 * @param regiao (String) - região que receberá a fórmula. Ex: H2:H1001
+	 * @param regiaoCriterio (String...) - região e critério da primeira célula, em pares. Ex: "A2:B2","VERDADEIRO","C2","FALSO"...
+	 * @throws Exception - região ou fórmula inválidas
+	 * @return POIUtil2
 	 */
-	public POIUtil2 editCellStyleFillPattern(final String cellStyleName, final FillPatternType fillPattern) {
-		if(null != fillPattern) {
-			this.getCellStyle(cellStyleName).setFillPattern(fillPattern);			
+	public POIUtil2 countIfs(final XSSFSheet sheet, final String regiao, final String... regiaoCriterio) throws Exception {
+		return createSharedFormula(sheet, regiao, formulaContSe(regiaoCriterio));
+	}
+	
+	/**
+	 * Grava a célula mestre da fórmula compartilhada e registra a fórmula na folha (XSSFSheet.sharedFormulas), que é o que o
+	 * POI faz ao ler um arquivo com fórmulas compartilhadas e o que permite avaliar/ler as demais células
+	 * @param cell (XSSFCell) - primeira célula da região
+	 * @param formula (String) - fórmula
+	 * @param ref (String) - região da fórmula compartilhada
+	 * @return long - índice (si) da fórmula compartilhada. -1 caso não seja possível registrar
+	 */
+	private static long formulaMestre(final XSSFCell cell, final String formula, final String ref) {
+		final Map<Integer, CTCellFormula> compartilhadas = formulasCompartilhadas(cell.getSheet());
+		if(null == compartilhadas) {
+			return -1;
 		}
-		return this;
+		int si = 0;
+		for(final Integer indice : compartilhadas.keySet()) {
+			si = Math.max(si, indice + 1);
+		}
+		cell.setCellType(CellType.BLANK);
+		final CTCellFormula f = cell.getCTCell().addNewF();
+		f.setStringValue(formula);
+		f.setT(STCellFormulaType.SHARED);
+		f.setRef(ref);
+		f.setSi(si);
+		// cópia desconectada, como no XSSFSheet.onReadCell
+		compartilhadas.put(si, (CTCellFormula) f.copy());
+		return si;
 	}
 	
 	/**
-	 * Configura padrão de preenchimento do estilo da célula
-	 * 
-	 * @param cell (XSSFCell) - célula a ser alterada
-	 * @param fillPattern   (FillPatternType) - padrão de preenchimento
-	 * @return PoiUtil
+	 * Seta a fórmula já validada sem analisá-la novamente
+	 * @param cell (Cell) - célula
+	 * @param formula (String) - fórmula
 	 */
-	public POIUtil2 editCellStyleFillPattern(final XSSFCell cell, final FillPatternType fillPattern) {
-		final XSSFCellStyle style = (XSSFCellStyle) cell.getCellStyle().clone();
-		style.setFillPattern(fillPattern);
-		cell.setCellStyle(style);
-		return this;
+	private static void formulaCelula(final Cell cell, final String formula) {
+		if(cell instanceof XSSFCell) {
+			final XSSFCell xssfCell = (XSSFCell) cell;
+			xssfCell.setCellType(CellType.BLANK);
+			xssfCell.getCTCell().addNewF().setStringValue(formula);
+		} else {
+			// SXSSFCell apenas guarda o texto da fórmula
+			cell.setCellFormula(formula);
+		}
 	}
 	
 	/**
-	 * Configura cor de fundo do estilo
-	 * @param cellStyleName (String) - nome chave da fonte no HashMap
-	 * @param color (IndexedColors) - cor de fundo
-	 * @return PoiUtil
+	 * @param sheet (XSSFSheet) - folha
+	 * @return Map - fórmulas compartilhadas da folha (si -> fórmula mestre). Nulo caso o campo não esteja acessível
 	 */
-	public POIUtil2 editCellStyleForegroundColor(final String cellStyleName, final IndexedColors color) {
-		if(null != color) {
-			this.getCellStyle(cellStyleName).setFillForegroundColor(color.index);			
+	@SuppressWarnings("unchecked")
+	private static Map<Integer, CTCellFormula> formulasCompartilhadas(final XSSFSheet sheet) {
+		if(null == FORMULAS_COMPARTILHADAS) {
+			return null;
+		}
+		try {
+			return (Map<Integer, CTCellFormula>) FORMULAS_COMPARTILHADAS.get(sheet);
+		} catch (final IllegalAccessException | ClassCastException e) {
+			return null;
 		}
-		return this;
 	}
 	
 	/**
-	 * Configura cor de fundo do estilo
-	 * @param cellStyleName (String) - nome chave da fonte no HashMap
-	 * @param color (Color) - cor de fundo
-	 * @return PoiUtil
+	 * @return Field - XSSFSheet.sharedFormulas. Nulo caso a versão do POI não tenha o campo ou o acesso seja negado
 	 */
-	public POIUtil2 editCellStyleForegroundColor(final String cellStyleName, final Color color) {
-		if(null != color) {
-			this.getCellStyle(cellStyleName).setFillForegroundColor(new XSSFColor(color));			
+	private static Field campoFormulasCompartilhadas() {
+		try {
+			final Field campo = XSSFSheet.class.getDeclaredField("sharedFormulas");
+			campo.setAccessible(true);
+			return Map.class.isAssignableFrom(campo.getType()) ? campo : null;
+		} catch (final ReflectiveOperationException | RuntimeException e) {
+			return null;
 		}
-		return this;
 	}
 	
 	/**
-	 * Configura cor de fundo do etilo da célula
-	 * @param cell (XSSFCell) - célula a ser alterada
-	 * @param color (Color) - cor de fundo
-	 * @return PoiUtil
+	 * Retorna fórmula DATA(ano,mes,dia)
+	 * @param cellRow (String) - localização da célula em String
+	 * @param month (int) - mês desejado (base 1)
+	 * @param day (int) - dia desejado (base 1)
+	 * @return
 	 */
-	public POIUtil2 editCellStyleForegroundColor(final XSSFCell cell, final Color color) {
-		final XSSFCellStyle style = (XSSFCellStyle) cell.getCellStyle().clone();
-		style.setFillForegroundColor(new XSSFColor(color));
-		cell.setCellStyle(style);
-		return this;
+	public String date(final String cellRow, final int month, final int day) {
+		return "DATE("+cellRow+","+month+","+day+")";
 	}
-
-	// ROW CELL
-
+	
+	// LEITURA STREAMING
+	
 	/**
-	 * Cria linhas e células
-	 * 
-	 * @param sheet (XSSFSheet) - folha a ser alterada
-	 * @param celulasRegioes (String...) - celulas ou regiões a serem criadas. Ex: A1 ou A1:D5 (criará células e linhas de A1 até D5 inclusa) Separar por vírgula ("A1","A2:B3"...).
-	 * @throws Exception - células/regiões inválidas
-	 * @return PoiUtil
+	 * Abre o arquivo para leitura em streaming (somente leitura, memória constante). Deve ser fechado após o uso.
+	 * @param filePath (String) - caminho do arquivo
+	 * @throws IOException
+	 * @return StreamingReader
 	 */
-	public POIUtil2 createRowCell(final XSSFSheet sheet, final String... celulasRegioes) throws Exception{
-		validarCelulasRegioes(celulasRegioes);
-		final String doisPontos = ":";
-		for(int i = 0; i < celulasRegioes.length; i++) {
-			if(celulasRegioes[i].indexOf(doisPontos) >= 0) {
-				final int[][] linhasColunas = getRowsCols(celulasRegioes[i]);
-				int linhaInicial = linhasColunas[0][0];
-				final int linhaFinal = linhasColunas[1][0];
-				final int colunaInicial = linhasColunas[0][1];
-				final int colunaFinal = linhasColunas[1][1];
-				while(linhaInicial <= linhaFinal) {
-					final XSSFRow row = this.createRow(sheet, linhaInicial).getRow(sheet, linhaInicial);
-					int coluna = colunaInicial;
-					while(coluna <= colunaFinal) {
-						row.createCell(coluna++);
-					}
-					linhaInicial++;
-				}
-			}else {
-				final int[] linhaColuna = getRowCol(celulasRegioes[i]);
-				this.createRow(sheet, linhaColuna[0]).getRow(sheet, linhaColuna[0]).createCell(linhaColuna[1]);
-			}
-		}
-		setUltimaRegiaoAutalizada(sheet,celulasRegioes);
-		return this;
+	public static StreamingReader openReader(final String filePath) throws IOException {
+		return new StreamingReader(filePath);
 	}
 	
 	/**
-	 * Cria linha e célula
-	 * 
-	 * @param sheet (XSSFSheet) - folha a ser alterada
-	 * @param row (int) - número da linha a ser criada. (base 0)
-	 * @param col (int) - número da coluna a ser criada. (base 0)
-	 * @return PoiUtil
+	 * Abre o array de bytes de um excel para leitura em streaming (somente leitura). Deve ser fechado após o uso.
+	 * @param workbook (byte[]) - array de byte do arquivo
+	 * @throws IOException
+	 * @return StreamingReader
 	 */
-	public POIUtil2 createRowCell(final XSSFSheet sheet, final int row, final int col) throws Exception{
-		sheet.createRow(row).createCell(col);
-		return this;
+	public static StreamingReader openReader(final byte[] workbook) throws IOException {
+		return new StreamingReader(workbook);
 	}
 	
+	/**
+	 * Recebe as linhas lidas pelo StreamingReader
+	 */
+	public interface RowHandler {
+		
+		/**
+		 * Chamado para cada linha lida. A linha não deve ser armazenada caso a memória deva ser constante.
+		 * @param row (ReadRow) - linha lida
+		 * @throws Exception - interrompe a leitura
+		 */
+		void handleRow(ReadRow row) throws Exception;
+	}
 	
 	/**
-	 * Cria linha e células
-	 * 
-	 * @param sheet (XSSFSheet) - folha a ser alterada
-	 * @param row (int) - número da linha a ser criada. (base 0)
-	 * @param cols (int[]) - array de colunas a serem criadas. (base 0)
-	 * @return PoiUtil
+	 * Linha lida em streaming. Os valores são tipados: String, Double, Date (números com formato de data), Boolean ou nulo.
 	 */
-	public POIUtil2 createRowCells(final XSSFSheet sheet, final int row, final int[] cols) throws Exception{
-		final XSSFRow xssfRow = sheet.createRow(row);
-		int index = 0;
-		while(index < cols.length) {
-			xssfRow.createCell(cols[index++]);
+	public static final class ReadRow {
+		
+		private final int _rowNum;
+		private final Object[] _values;
+		private final int _lastCellNum;
+		
+		private ReadRow(final int rowNum, final Object[] values, final int lastCellNum) {
+			this._rowNum = rowNum;
+			this._values = values;
+			this._lastCellNum = lastCellNum;
+		}
+		
+		/**
+		 * @return número da linha. Base 0
+		 */
+		public int getRowNum() {
+			return this._rowNum;
+		}
+		
+		/**
+		 * @return última coluna com valor + 1. Igual ao XSSFRow.getLastCellNum()
+		 */
+		public int getLastCellNum() {
+			return this._lastCellNum;
+		}
+		
+		/**
+		 * Retorna o valor da coluna. Retorna nulo caso a célula não exista ou esteja vazia
+		 * @param col (int) - coluna. Base 0
+		 * @return Object
+		 */
+		public Object getValue(final int col) {
+			return col < this._lastCellNum ? this._values[col] : null;
+		}
+		
+		public String getString(final int col) {
+			final Object value = getValue(col);
+			return null == value ? null : value.toString();
+		}
+		
+		public Double getNumber(final int col) {
+			final Object value = getValue(col);
+			if(value instanceof Date) {
+				return DateUtil.getExcelDate((Date) value);
+			}
+			return (Double) value;
+		}
+		
+		public Date getDate(final int col) {
+			final Object value = getValue(col);
+			if(value instanceof Double) {
+				return DateUtil.getJavaDate((Double) value);
+			}
+			return (Date) value;
+		}
+		
+		public Boolean getBoolean(final int col) {
+			return (Boolean) getValue(col);
 		}
-		return this;
 	}
-
+	
 	/**
-	 * Cria linhas e células e configura estilo nas células
-	 * 
-	 * @param sheet (XSSFSheet) - folha a ser alterada
-	 * @param celulasRegioes (String...) - celulas ou regiões a serem criadas. Ex: A1 ou A1:D5 (criará células e linhas de A1 até D5 inclusa) Separar por vírgula ("A1","A2:B3"...).
-	 * @throws NullPointerException - caso estilo não exista
-	 * @throws Exception - células/regiões inválidas
-	 * @return PoiUtil
+	 * Leitor de excel (.xlsx) em streaming baseado no modelo de eventos do XSSF (XSSFReader + shared strings + estilos).
+	 * As folhas são lidas como eventos XML (StAX), linha a linha, sem carregar o workbook em memória.
 	 */
-	public POIUtil2 createRowCellStyle(final XSSFSheet sheet, final String styleName, final String... celulasRegioes) throws Exception{
-		validarCelulasRegioes(celulasRegioes);
-		final String doisPontos = ":";
-		for(int i = 0; i < celulasRegioes.length; i++) {
-			if(celulasRegioes[i].indexOf(doisPontos) >= 0) {
-				final int[][] linhasColunas = getRowsCols(celulasRegioes[i]);
-				int linhaInicial = linhasColunas[0][0];
-				final int linhaFinal = linhasColunas[1][0];
-				final int colunaInicial = linhasColunas[0][1];
-				final int colunaFinal = linhasColunas[1][1];
-				while(linhaInicial <= linhaFinal) {
-					final XSSFRow row = this.createRow(sheet, linhaInicial).getRow(sheet, linhaInicial);
-					int coluna = colunaInicial;
-					while(coluna <= colunaFinal) {
-						row.createCell(coluna++).setCellStyle(this._cellStyles.get(styleName));
+	public static final class StreamingReader implements Closeable {
+		
+		private static final XMLInputFactory XML_FACTORY = criarXmlFactory();
+		private final OPCPackage _pacote;
+		private final ReadOnlySharedStringsTable _sharedStrings;
+		private final StylesTable _styles;
+		private final List<String> _sheetNames = new ArrayList<>();
+		private final XSSFReader _xssfReader;
+		
+		/**
+		 * Abre o arquivo para leitura
+		 * @param filePath (String) - caminho do arquivo
+		 * @throws IOException
+		 */
+		public StreamingReader(final String filePath) throws IOException {
+			this(abrirPacote(filePath));
+		}
+		
+		/**
+		 * Abre o array de bytes para leitura
+		 * @param workbook (byte[]) - array de byte do arquivo
+		 * @throws IOException
+		 */
+		public StreamingReader(final byte[] workbook) throws IOException {
+			this(abrirPacote(workbook));
+		}
+		
+		private StreamingReader(final OPCPackage pacote) throws IOException {
+			this._pacote = pacote;
+			try {
+				this._xssfReader = new XSSFReader(pacote);
+				this._sharedStrings = new ReadOnlySharedStringsTable(pacote);
+				this._styles = this._xssfReader.getStylesTable();
+				final XSSFReader.SheetIterator sheets = (XSSFReader.SheetIterator) this._xssfReader.getSheetsData();
+				while(sheets.hasNext()) {
+					sheets.next().close();
+					this._sheetNames.add(sheets.getSheetName());
+				}
+			} catch (OpenXML4JException | SAXException e) {
+				pacote.revert();
+				throw new IOException("Arquivo excel inválido", e);
+			}
+		}
+		
+		/**
+		 * @return nomes das folhas na ordem do workbook
+		 */
+		public List<String> getSheetNames() {
+			return this._sheetNames;
+		}
+		
+		/**
+		 * Retorna iterator lazy das linhas da folha. As linhas são lidas do arquivo conforme o iterator avança.
+		 * Caso o iterator não seja percorrido até o fim, deve ser fechado.
+		 * @param sheetIndex (int) - índice da folha. Base 0
+		 * @throws IOException
+		 * @return RowIterator
+		 */
+		public RowIterator rows(final int sheetIndex) throws IOException {
+			try {
+				final XSSFReader.SheetIterator sheets = (XSSFReader.SheetIterator) this._xssfReader.getSheetsData();
+				int index = 0;
+				while(sheets.hasNext()) {
+					final InputStream is = sheets.next();
+					if(index++ == sheetIndex) {
+						return new RowIterator(is);
 					}
-					linhaInicial++;
+					is.close();
 				}
-			}else {
-				final int[] linhaColuna = getRowCol(celulasRegioes[i]);
-				this.createRow(sheet, linhaColuna[0]).getRow(sheet, linhaColuna[0]).createCell(linhaColuna[1]).setCellStyle(this._cellStyles.get(styleName));
+			} catch (OpenXML4JException e) {
+				throw new IOException(e);
 			}
-			setUltimaRegiaoAutalizada(sheet,celulasRegioes);
+			throw new IndexOutOfBoundsException("Folha inexistente -> " + sheetIndex);
 		}
-		return this;
-	}
-
-	/**
-	 * Edita estilo das células
-	 * 
-	 * @param sheet (XSSFSheet) - folha a ser alterada
-	 * @param celulasRegioes (String...) - celulas ou regiões a serem editadas. Ex: A1 ou A1:D5 (criará células e linhas de A1 até D5 inclusa) Separar por vírgula ("A1","A2:B3"...).
-	 * @throws NullPointerException - caso estilo não exista
-	 * @throws Exception - células/regiões inválidas
-	 * @return PoiUtil
-	 */
-	public POIUtil2 editCellStyleInRowsCells(final XSSFSheet sheet, final String cellStyleName, final String... celulasRegioes) throws Exception{
-
-		validarCelulasRegioes(celulasRegioes);
-		final String doisPontos = ":";
-		for(int i = 0; i < celulasRegioes.length; i++) {
-			if(celulasRegioes[i].indexOf(doisPontos) >= 0) {
-				final int[][] linhasColunas = getRowsCols(celulasRegioes[i]);
-				int linhaInicial = linhasColunas[0][0];
-				final int linhaFinal = linhasColunas[1][0];
-				final int colunaInicial = linhasColunas[0][1];
-				final int colunaFinal = linhasColunas[1][1];
-				while(linhaInicial <= linhaFinal) {
-					int coluna = colunaInicial;
-					while(coluna <= colunaFinal) {
-						this.getRow(sheet, linhaInicial).getCell(coluna).setCellStyle(this._cellStyles.get(cellStyleName));
+		
+		/**
+		 * Retorna iterator lazy das linhas da folha
+		 * @param sheetName (String) - nome da folha
+		 * @throws IOException
+		 * @return RowIterator
+		 */
+		public RowIterator rows(final String sheetName) throws IOException {
+			final int index = this._sheetNames.indexOf(sheetName);
+			if(index < 0) {
+				throw new IllegalArgumentException("Folha inexistente -> " + sheetName);
+			}
+			return rows(index);
+		}
+		
+		/**
+		 * Lê todas as linhas da folha entregando cada uma ao handler
+		 * @param sheetIndex (int) - índice da folha. Base 0
+		 * @param handler (RowHandler) - recebe as linhas
+		 * @throws Exception
+		 */
+		public void read(final int sheetIndex, final RowHandler handler) throws Exception {
+			final RowIterator iterator = rows(sheetIndex);
+			try {
+				while(iterator.hasNext()) {
+					handler.handleRow(iterator.next());
+				}
+			} finally {
+				iterator.close();
+			}
+		}
+		
+		/**
+		 * Fecha o arquivo sem salvar alterações
+		 */
+		@Override
+		public void close() {
+			this._pacote.revert();
+		}
+		
+		/**
+		 * Iterator lazy das linhas de uma folha
+		 */
+		public final class RowIterator implements Iterator<ReadRow>, Closeable {
+			
+			private final InputStream _is;
+			private final XMLStreamReader _xml;
+			private final Boolean[] _estiloData = new Boolean[null == _styles ? 0 : _styles.getNumCellStyles()];
+			private ReadRow _proxima;
+			private int _ultimaLinha = -1;
+			
+			private RowIterator(final InputStream is) throws IOException {
+				this._is = is;
+				try {
+					this._xml = XML_FACTORY.createXMLStreamReader(is);
+				} catch (XMLStreamException e) {
+					is.close();
+					throw new IOException(e);
+				}
+			}
+			
+			@Override
+			public boolean hasNext() {
+				if(null == this._proxima) {
+					try {
+						this._proxima = lerLinha();
+					} catch (XMLStreamException e) {
+						throw new IllegalStateException("Erro ao ler folha", e);
 					}
-					linhaInicial++;
 				}
-			}else {
-				final int[] linhaColuna = getRowCol(celulasRegioes[i]);
-				this.getRow(sheet, linhaColuna[0]).getCell(linhaColuna[1]).setCellStyle(this._cellStyles.get(cellStyleName));
+				return null != this._proxima;
+			}
+			
+			@Override
+			public ReadRow next() {
+				if(!hasNext()) {
+					throw new NoSuchElementException();
+				}
+				final ReadRow row = this._proxima;
+				this._proxima = null;
+				return row;
+			}
+			
+			@Override
+			public void close() throws IOException {
+				try {
+					this._xml.close();
+				} catch (XMLStreamException e) {
+					throw new IOException(e);
+				} finally {
+					this._is.close();
+				}
+			}
+			
+			/**
+			 * Avança os eventos XML até o fim da próxima linha
+			 * @return ReadRow ou nulo no fim da folha
+			 * @throws XMLStreamException
+			 */
+			private ReadRow lerLinha() throws XMLStreamException {
+				Object[] valores = null;
+				int lastCellNum = 0;
+				int rowNum = -1;
+				int coluna = -1;
+				String tipo = null;
+				String estilo = null;
+				String valor = null;
+				StringBuilder inline = null;
+				while(this._xml.hasNext()) {
+					final int evento = this._xml.next();
+					if(evento == XMLStreamConstants.START_ELEMENT) {
+						final String nome = this._xml.getLocalName();
+						if("row".equals(nome)) {
+							final String r = this._xml.getAttributeValue(null, "r");
+							rowNum = null == r ? this._ultimaLinha + 1 : Integer.parseInt(r) - 1;
+							valores = new Object[16];
+							lastCellNum = 0;
+							coluna = -1;
+						}else if("c".equals(nome)) {
+							final String r = this._xml.getAttributeValue(null, "r");
+							coluna = null == r ? coluna + 1 : colunaCelula(celula(r));
+							tipo = this._xml.getAttributeValue(null, "t");
+							estilo = this._xml.getAttributeValue(null, "s");
+							valor = null;
+							inline = null;
+						}else if("v".equals(nome)) {
+							valor = this._xml.getElementText();
+						}else if("t".equals(nome)) {
+							if(null == inline) {
+								inline = new StringBuilder();
+							}
+							inline.append(this._xml.getElementText());
+						}
+					}else if(evento == XMLStreamConstants.END_ELEMENT) {
+						final String nome = this._xml.getLocalName();
+						if("c".equals(nome)) {
+							final Object convertido = converter(tipo, estilo, null == inline ? valor : inline.toString());
+							if(null != convertido) {
+								if(coluna >= valores.length) {
+									valores = Arrays.copyOf(valores, Math.max(coluna + 1, valores.length * 2));
+								}
+								valores[coluna] = convertido;
+								lastCellNum = Math.max(lastCellNum, coluna + 1);
+							}
+						}else if("row".equals(nome)) {
+							this._ultimaLinha = rowNum;
+							return new ReadRow(rowNum, valores, lastCellNum);
+						}
+					}
+				}
+				return null;
+			}
+			
+			/**
+			 * Converte o valor da célula para o tipo Java correspondente
+			 * @param tipo (String) - atributo t da célula
+			 * @param estilo (String) - atributo s da célula
+			 * @param valor (String) - conteúdo da célula
+			 * @return Object
+			 */
+			private Object converter(final String tipo, final String estilo, final String valor) {
+				if(null == valor || valor.isEmpty()) {
+					return null;
+				}
+				if(null == tipo || "n".equals(tipo)) {
+					final double numero = Double.parseDouble(valor);
+					return null != estilo && isEstiloData(Integer.parseInt(estilo)) ? DateUtil.getJavaDate(numero) : numero;
+				}
+				switch(tipo) {
+				case "s":
+					return _sharedStrings.getEntryAt(Integer.parseInt(valor));
+				case "b":
+					return "1".equals(valor);
+				default:
+					return valor;
+				}
+			}
+			
+			/**
+			 * Verifica (com cache) se o estilo possui formato de data
+			 * @param index (int) - índice do estilo
+			 * @return boolean
+			 */
+			private boolean isEstiloData(final int index) {
+				if(index >= this._estiloData.length) {
+					return false;
+				}
+				Boolean data = this._estiloData[index];
+				if(null == data) {
+					final XSSFCellStyle style = _styles.getStyleAt(index);
+					data = DateUtil.isADateFormat(style.getDataFormat(), style.getDataFormatString());
+					this._estiloData[index] = data;
+				}
+				return data;
 			}
-			setUltimaRegiaoAutalizada(sheet,celulasRegioes);
 		}
-		return this;
+		
+		private static OPCPackage abrirPacote(final String filePath) throws IOException {
+			try {
+				return OPCPackage.open(filePath, PackageAccess.READ);
+			} catch (InvalidFormatException e) {
+				throw new IOException("Arquivo excel inválido -> " + filePath, e);
+			}
+		}
+		
+		private static OPCPackage abrirPacote(final byte[] workbook) throws IOException {
+			try {
+				return OPCPackage.open(new ByteArrayInputStream(workbook));
+			} catch (InvalidFormatException e) {
+				throw new IOException("Arquivo excel inválido", e);
+			}
+		}
+		
+		private static XMLInputFactory criarXmlFactory() {
+			final XMLInputFactory factory = XMLInputFactory.newInstance();
+			factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+			factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+			return factory;
+		}
 	}
-
-	// FONTS
-
+	
+	// SERIALIZAÇÃO
+	
 	/**
-	 * Cria e armazena XSSFFont no HashMap<String,XSSFFont>
-	 * 
-	 * @param name (String) - nome chave da fonte
-	 * @return PoiUtil
+	 * Forma serializada do workbook: pacote .xlsx com compressão máxima e os índices dos estilos/fontes registrados por nome
 	 */
-	public POIUtil2 createFont(final String name) {
-		this._fonts.put(name, this._workbook.createFont());
-		return this;
+	private static final class EstadoSerializado implements Serializable {
+		
+		private static final long serialVersionUID = 1L;
+		/** Nulo quando o pacote está no spool (arquivo) */
+		private byte[] pacote;
+		private String arquivo;
+		private Map<String, Short> estilos;
+		private Map<String, Short> fontes;
+		private Map<String, Short> estilosFormatados;
+		private Map<String, Short> estilosInternados;
+		private Map<String, Short> fontesInternadas;
+		/** Fórmulas criadas: folha, linha e coluna */
+		private String[] formulasFolhas;
+		private int[] formulasLinhas;
+		private int[] formulasColunas;
 	}
 	
 	/**
-	 * Cria e configura XSSFFont no HashMap<String,XSSFFont>
-	 * @param name (String) - key do hashmap
-	 * @param fontName (String) - nome da fonte no excel
-	 * @param bold (boolean) - Configura negrito
-	 * @param size (double) - Tamanho da fonte
-	 * @return
+	 * Serializa o workbook de forma compacta. O workbook em memória continua válido
+	 * @param out (ObjectOutputStream)
+	 * @throws IOException
+	 * @throws NotSerializableException - caso esteja em modo streaming (linhas descarregadas em arquivos temporários)
 	 */
-	public POIUtil2 createFont(final String name, final String fontName, final boolean bold, final double size) {
-		createFont(name).editFontName(name, fontName).editFontBold(name, bold).editFontSize(name, size);
-		return this;
+	private synchronized void writeObject(final ObjectOutputStream out) throws IOException {
+		if(isStreaming()) {
+			throw new NotSerializableException("POIUtil em modo streaming não é serializável");
+		}
+		out.defaultWriteObject();
+		EstadoSerializado estado = this._estado;
+		if(null == estado) {
+			estado = capturarEstado();
+		}else if(null == estado.pacote) {
+			// workbook no spool: grava o pacote sem restaurar
+			final EstadoSerializado copia = new EstadoSerializado();
+			copia.pacote = Files.readAllBytes(Paths.get(estado.arquivo));
+			copia.estilos = estado.estilos;
+			copia.fontes = estado.fontes;
+			copia.estilosFormatados = estado.estilosFormatados;
+			copia.estilosInternados = estado.estilosInternados;
+			copia.fontesInternadas = estado.fontesInternadas;
+			copia.formulasFolhas = estado.formulasFolhas;
+			copia.formulasLinhas = estado.formulasLinhas;
+			copia.formulasColunas = estado.formulasColunas;
+			estado = copia;
+		}
+		out.writeObject(estado);
 	}
-
+	
 	/**
-	 * Configura negrito da fonte
-	 * 
-	 * @param name (String) - nome chave da fonte no HashMap
-	 * @param bold (boolean) - se é negrito ou não
-	 * @return PoiUtil
+	 * Lê a forma serializada. O workbook é restaurado apenas no primeiro uso (xssf())
+	 * @param in (ObjectInputStream)
+	 * @throws IOException
+	 * @throws ClassNotFoundException
 	 */
-	public POIUtil2 editFontBold(final String name, final boolean bold) {
-		this.getFont(name).setBold(bold);
-		return this;
+	private void readObject(final ObjectInputStream in) throws IOException, ClassNotFoundException {
+		in.defaultReadObject();
+		this._cellStyles = new HashMap<>();
+		this._fonts = new HashMap<>();
+		this._estilosFormatados = new HashMap<>();
+		this._estilosInternados = new HashMap<>();
+		this._fontesInternadas = new HashMap<>();
+		this._largurasFontes = new HashMap<>();
+		this._formatosNumeros = new HashMap<>();
+		this._formulasCriadas = new ArrayList<>();
+		this._exportListeners = new ArrayList<>();
+		this._inicio = System.nanoTime();
+		this._estado = (EstadoSerializado) in.readObject();
+		if(this.spillIdleMillis > 0) {
+			agendarSpill();
+		}
 	}
 	
 	/**
-	 * Configura negrito da fonte da célula
-	 * 
-	 * @param cell (XSSFCell) - célula com estilo a ser configurado
-	 * @param bold (boolean) - se é negrito ou não
-	 * @return PoiUtil
+	 * Gera a forma serializada do workbook em memória
+	 * @return EstadoSerializado
+	 * @throws IOException
 	 */
-	public POIUtil2 editFontBold(final XSSFCell cell, final boolean bold) {
-		final XSSFCellStyle style = (XSSFCellStyle) cell.getCellStyle().clone();
-		final XSSFFont font = copyFont(style.getFont());
-		font.setBold(bold);
-		style.setFont(font);
-		cell.setCellStyle(style);
-		return this;
+	private EstadoSerializado capturarEstado() throws IOException {
+		final ByteArrayOutputStream baos = new ByteArrayOutputStream();
+		final PerfilZipOutputStream zip = new PerfilZipOutputStream(baos, OutputProfile.SMALLEST);
+		this._workbook.write(zip);
+		if(!zip.fechado) {
+			zip.finish();
+		}
+		final EstadoSerializado estado = new EstadoSerializado();
+		estado.pacote = baos.toByteArray();
+		estado.estilos = indicesEstilos(this._cellStyles);
+		estado.estilosFormatados = indicesEstilos(this._estilosFormatados);
+		estado.estilosInternados = indicesEstilos(this._estilosInternados);
+		estado.fontes = indicesFontes(this._fonts);
+		estado.fontesInternadas = indicesFontes(this._fontesInternadas);
+		final int quantidade = this._formulasCriadas.size();
+		estado.formulasFolhas = new String[quantidade];
+		estado.formulasLinhas = new int[quantidade];
+		estado.formulasColunas = new int[quantidade];
+		for(int index = 0; index < quantidade; index++) {
+			final Cell cell = this._formulasCriadas.get(index);
+			estado.formulasFolhas[index] = cell.getSheet().getSheetName();
+			estado.formulasLinhas[index] = cell.getRowIndex();
+			estado.formulasColunas[index] = cell.getColumnIndex();
+		}
+		return estado;
 	}
 	
 	/**
-	 * Configura tamanho da fonte da célula
-	 * 
-	 * @param cell (XSSFCell) - célula com estilo a ser configurado
-	 * @param size (double) - altura da fonte em double
-	 * @return PoiUtil
+	 * Retorna o XSSFWorkbook, restaurando a forma serializada no primeiro uso após a desserialização
+	 * @return XSSFWorkbook
+	 * @throws UncheckedIOException - caso o pacote serializado seja inválido
 	 */
-	public POIUtil2 editFontSize(final XSSFCell cell, final double size) {
-		final XSSFCellStyle style = (XSSFCellStyle) cell.getCellStyle().clone();
-		final XSSFFont font = copyFont(style.getFont());
-		font.setFontHeight(size);
-		style.setFont(font);
-		cell.setCellStyle(style);
-		return this;
+	private XSSFWorkbook xssf() {
+		if(null == this._derramamento) {
+			if(null != this._estado) {
+				restaurar();
+			}
+			return this._workbook;
+		}
+		synchronized(this) {
+			this._ultimoAcesso = System.nanoTime();
+			if(null != this._estado) {
+				restaurar();
+			}
+			return this._workbook;
+		}
+	}
+	
+	private Map<String, XSSFCellStyle> estilos() {
+		xssf();
+		return this._cellStyles;
+	}
+	
+	private Map<String, XSSFFont> fontes() {
+		xssf();
+		return this._fonts;
 	}
 	
 	/**
-	 * Configura tamanho da fonte da célula
-	 * @param sheet (XSSFSheet) - folha a ser alterada
-	 * @param row (int) - número da linha
-	 * @param col (int) - número da coluna
-	 * @param size (double) - altura da fonte em double
-	 * @return
+	 * Recria o workbook e os registros de estilos/fontes a partir da forma serializada
 	 */
-	public POIUtil2 editFontSize(final XSSFSheet sheet, final int row, final int col, final double size) {
-		final XSSFCell cell = sheet.getRow(row).getCell(col);
-		return editFontSize(cell, size);
+	private void restaurar() {
+		final EstadoSerializado estado = this._estado;
+		try {
+			final byte[] pacote = null != estado.pacote ? estado.pacote : Files.readAllBytes(Paths.get(estado.arquivo));
+			this._workbook = new XSSFWorkbook(new ByteArrayInputStream(pacote));
+		} catch (final IOException e) {
+			throw new UncheckedIOException("Workbook serializado inválido", e);
+		}
+		this._estado = null;
+		if(null != estado.arquivo) {
+			apagarSpool(estado.arquivo);
+			if(null != this._derramamento) {
+				this._derramamento.arquivo = null;
+			}
+		}
+		restaurarEstilos(estado.estilos, this._cellStyles);
+		restaurarEstilos(estado.estilosFormatados, this._estilosFormatados);
+		restaurarEstilos(estado.estilosInternados, this._estilosInternados);
+		restaurarFontes(estado.fontes, this._fonts);
+		restaurarFontes(estado.fontesInternadas, this._fontesInternadas);
+		for(int index = 0; index < estado.formulasFolhas.length; index++) {
+			final XSSFSheet folha = this._workbook.getSheet(estado.formulasFolhas[index]);
+			final XSSFRow row = null == folha ? null : folha.getRow(estado.formulasLinhas[index]);
+			final XSSFCell cell = null == row ? null : row.getCell(estado.formulasColunas[index]);
+			if(null != cell) {
+				this._formulasCriadas.add(cell);
+			}
+		}
 	}
 	
+	// SPILL
+	
 	/**
-	 * Configura cor da Fonte. (IndexedColors)
-	 * @param name (String) - nome chave da fonte no HashMap
-	 * @param color (IndexedColors) - cor da fonte
+	 * Ativa o spill em disco do workbook ocioso. Após idleMillis sem chamadas ao POIUtil o workbook e os registros de estilos/fontes
+	 * são gravados em um arquivo do spoolDirectory e liberados da memória; a próxima chamada os recarrega.
+	 * O spill não ocorre durante exports (write/download), writeTable e operações em regiões.
+	 * Ideal para POIUtil mantido em beans @ViewScoped/@SessionScoped entre postbacks. Não se aplica ao modo streaming.
+	 * ATENÇÃO: objetos do POI obtidos antes do spill (XSSFSheet, XSSFCell...) deixam de pertencer ao workbook. Use os métodos do POIUtil
+	 * ou obtenha-os novamente (getSheet).
+	 * @param idleMillis (long) - tempo ocioso em milissegundos. Mínimo 1000
+	 * @param spoolDirectory (String) - diretório local dos arquivos
+	 * @throws IllegalArgumentException - caso o tempo seja menor que 1000 ou o diretório não exista
 	 * @return PoiUtil
 	 */
-	public POIUtil2 editFontColor(final String name, final IndexedColors color) {
-		this.getFont(name).setColor(color.getIndex());
+	public synchronized POIUtil2 enableIdleSpill(final long idleMillis, final String spoolDirectory) {
+		if(idleMillis < 1000 || !Files.isDirectory(Paths.get(spoolDirectory))) {
+			throw new IllegalArgumentException("Spill inválido -> "+idleMillis+", "+spoolDirectory);
+		}
+		cancelarSpill();
+		this.spillIdleMillis = idleMillis;
+		this.spillDirectory = spoolDirectory;
+		agendarSpill();
 		return this;
 	}
-
+	
 	/**
-	 * Edita nome da fonte do documento
-	 * 
-	 * @param name     (String) - nome chave da fonte no HashMap
-	 * @param fontName (String) - nome da fonte no documento. Ex: Calibri
+	 * Desativa o spill em disco. Caso o workbook esteja no spool, é recarregado na próxima chamada
 	 * @return PoiUtil
 	 */
-	public POIUtil2 editFontName(final String name, final String fontName) {
-		this.getFont(name).setFontName(fontName);
+	public synchronized POIUtil2 disableIdleSpill() {
+		xssf();
+		cancelarSpill();
+		this.spillIdleMillis = 0;
+		this.spillDirectory = null;
 		return this;
-
 	}
-
-	public POIUtil2 editFontSize(final String name, final double size) {
-		this.getFont(name).setFontHeight(size);
-		return this;
+	
+	/**
+	 * Retorna se o workbook está gravado no spool (fora da memória)
+	 * @return boolean
+	 */
+	public synchronized boolean isSpilled() {
+		return null != this._estado && null == this._estado.pacote;
 	}
-
+	
+	private void agendarSpill() {
+		this._ultimoAcesso = System.nanoTime();
+		final long periodo = Math.max(500, this.spillIdleMillis / 2);
+		this._derramamento = new Derramamento(this);
+		this._derramamento.future = SPILL.scheduleWithFixedDelay(this._derramamento, periodo, periodo, TimeUnit.MILLISECONDS);
+	}
+	
 	/**
-	 * Retorna fonte pela key nome
-	 * 
-	 * @param name (String) - nome chave da fonte
-	 * @return XSSFFont
+	 * Marca o início de uma operação longa. Restaura o workbook caso esteja no spool e impede o spill até o finalizarOperacao()
 	 */
-	public XSSFFont getFont(final String name) {
-		return this._fonts.get(name);
+	private synchronized void iniciarOperacao() {
+		xssf();
+		this._operacoes++;
 	}
 	
-	public XSSFFont copyFont(final XSSFFont font) {
-		final XSSFFont newFont = this._workbook.createFont();
-		newFont.setFamily(font.getFamily());
-		newFont.setFontName(font.getFontName());
-		newFont.setFontHeight(font.getFontHeight());
-		newFont.setColor(font.getColor());
-		newFont.setBold(font.getBold());
-		return newFont;
+	/**
+	 * Marca o fim de uma operação longa. O tempo ocioso passa a contar a partir daqui
+	 */
+	private synchronized void finalizarOperacao() {
+		this._operacoes--;
+		this._ultimoAcesso = System.nanoTime();
 	}
-
-	// IMAGES
-
+	
+	private void cancelarSpill() {
+		if(null != this._derramamento) {
+			this._derramamento.future.cancel(false);
+			this._derramamento = null;
+		}
+	}
+	
 	/**
-	 * Insere imagem nos pontos XY definidos. Recebe o caminho da imagem (imagePath)
-	 * e lê/escreve os bytes com FileInputStream e ByteArrayOutputStream. Ambos são
-	 * fechados no finally.
-	 * 
-	 * @param sheet      (XSSFSheet) - folha a ser alterada
-	 * @param regiao (String) - linha e células que imagem ocupará. Ex: "A1:H5"
-	 * @param scaleX     (double) - Escala (tamanho) em X da imagem de acordo com
-	 *                   row1, row2, cell1, cell2
-	 * @param scaleY     (double) - Escala (tamanho) em Y da imagem de acordo com
-	 *                   row1, row2, cell1, cell2
-	 * @param dx1        (int) - Posição X do canto superior esquerdo em relação ao
-	 *                   col1
-	 * @param dx2        (int) - Posição X do canto inferior direito em relação ao
-	 *                   col2
-	 * @param dy1        (int) - Posição Y do canto superior esquerdo em relação ao
-	 *                   row1
-	 * @param dy2        (int) - Posição Y do canto inferior direito em relação ao
-	 *                   row2
-	 * @param anchorType (AnchorType) - Comportamento da imagem
-	 * @param imagePath  (String) - Caminho da imagem
-	 * @throws Exception
+	 * Grava o workbook no spool caso esteja ocioso. Executado pela thread de spill
 	 */
-	public void insertImage(final XSSFSheet sheet, final String regiao, final double scaleX, final double scaleY, final int dx1, final int dx2, final int dy1, final int dy2,
-			final AnchorType anchorType, final String imagePath) throws Exception {
-
-		validarRegioes(new String[] {regiao});
-		setUltimaRegiaoAutalizada(sheet,regiao);
-		final int[][] linhasColunas = getRowsCols(regiao);
-		FileInputStream fis = null;
-		ByteArrayOutputStream baos = null;
+	private synchronized void derramar() {
+		if(null == this._derramamento || isStreaming() || 0 != this._operacoes || (null == this._estado && null == this._workbook)
+				|| System.nanoTime() - this._ultimoAcesso < TimeUnit.MILLISECONDS.toNanos(this.spillIdleMillis)) {
+			return;
+		}
+		if(null != this._estado && null == this._estado.pacote) {
+			return;
+		}
+		Path arquivo = null;
 		try {
-			fis = new FileInputStream(new File(imagePath));
-			baos = new ByteArrayOutputStream();
-			byte[] bufferImg = new byte[4096];
-			int tamanhoLido = 0;
-			while ((tamanhoLido = fis.read(bufferImg)) != -1) {
-				baos.write(bufferImg, 0, tamanhoLido);
-			}
-			final CreationHelper helper = this._workbook.getCreationHelper();
-			final XSSFDrawing drawing = sheet.createDrawingPatriarch();
-			final ClientAnchor anchor = helper.createClientAnchor();
-			anchor.setAnchorType(anchorType);
-			anchor.setCol1(linhasColunas[0][1]);
-			anchor.setCol2(linhasColunas[1][1]);
-			anchor.setRow1(linhasColunas[0][0]);
-			anchor.setRow2(linhasColunas[1][0]);
-			anchor.setDx1(dx1 * Units.EMU_PER_POINT);
-			anchor.setDx2(dx2 * Units.EMU_PER_POINT);
-			anchor.setDy1(dy1 * Units.EMU_PER_POINT);
-			anchor.setDy2(dy2 * Units.EMU_PER_POINT);
-			final int pictureIndex = this._workbook.addPicture(baos.toByteArray(), Workbook.PICTURE_TYPE_PNG);
-			final Picture picture = drawing.createPicture(anchor, pictureIndex);
-			picture.resize(scaleX, scaleY);
-		} finally {
-			if (null != fis) {
-				fis.close();
-			}
-			if (null != baos) {
-				baos.close();
+			final EstadoSerializado estado = null == this._estado ? capturarEstado() : this._estado;
+			arquivo = Files.createTempFile(Paths.get(this.spillDirectory), "poiutil", ".xlsx");
+			Files.write(arquivo, estado.pacote);
+			estado.pacote = null;
+			estado.arquivo = arquivo.toString();
+			this._derramamento.arquivo = estado.arquivo;
+			this._estado = estado;
+			this._workbook = null;
+			this._cellStyles.clear();
+			this._fonts.clear();
+			this._estilosFormatados.clear();
+			this._estilosInternados.clear();
+			this._fontesInternadas.clear();
+			this._formulasCriadas.clear();
+			this._imagens = null;
+			this._desenhos = null;
+		} catch (final IOException e) {
+			// sem espaço/permissão no spool -> workbook continua em memória
+			if(null != arquivo) {
+				apagarSpool(arquivo.toString());
 			}
 		}
 	}
 	
+	private static void apagarSpool(final String arquivo) {
+		try {
+			Files.deleteIfExists(Paths.get(arquivo));
+		} catch (final IOException e) {
+			e.printStackTrace();
+		}
+	}
+	
 	/**
-	 * Insere imagem nos pontos XY definidos.
-	 * 
-	 * @param sheet      (XSSFSheet) - folha a ser alterada
-	 * @param regiao (String) - linha e células que imagem ocupará. Ex: "A1:H5"
-	 * @param scaleX     (double) - Escala (tamanho) em X da imagem de acordo com
-	 *                   row1, row2, cell1, cell2
-	 * @param scaleY     (double) - Escala (tamanho) em Y da imagem de acordo com
-	 *                   row1, row2, cell1, cell2
-	 * @param dx1        (int) - Posição X do canto superior esquerdo em relação ao
-	 *                   col1
-	 * @param dx2        (int) - Posição X do canto inferior direito em relação ao
-	 *                   col2
-	 * @param dy1        (int) - Posição Y do canto superior esquerdo em relação ao
-	 *                   row1
-	 * @param dy2        (int) - Posição Y do canto inferior direito em relação ao
-	 *                   row2
-	 * @param anchorType (AnchorType) - Comportamento da imagem
-	 * @param fillColorRgb (int[]) - Cor de fundo da imagem em RGB.
-	 * @param image  (byte[]) - Byte array da imagem
-	 * @throws Exception 
+	 * Verificação periódica de ociosidade. Mantém apenas referência fraca ao POIUtil: caso seja coletado, cancela o agendamento e apaga o spool
 	 */
-	public void insertImage(final XSSFSheet sheet, final String regiao,	final double scaleX, final double scaleY, final int dx1, final int dx2, final int dy1, final int dy2,
-			final AnchorType anchorType, final int[] fillColorRgb,final byte[] image) throws Exception {
+	private static final class Derramamento implements Runnable {
 		
-		validarRegioes(new String[] {regiao});
-		setUltimaRegiaoAutalizada(sheet,regiao);
-		final int[][] linhasColunas = getRowsCols(regiao);
-			final CreationHelper helper = this._workbook.getCreationHelper();
-			final XSSFDrawing drawing = sheet.createDrawingPatriarch();
-			final ClientAnchor anchor = helper.createClientAnchor();
-			anchor.setAnchorType(anchorType);
-			anchor.setCol1(linhasColunas[0][1]);
-			anchor.setCol2(linhasColunas[1][1]);
-			anchor.setRow1(linhasColunas[0][0]);
-			anchor.setRow2(linhasColunas[1][0]);
-			anchor.setDx1(dx1 * Units.EMU_PER_POINT);
-			anchor.setDx2(dx2 * Units.EMU_PER_POINT);
-			anchor.setDy1(dy1 * Units.EMU_PER_POINT);
-			anchor.setDy2(dy2 * Units.EMU_PER_POINT);
-			final int pictureIndex = this._workbook.addPicture(image, Workbook.PICTURE_TYPE_PNG);
-			final Picture picture = drawing.createPicture(anchor, pictureIndex);
-			picture.setFillColor(fillColorRgb[0], fillColorRgb[1], fillColorRgb[2]);
-			picture.resize(scaleX, scaleY);
+		private final WeakReference<POIUtil> referencia;
+		private volatile ScheduledFuture<?> future;
+		private volatile String arquivo;
+		
+		private Derramamento(final POIUtil poiUtil) {
+			this.referencia = new WeakReference<>(poiUtil);
+		}
+		
+		@Override
+		public void run() {
+			final POIUtil poiUtil = this.referencia.get();
+			if(null == poiUtil) {
+				this.future.cancel(false);
+				if(null != this.arquivo) {
+					apagarSpool(this.arquivo);
+				}
+				return;
+			}
+			poiUtil.derramar();
+		}
 	}
-
-	// COLUMNS
-
+	
+	private static Map<String, Short> indicesEstilos(final Map<String, XSSFCellStyle> estilos) {
+		final Map<String, Short> indices = new HashMap<>(estilos.size() * 2);
+		for(final Map.Entry<String, XSSFCellStyle> entry : estilos.entrySet()) {
+			indices.put(entry.getKey(), entry.getValue().getIndex());
+		}
+		return indices;
+	}
+	
+	private static Map<String, Short> indicesFontes(final Map<String, XSSFFont> fontes) {
+		final Map<String, Short> indices = new HashMap<>(fontes.size() * 2);
+		for(final Map.Entry<String, XSSFFont> entry : fontes.entrySet()) {
+			indices.put(entry.getKey(), entry.getValue().getIndex());
+		}
+		return indices;
+	}
+	
+	private void restaurarEstilos(final Map<String, Short> indices, final Map<String, XSSFCellStyle> estilos) {
+		for(final Map.Entry<String, Short> entry : indices.entrySet()) {
+			estilos.put(entry.getKey(), this._workbook.getCellStyleAt(entry.getValue()));
+		}
+	}
+	
+	private void restaurarFontes(final Map<String, Short> indices, final Map<String, XSSFFont> fontes) {
+		for(final Map.Entry<String, Short> entry : indices.entrySet()) {
+			fontes.put(entry.getKey(), this._workbook.getFontAt(entry.getValue()));
+		}
+	}
+	
+	//OUTROS
+	
 	/**
-	 * Aplica o autoSize nas colunas informadas.
-	 * 
-	 * @param sheet   (XSSFSheet) - folha a ser alterada
-	 * @param columns (int[]) - colunas a aplicar o autoSize. Base 0
-	 * @return PoiUtil
+	 * Retorna o workbook usado para escrita: SXSSFWorkbook no modo streaming, XSSFWorkbook caso contrário
+	 * @return Workbook
 	 */
-	public POIUtil2 autoSizeColumns(final XSSFSheet sheet, final int[] columns) {
-		for (final int column : columns) {
-			sheet.autoSizeColumn(column);
+	private Workbook workbook() {
+		return null == this._streamingWorkbook ? xssf() : this._streamingWorkbook;
+	}
+	
+	/**
+	 * Retorna a folha onde as linhas são escritas. No modo streaming é a SXSSFSheet correspondente à XSSFSheet informada
+	 * @param sheet (XSSFSheet) - folha
+	 * @return Sheet
+	 */
+	private Sheet sheet(final XSSFSheet sheet) {
+		if(null != this._streamingWorkbook) {
+			return this._streamingWorkbook.getSheet(sheet.getSheetName());
 		}
-		return this;
+		return folhaAtual(sheet);
 	}
 	
+	/**
+	 * Retorna a XSSFSheet correspondente no workbook atual. Referências obtidas antes do spill ou da serialização apontam para o workbook descartado
+	 * @param sheet (XSSFSheet) - folha
+	 * @return XSSFSheet
+	 */
+	private XSSFSheet folhaAtual(final XSSFSheet sheet) {
+		final XSSFWorkbook workbook = xssf();
+		return sheet.getWorkbook() == workbook ? sheet : workbook.getSheet(sheet.getSheetName());
+	}
 	
 	/**
-	 * Configura em todas as folhas a largura de todas as colunas para "auto". Afeta performance gravemente dependendo do tamanho do arquivo.
-	 * @return PoiUtil
+	 * Retorna linha. Retorna nulo caso não exista.
+	 * @param sheet (Sheet) - folha
+	 * @param row (int) - número da linha. Base 0
+	 * @throws IllegalStateException - caso a linha já tenha sido descarregada no modo streaming
+	 * @return Row
 	 */
-	public POIUtil2 autoSizeColumns() {
-		for(int i = 0; i < this._workbook.getNumberOfSheets(); i++) {
-			autoSizeColumns(this.getSheetAt(i));
+	private Row linha(final Sheet sheet, final int row) {
+		Row linha = sheet.getRow(row);
+		if(null == linha && null != this._streamingWorkbook) {
+			// linhas criadas antes do streaming (template/troca automática) continuam no XSSFSheet
+			final String nome = sheet.getSheetName();
+			linha = sheet instanceof SXSSFSheet ? xssf().getSheet(nome).getRow(row) : this._streamingWorkbook.getSheet(nome).getRow(row);
+			if(null == linha) {
+				verificarLinhaDescarregada(this._streamingWorkbook.getSheet(nome), row);
+			}
 		}
-		return this;
+		return linha;
 	}
 	
 	/**
-	 * Ajusta o tamanho de todas as colunas preenchidas na folha. Afeta performance gravemente dependendo do tamanho da folha.
-	 * @param sheet (XSSFSheet) - Folha para ser ajustada
-	 * @return
+	 * Cria linha
+	 * @param sheet (Sheet) - folha
+	 * @param row (int) - número da linha. Base 0
+	 * @throws IllegalStateException - caso a linha já tenha sido descarregada no modo streaming
+	 * @return Row
 	 */
-	public POIUtil2 autoSizeColumns(final XSSFSheet sheet) {
-		int lastCellNum = 0;
-		int i = 0;
-		XSSFRow row = null;
-		while(i < sheet.getLastRowNum()) {
-			row = sheet.getRow(i++);
-			if(null == row) {
-				break;
+	private Row novaLinha(final Sheet sheet, final int row) {
+		this._linhasEscritas++;
+		if(null == this._streamingWorkbook) {
+			if(0 == this.autoStreamingHeapBytes && 0 == this.autoStreamingRows) {
+				return sheet.createRow(row);
+			}
+			this._memoriaEstimada += BYTES_LINHA;
+			if((0 != this.autoStreamingRows && ++this._linhasCriadas > this.autoStreamingRows)
+					|| (0 != this.autoStreamingHeapBytes && this._memoriaEstimada > this.autoStreamingHeapBytes)) {
+				converterParaStreaming();
+			}else {
+				return sheet.createRow(row);
 			}
-			final int lastCellRow = row.getLastCellNum();
-			lastCellNum = lastCellRow > lastCellNum ? lastCellRow : lastCellNum;
 		}
-		i = 0;
-		while(i < lastCellNum) {
-			sheet.autoSizeColumn(i++);
+		final String nome = sheet.getSheetName();
+		final XSSFSheet xssfSheet = xssf().getSheet(nome);
+		if(xssfSheet.getPhysicalNumberOfRows() > 0 && row <= xssfSheet.getLastRowNum()) {
+			return xssfSheet.createRow(row);
 		}
-		return this;
+		final Sheet folha = sheet instanceof SXSSFSheet ? sheet : this._streamingWorkbook.getSheet(nome);
+		verificarLinhaDescarregada(folha, row);
+		return folha.createRow(row);
 	}
 	
-	//FÓRMULAS
-
 	/**
-	 * Atualiza todas as fórmulas criadas nas células. É chamado automaticamente nos métodos write().
-	 * @return PoiUtil
+	 * Retorna a linha existente ou cria
+	 * @param sheet (Sheet) - folha
+	 * @param row (int) - número da linha. Base 0
+	 * @throws IllegalStateException - caso a linha já tenha sido descarregada no modo streaming
+	 * @return Row
 	 */
-	public POIUtil2 evaluateAllFormulas() {
-		XSSFFormulaEvaluator.evaluateAllFormulaCells(this._workbook);
-		return this;
+	private Row linhaOuNova(final Sheet sheet, final int row) {
+		final Row linha = linha(sheet, row);
+		return null == linha ? novaLinha(sheet, row) : linha;
 	}
-
+	
 	/**
-	 * Cria fórmula de soma para a célula. ATENÇÃO: o tipo da célula será alterado para CELL_TYPE_FORMULA
-	 * @param cell (XSSFCell) - célula a ser alterada
-	 * @param formula (String) - fórmula String (em inglês). Ex: SUM(A1:B1).
-	 * @return POIUtil2
+	 * Conta a célula escrita e soma o heap estimado quando criada antes do modo streaming
+	 * @param bytes (int) - bytes do valor além da célula
 	 */
-	public POIUtil2 createCellFormula(final XSSFCell cell, final String formula) {
-		cell.setCellType(CellType.FORMULA);
-		cell.setCellFormula(formula);
-		return this;
+	private void estimarCelula(final int bytes) {
+		this._celulasEscritas++;
+		if(0 != this.autoStreamingHeapBytes && null == this._streamingWorkbook) {
+			this._memoriaEstimada += BYTES_CELULA + bytes;
+		}
 	}
 	
 	/**
-	 * Cria fórmula de SOMA para a célula. ATENÇÃO: o tipo da célula será alterado para CELL_TYPE_FORMULA
-	 * @param cell (XSSFCell) - célula a ser alterada
-	 * @param formula (String) - região a ser somada. Ex: A1:B1
-	 * @return POIUtil2
+	 * Passa o workbook para o modo streaming mantendo as linhas já criadas no XSSF
 	 */
-	public POIUtil2 sum(final XSSFCell cell, final String regiao) {
-		return createCellFormula(cell, "SUM("+regiao+")");
+	private void converterParaStreaming() {
+		if(!this.autoSizeEstimado) {
+			// autoSize passa a ser estimado, registra as larguras das células já criadas
+			for(final Sheet folha : xssf()) {
+				for(final Row row : folha) {
+					for(final Cell cell : row) {
+						registrarLargura(cell);
+					}
+				}
+			}
+		}
+		if(!this._formulasCriadas.isEmpty()) {
+			xssf().setForceFormulaRecalculation(true);
+		}
+		this._streamingWorkbook = new SXSSFWorkbook(xssf(), this.autoStreamingWindow, this.autoStreamingCompress, StringPolicy.SHARED == this.stringPolicy);
+	}
+	
+	/**
+	 * Registra a largura estimada do valor atual da célula
+	 * @param cell (Cell) - célula
+	 */
+	private void registrarLargura(final Cell cell) {
+		final CellStyle style = cell.getCellStyle();
+		switch(cell.getCellTypeEnum()) {
+		case STRING:
+			registrarLargura(cell, larguraFonte(style).larguraTexto(cell.getStringCellValue()));
+			break;
+		case NUMERIC:
+			registrarLargura(cell, larguraFonte(style).escala * caracteresNumero(cell.getNumericCellValue(), style));
+			break;
+		case BOOLEAN:
+			registrarLargura(cell, larguraFonte(style).larguraTexto(cell.getBooleanCellValue() ? "TRUE" : "FALSE"));
+			break;
+		default:
+			break;
+		}
 	}
 	
+	/**
+	 * Ação executada em cada célula de uma região
+	 */
+	@FunctionalInterface
+	private interface AcaoCelula {
+		void executar(Row row, int coluna);
+	}
 	
 	/**
-	 * Cria fórmula de CONT.SES para a célula. ATENÇÃO: o tipo da célula será alterado para CELL_TYPE_FORMULA
-	 * @param cell (XSSFCell) - célula a ser alterada
-	 * @param regiaoCriterio (String...) - array String contendo a região e o critério da função CONT.SES. Deve ser passado em pares. Ex: "A1:B1","VERDADEIRO","A3","FALSO"...
-	 * @return POIUtil2
+	 * Percorre as células/regiões resolvendo (ou criando) cada linha uma única vez e executando a ação em cada coluna da linha.
+	 * Registra a última região atualizada.
+	 * @param sheet (XSSFSheet) - folha
+	 * @param criarLinhas (boolean) - Se True -> cria as linhas. Se False -> usa as linhas existentes
+	 * @param celulasRegioes (String[]) - células ou regiões. Ex: "A1","A2:B3"
+	 * @param acao (AcaoCelula) - ação de cada célula
+	 * @throws Exception - células/regiões inválidas
 	 */
-	public POIUtil2 countIfs(final XSSFCell cell,final String... regiaoCriterio) {
-		final StringBuilder contSe = new StringBuilder(32);
-		final String virgula = ",";
-		contSe.append("COUNTIFS(");
-		for(int i = 0; i < regiaoCriterio.length;) {
-			contSe.append(regiaoCriterio[i] + virgula + regiaoCriterio[i + 1]);
-			i += 2;
-			if(i < regiaoCriterio.length) {
-				contSe.append(virgula);
+	private void percorrerRegioes(final XSSFSheet sheet, final boolean criarLinhas, final String[] celulasRegioes, final AcaoCelula acao) throws Exception {
+		iniciarOperacao();
+		try {
+			validarCelulasRegioes(celulasRegioes);
+			final Sheet folha = sheet(sheet);
+			for(final String celulaRegiao : celulasRegioes) {
+				final boolean regiao = celulaRegiao.indexOf(':') >= 0;
+				final long inicio = regiao ? inicioRegiao(celulaRegiao) : celula(celulaRegiao);
+				final long fim = regiao ? fimRegiao(celulaRegiao) : inicio;
+				final int linhaFinal = linhaCelula(fim);
+				final int colunaInicial = colunaCelula(inicio);
+				final int colunaFinal = colunaCelula(fim);
+				for(int linhaAtual = linhaCelula(inicio); linhaAtual <= linhaFinal; linhaAtual++) {
+					final Row row = criarLinhas ? novaLinha(folha, linhaAtual) : linha(folha, linhaAtual);
+					for(int coluna = colunaInicial; coluna <= colunaFinal; coluna++) {
+						acao.executar(row, coluna);
+					}
+				}
 			}
+			setUltimaRegiaoAutalizada(sheet,celulasRegioes);
+		} finally {
+			finalizarOperacao();
 		}
-		contSe.append(")");
-		return createCellFormula(cell,contSe.toString());
 	}
 	
 	/**
-	 * Retorna fórmula DATA(ano,mes,dia)
-	 * @param cellRow (String) - localização da célula em String
-	 * @param month (int) - mês desejado (base 1)
-	 * @param day (int) - dia desejado (base 1)
-	 * @return
+	 * Lança erro caso a linha já tenha sido descarregada para o disco no modo streaming
+	 * @param sheet (Sheet) - folha
+	 * @param row (int) - número da linha. Base 0
 	 */
-	public String date(final String cellRow, final int month, final int day) {
-		return "DATE("+cellRow+","+month+","+day+")";
+	private void verificarLinhaDescarregada(final Sheet sheet, final int row) {
+		if(sheet instanceof SXSSFSheet && row <= ((SXSSFSheet) sheet).getLastFlushedRowNum()) {
+			throw new IllegalStateException("Linha " + (row + 1) + " da folha " + sheet.getSheetName() 
+				+ " já foi descarregada para o disco (modo streaming). Crie as linhas em ordem crescente ou aumente o rowAccessWindowSize");
+		}
 	}
 	
-	//OUTROS
 	private void close(final ByteArrayOutputStream baos, final ServletOutputStream sos) {
 		if (null != baos) {
 			try {
@@ -1768,13 +5946,23 @@ public class POIUtil implements Serializable {
 		}
 	}
 	
+	/**
+	 * Adiciona a extensão .xlsx ao nome do arquivo caso não possua
+	 * @param fileName (String) - nome do arquivo
+	 * @return (String) - nome do arquivo com .xlsx
+	 */
+	private static String nomeArquivoXlsx(final String fileName) {
+		final String xlsx = ".xlsx";
+		return fileName.contains(xlsx) ? fileName : fileName + xlsx;
+	}
+	
 	/**
 	 * Cria formato e retorna seu valor em short
 	 * @param format (String) - formato desejado. Ex: "dd/MM/yyyy"
 	 * @return formato (short)
 	 */
 	public short getDataFormat(final String format) {
-		return this._workbook.getCreationHelper().createDataFormat().getFormat(format);
+		return xssf().getCreationHelper().createDataFormat().getFormat(format);
 	}
 	
 	/**
@@ -1795,7 +5983,7 @@ public class POIUtil implements Serializable {
 	 */
 	private void validarCelulas(final String[] celulas) throws Exception {
 		for(int index = 0; index < celulas.length; index++) {
-			if(!celulas[index].matches(REGEX_CELULAS)) {
+			if(celula(celulas[index]) < 0) {
 				throw new Exception("Célula inválida -> " + celulas[index]);
 			}
 		}
@@ -1808,7 +5996,7 @@ public class POIUtil implements Serializable {
 	 */
 	private void validarRegioes(final String[] regioes) throws Exception {
 		for(int index = 0; index < regioes.length; index++) {
-			if(!regioes[index].matches(REGEX_REGIOES)) {
+			if(regioes[index].indexOf(':') < 0 || inicioRegiao(regioes[index]) < 0 || fimRegiao(regioes[index]) < 0) {
 				throw new Exception("Região inválida -> " + regioes[index]);
 			}
 		}
@@ -1821,34 +6009,97 @@ public class POIUtil implements Serializable {
 	 */
 	private void validarCelulasRegioes(final String[] celulasRegioes) throws Exception {
 		for(int index = 0; index < celulasRegioes.length; index++) {
-			if(!celulasRegioes[index].matches(REGEX_CELULAS_REGIOES)) {
+			if(inicioRegiao(celulasRegioes[index]) < 0 || fimRegiao(celulasRegioes[index]) < 0) {
 				throw new Exception("Célula/Região inválida -> " + celulasRegioes[index]);
 			}
 		}
 	}
 	
 	/**
-	 * Recupera o numero da linha e coluna de determinada célula
+	 * Recupera o número da linha e coluna de determinada célula, compactados em um long (linha nos 32 bits altos e coluna nos baixos).
+	 * Valida e decodifica em uma única passada, sem alocar objetos.
 	 * @param cell (String) Ex: "A1"
-	 * @return array com linha(0) e coluna(1) (int[]) 
+	 * @return long compactado ou -1 caso a célula seja inválida
+	 */
+	private static long celula(final String cell) {
+		return celula(cell, 0, cell.length());
+	}
+	
+	/**
+	 * Recupera o número da linha e coluna da célula contida no trecho [inicio,fim) do texto. Ex: "B12" -> linha 11, coluna 1
+	 * @param texto (String) - texto com a célula
+	 * @param inicio (int) - início do trecho (inclusivo)
+	 * @param fim (int) - fim do trecho (exclusivo)
+	 * @return long compactado ou -1 caso a célula seja inválida
 	 */
-	private int[] getRowCol(final String cell) {
-		final CellReference cellRef = new CellReference(cell);
-		return new int[] {cellRef.getRow(),cellRef.getCol()};
+	private static long celula(final String texto, final int inicio, final int fim) {
+		int index = inicio;
+		int coluna = 0;
+		while(index < fim) {
+			final char c = texto.charAt(index);
+			if(c < 'A' || c > 'Z') {
+				break;
+			}
+			coluna = coluna * 26 + (c - 'A' + 1);
+			if(coluna > MAX_COLUNAS) {
+				return -1;
+			}
+			index++;
+		}
+		if(index == inicio || index == fim) {
+			return -1;
+		}
+		int linha = 0;
+		while(index < fim) {
+			final char c = texto.charAt(index++);
+			if(c < '0' || c > '9') {
+				return -1;
+			}
+			linha = linha * 10 + (c - '0');
+			if(linha > MAX_LINHAS) {
+				return -1;
+			}
+		}
+		if(linha == 0) {
+			return -1;
+		}
+		return ((long) (linha - 1) << 32) | (coluna - 1);
 	}
 	
+	/**
+	 * Recupera a célula inicial de determinada região. Caso não seja uma região (sem ":"), retorna a própria célula
+	 * @param region (String) Ex: "A1:D1"
+	 * @return long compactado ou -1 caso a célula seja inválida
+	 */
+	private static long inicioRegiao(final String region) {
+		final int separador = region.indexOf(':');
+		return celula(region, 0, separador < 0 ? region.length() : separador);
+	}
 	
 	/**
-	 * Recupera os números das linhas (iniciais e finais) e colunas (iniciais e finais) de determinada regiao.
+	 * Recupera a célula final de determinada região. Caso não seja uma região (sem ":"), retorna a própria célula
 	 * @param region (String) Ex: "A1:D1"
-	 * @return matriz com dois arrays de linha e coluna
+	 * @return long compactado ou -1 caso a célula seja inválida
+	 */
+	private static long fimRegiao(final String region) {
+		final int separador = region.indexOf(':');
+		return separador < 0 ? celula(region, 0, region.length()) : celula(region, separador + 1, region.length());
+	}
+	
+	/**
+	 * @param celula (long) - célula compactada
+	 * @return linha da célula. Base 0
+	 */
+	private static int linhaCelula(final long celula) {
+		return (int) (celula >>> 32);
+	}
+	
+	/**
+	 * @param celula (long) - célula compactada
+	 * @return coluna da célula. Base 0
 	 */
-	private int[][] getRowsCols(final String region){
-		final String[] regiaoArray = region.split(":");
-		final int[][] retorno = new int[2][1];
-		retorno[0] = getRowCol(regiaoArray[0]);
-		retorno[1] = getRowCol(regiaoArray[1]);
-		return retorno;
+	private static int colunaCelula(final long celula) {
+		return (int) celula;
 	}
 	
 	/**
@@ -1908,7 +6159,7 @@ public class POIUtil implements Serializable {
 	 */
 	public void setUltimaRegiaoAutalizadaLinhaColuna(final XSSFSheet sheet,final int linha, final int coluna) {
 		if(this.auditoriaRegiaoAtualizada) {
-			this._ultimaRegiaoAtualizada = sheet.getSheetName() + "!" + getCellCreatedString(sheet, linha, coluna);			
+			this._ultimaRegiaoAtualizada = sheet.getSheetName() + "!" + getCellString(linha, coluna);			
 		}
 	}
 
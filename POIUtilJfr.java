@@ -0,0 +1,112 @@
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+
+/**
+ * Publica as métricas de export do POIUtil como eventos JFR (jdk.jfr - JDK 11+ ou 8u272+).
+ * Separado do POIUtil para que o utilitário continue compilando em JDKs sem jdk.jfr.
+ *
+ * Uso: POIUtil.addGlobalExportListener(new POIUtilJfr());
+ *
+ * Os eventos aparecem em "POIUtil" no JDK Mission Control e podem ser correlacionados com as pausas de GC da mesma gravação.
+ *
+ * https://github.com/joaopmi/PoiUtil
+ *
+ */
+public class POIUtilJfr implements POIUtil.ExportListener {
+
+	/** Eventos de fase abertos da thread (fases não se sobrepõem dentro de um export) */
+	private static final ThreadLocal<PhaseEvent> FASE = new ThreadLocal<>();
+
+	@Name("poiutil.Export")
+	@Label("POIUtil Export")
+	@Category("POIUtil")
+	@Description("Export (write/download) de um workbook")
+	static class ExportEvent extends Event {
+		@Label("Streaming")
+		boolean streaming;
+		@Label("Build") @Timespan(Timespan.NANOSECONDS)
+		long build;
+		@Label("Auto Size") @Timespan(Timespan.NANOSECONDS)
+		long autoSize;
+		@Label("Evaluate") @Timespan(Timespan.NANOSECONDS)
+		long evaluate;
+		@Label("Serialize") @Timespan(Timespan.NANOSECONDS)
+		long serialize;
+		@Label("Servlet Write") @Timespan(Timespan.NANOSECONDS)
+		long servletWrite;
+		@Label("Sheets")
+		int sheets;
+		@Label("Rows")
+		long rows;
+		@Label("Cells")
+		long cells;
+		@Label("Styles")
+		int styles;
+		@Label("Fonts")
+		int fonts;
+		@Label("Shared Strings")
+		int sharedStrings;
+		@Label("Output Bytes") @DataAmount
+		long outputBytes;
+	}
+
+	@Name("poiutil.ExportPhase")
+	@Label("POIUtil Export Phase")
+	@Category("POIUtil")
+	@Description("Fase de um export (autoSize, fórmulas, serialização, escrita no servlet)")
+	static class PhaseEvent extends Event {
+		@Label("Phase")
+		String phase;
+	}
+
+	@Override
+	public void phaseStarted(final POIUtil.ExportPhase phase) {
+		final PhaseEvent event = new PhaseEvent();
+		if(!event.isEnabled()) {
+			return;
+		}
+		event.phase = phase.name();
+		event.begin();
+		FASE.set(event);
+	}
+
+	@Override
+	public void phaseFinished(final POIUtil.ExportPhase phase, final long nanos) {
+		final PhaseEvent event = FASE.get();
+		if(null == event) {
+			return;
+		}
+		FASE.remove();
+		event.end();
+		if(event.shouldCommit()) {
+			event.commit();
+		}
+	}
+
+	@Override
+	public void exportFinished(final POIUtil.ExportMetrics metrics) {
+		final ExportEvent event = new ExportEvent();
+		if(!event.shouldCommit()) {
+			return;
+		}
+		event.streaming = metrics.isStreaming();
+		event.build = metrics.getBuildNanos();
+		event.autoSize = metrics.getAutoSizeNanos();
+		event.evaluate = metrics.getEvaluateNanos();
+		event.serialize = metrics.getSerializeNanos();
+		event.servletWrite = metrics.getServletWriteNanos();
+		event.sheets = metrics.getSheets();
+		event.rows = metrics.getRows();
+		event.cells = metrics.getCells();
+		event.styles = metrics.getStyles();
+		event.fonts = metrics.getFonts();
+		event.sharedStrings = metrics.getSharedStrings();
+		event.outputBytes = metrics.getOutputBytes();
+		event.commit();
+	}
+}
@@ -0,0 +1,288 @@
+package poiutil.benchmark;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.poi.ss.usermodel.BorderStyle;
+import org.apache.poi.ss.usermodel.FillPatternType;
+import org.apache.poi.ss.usermodel.HorizontalAlignment;
+import org.apache.poi.ss.usermodel.IndexedColors;
+import org.apache.poi.ss.usermodel.VerticalAlignment;
+import org.apache.poi.xssf.usermodel.XSSFCell;
+import org.apache.poi.xssf.usermodel.XSSFSheet;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.BenchmarkParams;
+
+/**
+ * Benchmarks JMH dos pontos críticos do POIUtil.
+ * 
+ * O JMH não aceita benchmarks no pacote padrão e o POIUtil não pode ser importado do pacote padrão,
+ * por isso os métodos são resolvidos uma única vez em MethodHandles estáticos (inlinados pelo JIT).
+ * 
+ * Execução: mvn -f benchmark clean package && java -jar benchmark/target/benchmarks.jar POIUtilBenchmark -prof gc
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx4g", "-Djava.awt.headless=true"})
+public class POIUtilBenchmark {
+	
+	private static final int COLUNAS = 10;
+	private static final String ESTILO = "estilo";
+	private static final String FONTE = "fonte";
+	
+	private static final MethodHandle NOVO;
+	private static final MethodHandle CREATE_SHEET;
+	private static final MethodHandle GET_SHEET_AT;
+	private static final MethodHandle CREATE_ROW_CELL_REGIAO;
+	private static final MethodHandle CREATE_ROW_CELLS;
+	private static final MethodHandle CREATE_CELL_STRING;
+	private static final MethodHandle CREATE_CELL_INT;
+	private static final MethodHandle SET_CELL_VALUE_STRING;
+	private static final MethodHandle SET_CELL_VALUE_DOUBLE;
+	private static final MethodHandle CREATE_FONT;
+	private static final MethodHandle CREATE_CELL_STYLE;
+	private static final MethodHandle CREATE_ROW_CELL_STYLE;
+	private static final MethodHandle AUTO_SIZE_COLUMNS;
+	private static final MethodHandle SET_AUTO_SIZE_ESTIMADO;
+	private static final MethodHandle EVALUATE_ALL_FORMULAS;
+	private static final MethodHandle SUM;
+	private static final MethodHandle GET_CELL;
+	private static final MethodHandle WRITE_BYTES;
+	private static final MethodHandle WRITE_FILE;
+	private static final MethodHandle CLOSE;
+	
+	static {
+		try {
+			final Class<?> poi = Class.forName("POIUtil");
+			final Constructor<?> construtor = poi.getConstructor();
+			NOVO = MethodHandles.publicLookup().unreflectConstructor(construtor);
+			CREATE_SHEET = metodo(poi, "createSheet", String.class);
+			GET_SHEET_AT = metodo(poi, "getSheetAt", int.class);
+			CREATE_ROW_CELL_REGIAO = metodo(poi, "createRowCell", XSSFSheet.class, String[].class);
+			CREATE_ROW_CELLS = metodo(poi, "createRowCells", XSSFSheet.class, int.class, int[].class);
+			CREATE_CELL_STRING = metodo(poi, "createCell", XSSFSheet.class, String.class, int.class, int.class);
+			CREATE_CELL_INT = metodo(poi, "createCell", XSSFSheet.class, int.class, int.class, int.class);
+			SET_CELL_VALUE_STRING = metodo(poi, "setCellValue", XSSFSheet.class, String.class, String.class);
+			SET_CELL_VALUE_DOUBLE = metodo(poi, "setCellValue", XSSFSheet.class, double.class, String.class);
+			CREATE_FONT = metodo(poi, "createFont", String.class, String.class, boolean.class, double.class);
+			CREATE_CELL_STYLE = metodo(poi, "createCellStyle", String.class, String.class, boolean.class, HorizontalAlignment.class,
+					VerticalAlignment.class, FillPatternType.class, IndexedColors.class, BorderStyle[].class);
+			CREATE_ROW_CELL_STYLE = metodo(poi, "createRowCellStyle", XSSFSheet.class, String.class, String[].class);
+			AUTO_SIZE_COLUMNS = metodo(poi, "autoSizeColumns");
+			SET_AUTO_SIZE_ESTIMADO = metodo(poi, "setAutoSizeEstimado", boolean.class);
+			EVALUATE_ALL_FORMULAS = metodo(poi, "evaluateAllFormulas");
+			SUM = metodo(poi, "sum", XSSFCell.class, String.class);
+			GET_CELL = metodo(poi, "getCell", XSSFSheet.class, int.class, int.class);
+			WRITE_BYTES = metodo(poi, "write", boolean.class, boolean.class);
+			WRITE_FILE = metodo(poi, "write", String.class, boolean.class, boolean.class);
+			CLOSE = metodo(poi, "close");
+		} catch (ReflectiveOperationException e) {
+			throw new ExceptionInInitializerError(e);
+		}
+	}
+	
+	@Param({"1000", "100000", "1000000"})
+	public int cells;
+	
+	private int linhas;
+	private Object poi;
+	private XSSFSheet sheet;
+	private File arquivo;
+	
+	/**
+	 * Cria o workbook e prepara o que não faz parte da fase medida por cada benchmark (células preenchidas, fórmulas),
+	 * para que o tempo medido seja apenas o da fase.
+	 */
+	@Setup(Level.Invocation)
+	public void setup(final BenchmarkParams params) throws Throwable {
+		this.linhas = Math.max(1, this.cells / COLUNAS);
+		this.poi = NOVO.invoke();
+		CREATE_SHEET.invoke(this.poi, "Planilha 1");
+		this.sheet = (XSSFSheet) GET_SHEET_AT.invoke(this.poi, 0);
+		CREATE_FONT.invoke(this.poi, FONTE, "Calibri", true, 11d);
+		CREATE_CELL_STYLE.invoke(this.poi, ESTILO, FONTE, false, HorizontalAlignment.CENTER, VerticalAlignment.CENTER,
+				FillPatternType.SOLID_FOREGROUND, IndexedColors.GREY_25_PERCENT, new BorderStyle[] {BorderStyle.THIN});
+		this.arquivo = File.createTempFile("poiutil-benchmark", ".xlsx");
+		final String benchmark = params.getBenchmark();
+		switch(benchmark.substring(benchmark.lastIndexOf('.') + 1)) {
+			case "setCellValueString":
+			case "setCellValueDouble":
+				criarCelulas();
+				break;
+			case "autoSizeColumnsEstimado":
+				SET_AUTO_SIZE_ESTIMADO.invoke(this.poi, true);
+				preencher();
+				break;
+			case "evaluateAllFormulas":
+				preencher();
+				criarFormulas();
+				break;
+			case "autoSizeColumns":
+			case "writeBytes":
+			case "writeFile":
+				preencher();
+				break;
+			default:
+				break;
+		}
+	}
+	
+	@TearDown(Level.Invocation)
+	public void tearDown() throws Throwable {
+		try {
+			CLOSE.invoke(this.poi);
+		} catch (IOException e) {
+			// workbook já fechado pelo write()
+		}
+		this.arquivo.delete();
+	}
+	
+	/** Cria as linhas e células por região em String. Ex: "A1:J10000" */
+	@Benchmark
+	public Object createRowCellPorRegiao() throws Throwable {
+		CREATE_ROW_CELL_REGIAO.invoke(this.poi, this.sheet, new String[] {"A1:" + coluna(COLUNAS - 1) + this.linhas});
+		return this.sheet;
+	}
+	
+	/** Cria as linhas e células por índice */
+	@Benchmark
+	public Object createRowCellsPorIndice() throws Throwable {
+		final int[] colunas = new int[COLUNAS];
+		for(int index = 0; index < COLUNAS; index++) {
+			colunas[index] = index;
+		}
+		for(int linha = 0; linha < this.linhas; linha++) {
+			CREATE_ROW_CELLS.invoke(this.poi, this.sheet, linha, colunas);
+		}
+		return this.sheet;
+	}
+	
+	/** setCellValue(String) por endereço String em células existentes (criadas no setup) */
+	@Benchmark
+	public Object setCellValueString() throws Throwable {
+		for(int linha = 0; linha < this.linhas; linha++) {
+			for(int coluna = 0; coluna < COLUNAS; coluna++) {
+				SET_CELL_VALUE_STRING.invoke(this.poi, this.sheet, "valor", coluna(coluna) + (linha + 1));
+			}
+		}
+		return this.sheet;
+	}
+	
+	/** setCellValue(double) por endereço String em células existentes (criadas no setup) */
+	@Benchmark
+	public Object setCellValueDouble() throws Throwable {
+		for(int linha = 0; linha < this.linhas; linha++) {
+			for(int coluna = 0; coluna < COLUNAS; coluna++) {
+				SET_CELL_VALUE_DOUBLE.invoke(this.poi, this.sheet, linha * 1.5d, coluna(coluna) + (linha + 1));
+			}
+		}
+		return this.sheet;
+	}
+	
+	/** createCell(String) e createCell(int) por índice */
+	@Benchmark
+	public Object createCellPorIndice() throws Throwable {
+		for(int linha = 0; linha < this.linhas; linha++) {
+			this.sheet.createRow(linha);
+			for(int coluna = 0; coluna < COLUNAS; coluna++) {
+				if((coluna & 1) == 0) {
+					CREATE_CELL_STRING.invoke(this.poi, this.sheet, "valor", linha, coluna);
+				}else {
+					CREATE_CELL_INT.invoke(this.poi, this.sheet, linha, linha, coluna);
+				}
+			}
+		}
+		return this.sheet;
+	}
+	
+	/** createRowCellStyle em uma única região grande */
+	@Benchmark
+	public Object createRowCellStyle() throws Throwable {
+		CREATE_ROW_CELL_STYLE.invoke(this.poi, this.sheet, ESTILO, new String[] {"A1:" + coluna(COLUNAS - 1) + this.linhas});
+		return this.sheet;
+	}
+	
+	/** autoSizeColumns() medindo as células com AWT */
+	@Benchmark
+	public Object autoSizeColumns() throws Throwable {
+		return AUTO_SIZE_COLUMNS.invoke(this.poi);
+	}
+	
+	/** autoSizeColumns() com larguras estimadas durante a escrita */
+	@Benchmark
+	public Object autoSizeColumnsEstimado() throws Throwable {
+		return AUTO_SIZE_COLUMNS.invoke(this.poi);
+	}
+	
+	/** evaluateAllFormulas() com uma fórmula SUM por linha (criadas no setup) */
+	@Benchmark
+	public Object evaluateAllFormulas() throws Throwable {
+		return EVALUATE_ALL_FORMULAS.invoke(this.poi);
+	}
+	
+	/** write() para byte[] */
+	@Benchmark
+	public Object writeBytes() throws Throwable {
+		return WRITE_BYTES.invoke(this.poi, false, false);
+	}
+	
+	/** write() para arquivo */
+	@Benchmark
+	public Object writeFile() throws Throwable {
+		WRITE_FILE.invoke(this.poi, this.arquivo.getAbsolutePath(), false, false);
+		return this.arquivo;
+	}
+	
+	private void criarCelulas() throws Throwable {
+		CREATE_ROW_CELL_REGIAO.invoke(this.poi, this.sheet, new String[] {"A1:" + coluna(COLUNAS - 1) + this.linhas});
+	}
+	
+	private void preencher() throws Throwable {
+		for(int linha = 0; linha < this.linhas; linha++) {
+			this.sheet.createRow(linha);
+			for(int coluna = 0; coluna < COLUNAS; coluna++) {
+				if((coluna & 1) == 0) {
+					CREATE_CELL_STRING.invoke(this.poi, this.sheet, "valor " + linha, linha, coluna);
+				}else {
+					CREATE_CELL_INT.invoke(this.poi, this.sheet, linha, linha, coluna);
+				}
+			}
+		}
+	}
+	
+	private void criarFormulas() throws Throwable {
+		final String ultimaColuna = coluna(COLUNAS - 2);
+		for(int linha = 0; linha < this.linhas; linha++) {
+			SUM.invoke(this.poi, (XSSFCell) GET_CELL.invoke(this.poi, this.sheet, linha, COLUNAS - 1), "A" + (linha + 1) + ":" + ultimaColuna + (linha + 1));
+		}
+	}
+	
+	private static String coluna(final int index) {
+		return String.valueOf((char) ('A' + index));
+	}
+	
+	private static MethodHandle metodo(final Class<?> poi, final String nome, final Class<?>... parametros) throws ReflectiveOperationException {
+		final Method method = poi.getMethod(nome, parametros);
+		return MethodHandles.publicLookup().unreflect(method);
+	}
+}